@@ -0,0 +1,86 @@
+package com.excelninja.sample.benchmark;
+
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.sample.excel.Accessors;
+import com.excelninja.sample.excel.FieldAccessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-cell cost of copying every annotated field of a row, reflective {@link Field} access versus the
+ * LambdaMetafactory-generated accessors used by the streaming reader and writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(AccessorBenchmark.ROWS)
+public class AccessorBenchmark {
+
+    static final int ROWS = 10_000;
+
+    @Param({"EMPLOYEE", "PRODUCT", "STUDENT"})
+    public SampleModel model;
+
+    private Object[] sources;
+    private Object[] targets;
+    private FieldAccessor[] reflective;
+    private FieldAccessor[] generated;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        sources = model.rows(ROWS).toArray();
+        targets = new Object[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            targets[i] = model.getType().getDeclaredConstructor().newInstance();
+        }
+
+        List<FieldAccessor> reflectiveAccessors = new ArrayList<>();
+        List<FieldAccessor> generatedAccessors = new ArrayList<>();
+        for (Field field : model.getType().getDeclaredFields()) {
+            if (field.isAnnotationPresent(ExcelReadColumn.class)) {
+                reflectiveAccessors.add(Accessors.reflective(field));
+                generatedAccessors.add(Accessors.generated(field));
+            }
+        }
+        reflective = reflectiveAccessors.toArray(FieldAccessor[]::new);
+        generated = generatedAccessors.toArray(FieldAccessor[]::new);
+    }
+
+    @Benchmark
+    public void reflectiveCopy(Blackhole blackhole) {
+        copy(reflective, blackhole);
+    }
+
+    @Benchmark
+    public void generatedCopy(Blackhole blackhole) {
+        copy(generated, blackhole);
+    }
+
+    private void copy(
+            FieldAccessor[] accessors,
+            Blackhole blackhole
+    ) {
+        for (int row = 0; row < ROWS; row++) {
+            Object source = sources[row];
+            Object target = targets[row];
+            for (FieldAccessor accessor : accessors) {
+                accessor.set(target, accessor.get(source));
+            }
+        }
+        blackhole.consume(targets);
+    }
+}
@@ -0,0 +1,66 @@
+package com.excelninja.sample.benchmark;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.sample.excel.StreamingExcelWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+final class BenchmarkFiles {
+
+    private BenchmarkFiles() {}
+
+    static Path tempFile(String prefix) {
+        try {
+            return Files.createTempFile(prefix, ".xlsx");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeWithNinjaExcel(
+            SampleModel model,
+            List<Object> rows,
+            Path file
+    ) {
+        try {
+            ExcelWorkbook workbook = ExcelWorkbook.builder().sheet(model.getSheetName(), rows).build();
+            NinjaExcel.write(workbook, file.toString());
+        } catch (Exception e) {
+            throw new IllegalStateException("NinjaExcel.write failed for " + model, e);
+        }
+    }
+
+    static long writeStreaming(
+            SampleModel model,
+            List<Object> rows,
+            Path file
+    ) {
+        return writeStreaming(model.getType(), model.getSheetName(), rows, file);
+    }
+
+    private static <T> long writeStreaming(
+            Class<T> type,
+            String sheetName,
+            List<Object> rows,
+            Path file
+    ) {
+        return StreamingExcelWriter.builder(type)
+                .sheetName(sheetName)
+                .windowSize(1_000)
+                .build()
+                .write(rows.stream().map(type::cast), file.toString());
+    }
+}
@@ -0,0 +1,119 @@
+package com.excelninja.sample.benchmark;
+
+import com.excelninja.sample.excel.CellNumbers;
+import com.excelninja.sample.excel.ExcelDates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-cell cost of converting 1M numeric cells of one column, the string path the reader used before
+ * (a {@link String} per cell, then {@code new BigDecimal} or {@code Double.parseDouble} and serial date math)
+ * versus {@link CellNumbers} parsing the cell text straight from the row's char buffer. Run with the gc profiler
+ * to compare allocation per cell.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(CellConversionBenchmark.ROWS)
+public class CellConversionBenchmark {
+
+    static final int ROWS = 1_000_000;
+
+    @Param({"DECIMAL", "LONG", "DATE", "DATE_TIME"})
+    public Column column;
+
+    private char[] chars;
+    private int[] offsets;
+    private int[] lengths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder text = new StringBuilder(ROWS * 12);
+        offsets = new int[ROWS];
+        lengths = new int[ROWS];
+        for (int row = 0; row < ROWS; row++) {
+            offsets[row] = text.length();
+            text.append(column.cellText(row + 1));
+            lengths[row] = text.length() - offsets[row];
+        }
+        chars = new char[text.length()];
+        text.getChars(0, text.length(), chars, 0);
+    }
+
+    @Benchmark
+    public void stringConversion(Blackhole blackhole) {
+        for (int row = 0; row < ROWS; row++) {
+            String text = new String(chars, offsets[row], lengths[row]).trim();
+            blackhole.consume(switch (column) {
+                case DECIMAL -> new BigDecimal(text);
+                case LONG -> new BigDecimal(text).longValueExact();
+                case DATE -> ExcelDates.toLocalDate(Double.parseDouble(text));
+                case DATE_TIME -> ExcelDates.toLocalDateTime(Double.parseDouble(text));
+            });
+        }
+    }
+
+    @Benchmark
+    public void charConversion(Blackhole blackhole) {
+        for (int row = 0; row < ROWS; row++) {
+            int offset = offsets[row];
+            int length = lengths[row];
+            switch (column) {
+                case DECIMAL -> blackhole.consume(CellNumbers.parseDecimal(chars, offset, length));
+                case LONG -> blackhole.consume(CellNumbers.parseLong(chars, offset, length));
+                case DATE -> blackhole.consume(CellNumbers.parseSerialDate(chars, offset, length));
+                case DATE_TIME -> blackhole.consume(CellNumbers.parseSerialDateTime(chars, offset, length));
+            }
+        }
+    }
+
+    /**
+     * Cell text as the streaming writer serializes the sample models' salary, id, hire date and last-updated columns.
+     */
+    public enum Column {
+        DECIMAL {
+            @Override
+            String cellText(long index) {
+                return BigDecimal.valueOf(6_000_000 + index % 5_000_000, 2).toPlainString();
+            }
+        },
+        LONG {
+            @Override
+            String cellText(long index) {
+                return Long.toString(index);
+            }
+        },
+        DATE {
+            @Override
+            String cellText(long index) {
+                return serialText(ExcelDates.toSerial(LocalDate.of(2015, 1, 1).plusDays(index % 3_000)));
+            }
+        },
+        DATE_TIME {
+            @Override
+            String cellText(long index) {
+                return serialText(ExcelDates.toSerial(LocalDateTime.of(2024, 5, 1, 9, 30).plusSeconds(index * 37)));
+            }
+        };
+
+        abstract String cellText(long index);
+
+        private static String serialText(double serial) {
+            return serial == Math.rint(serial) ? Long.toString((long) serial) : Double.toString(serial);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.excelninja.sample.benchmark;
+
+import com.excelninja.sample.stats.ColumnKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the column aggregations behind the student and product statistics over 1M rows: the boxed
+ * list loops the services ran before ({@code sumOf { it.gpa }}, {@code count { it.stockQuantity < 10 }}) against
+ * the scalar and SIMD {@link ColumnKernels} over primitive arrays. {@code VECTOR} needs the
+ * {@code jdk.incubator.vector} module, which the jmh task adds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(ColumnKernelBenchmark.ROWS)
+public class ColumnKernelBenchmark {
+
+    static final int ROWS = 1_000_000;
+
+    @Param({"SCALAR", "VECTOR"})
+    public String kernel;
+
+    private ColumnKernels kernels;
+    private double[] gpa;
+    private long[] stock;
+    private List<Double> boxedGpa;
+    private List<Long> boxedStock;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kernels = "VECTOR".equals(kernel)
+                ? ColumnKernels.vector().orElseThrow(() -> new IllegalStateException("Run with --add-modules jdk.incubator.vector"))
+                : ColumnKernels.scalar();
+        Random random = new Random(42);
+        gpa = random.doubles(ROWS, 2.0, 4.5).toArray();
+        stock = random.longs(ROWS, 0, 500).toArray();
+        boxedGpa = List.of(Arrays.stream(gpa).boxed().toArray(Double[]::new));
+        boxedStock = List.of(Arrays.stream(stock).boxed().toArray(Long[]::new));
+    }
+
+    @Benchmark
+    public double boxedGpaSum() {
+        double sum = 0;
+        for (Double value : boxedGpa) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long boxedLowStockCount() {
+        long count = 0;
+        for (Long value : boxedStock) {
+            if (value < 10) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public double gpaSum() {
+        return kernels.sum(gpa, ROWS);
+    }
+
+    @Benchmark
+    public double gpaMax() {
+        return kernels.max(gpa, ROWS);
+    }
+
+    @Benchmark
+    public long honorCount() {
+        return kernels.countAtLeast(gpa, ROWS, 3.5);
+    }
+
+    @Benchmark
+    public long stockSum() {
+        return kernels.sum(stock, ROWS);
+    }
+
+    @Benchmark
+    public long lowStockCount() {
+        return ROWS - kernels.countAtLeast(stock, ROWS, 10);
+    }
+}
@@ -0,0 +1,39 @@
+package com.excelninja.sample.benchmark;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Which writer produced a read fixture. NinjaExcel writes a shared-strings table and cell styles, as files saved by
+ * the services and by Excel do; the streaming writer uses inline strings, which are cheaper to parse.
+ */
+public enum FixtureOrigin {
+
+    NINJA_EXCEL {
+        @Override
+        void write(
+                SampleModel model,
+                List<Object> rows,
+                Path file
+        ) {
+            BenchmarkFiles.writeWithNinjaExcel(model, rows, file);
+        }
+    },
+
+    STREAMING {
+        @Override
+        void write(
+                SampleModel model,
+                List<Object> rows,
+                Path file
+        ) {
+            BenchmarkFiles.writeStreaming(model, rows, file);
+        }
+    };
+
+    abstract void write(
+            SampleModel model,
+            List<Object> rows,
+            Path file
+    );
+}
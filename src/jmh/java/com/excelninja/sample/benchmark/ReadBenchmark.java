@@ -0,0 +1,77 @@
+package com.excelninja.sample.benchmark;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.sample.excel.StreamingExcelReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Read throughput of {@code NinjaExcel.read} versus the streaming reader over the same fixture file, written either
+ * by NinjaExcel itself or by the streaming writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReadBenchmark {
+
+    @Param({"EMPLOYEE", "PRODUCT", "STUDENT"})
+    public SampleModel model;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rowCount;
+
+    @Param({"NINJA_EXCEL", "STREAMING"})
+    public FixtureOrigin origin;
+
+    private Path file;
+    private StreamingExcelReader<?> streamingReader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        file = BenchmarkFiles.tempFile("read-benchmark");
+        origin.write(model, model.rows(rowCount), file);
+        streamingReader = StreamingExcelReader.builder(model.getType()).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.delete(file);
+    }
+
+    @Benchmark
+    public void ninjaExcelRead(
+            RowCounter counter,
+            Blackhole blackhole
+    ) throws Exception {
+        List<?> rows = NinjaExcel.read(file.toString(), model.getType());
+        blackhole.consume(rows);
+        counter.rows += rows.size();
+    }
+
+    @Benchmark
+    public void streamingRead(
+            RowCounter counter,
+            Blackhole blackhole
+    ) {
+        try (Stream<?> rows = streamingReader.stream(file.toString())) {
+            rows.forEach(row -> {
+                blackhole.consume(row);
+                counter.rows++;
+            });
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.excelninja.sample.benchmark;
+
+import com.excelNinja.sample.Product;
+import com.excelNinja.sample.Student;
+import com.excelninja.sample.java.Employee;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic rows for the three sample models, shaped like the demo data but at benchmark scale.
+ */
+public enum SampleModel {
+
+    EMPLOYEE(Employee.class, "Employee List") {
+        private final String[] departments = {"Card", "UI/UX", "BRM", "Remittance"};
+
+        @Override
+        Object create(long index) {
+            return new Employee(
+                    index,
+                    "Employee " + index,
+                    departments[(int) (index % departments.length)],
+                    BigDecimal.valueOf(6_000_000 + index % 5_000_000, 2),
+                    LocalDate.of(2015, 1, 1).plusDays(index % 3_000),
+                    LocalDateTime.of(2024, 5, 1, 9, 30).plusMinutes(index % 10_000)
+            );
+        }
+    },
+
+    PRODUCT(Product.class, "Product Inventory") {
+        private final String[] categories = {"Laptop", "Smartphone", "Audio", "Accessory", "Tablet"};
+
+        @Override
+        Object create(long index) {
+            return new Product(
+                    index,
+                    "Product " + index,
+                    categories[(int) (index % categories.length)],
+                    BigDecimal.valueOf(999 + index % 250_000, 2),
+                    (int) (index % 40),
+                    index % 7 != 0,
+                    LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(index)
+            );
+        }
+    },
+
+    STUDENT(Student.class, "Student Records") {
+        private final String[] majors = {"Computer Science", "Mechanical Engineering", "Biology"};
+
+        @Override
+        Object create(long index) {
+            return new Student(
+                    "ST" + index,
+                    "Student " + index,
+                    "student" + index + "@university.edu",
+                    majors[(int) (index % majors.length)],
+                    (int) (index % 4) + 1,
+                    2.0 + (index % 200) / 100.0,
+                    index % 3 == 0
+            );
+        }
+    };
+
+    private final Class<?> type;
+    private final String sheetName;
+
+    SampleModel(
+            Class<?> type,
+            String sheetName
+    ) {
+        this.type = type;
+        this.sheetName = sheetName;
+    }
+
+    abstract Object create(long index);
+
+    public Class<?> getType() {return type;}
+
+    public String getSheetName() {return sheetName;}
+
+    public List<Object> rows(int count) {
+        List<Object> rows = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            rows.add(create(i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,68 @@
+package com.excelninja.sample.benchmark;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.sample.excel.StreamingExcelReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Latency from opening a workbook until the first mapped row is available to the caller, for fixtures written by
+ * NinjaExcel and by the streaming writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class TimeToFirstRowBenchmark {
+
+    @Param({"EMPLOYEE", "PRODUCT", "STUDENT"})
+    public SampleModel model;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rowCount;
+
+    @Param({"NINJA_EXCEL", "STREAMING"})
+    public FixtureOrigin origin;
+
+    private Path file;
+    private StreamingExcelReader<?> streamingReader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        file = BenchmarkFiles.tempFile("first-row-benchmark");
+        origin.write(model, model.rows(rowCount), file);
+        streamingReader = StreamingExcelReader.builder(model.getType()).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.delete(file);
+    }
+
+    @Benchmark
+    public Object ninjaExcelFirstRow() throws Exception {
+        return NinjaExcel.read(file.toString(), model.getType()).getFirst();
+    }
+
+    @Benchmark
+    public Object streamingFirstRow() {
+        try (Stream<?> rows = streamingReader.stream(file.toString())) {
+            return rows.findFirst().orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.excelninja.sample.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of {@code NinjaExcel.write} versus the streaming writer. Rows/sec is reported through
+ * the {@link RowCounter} aux counter; allocation rate comes from the gc profiler configured in build.gradle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WriteBenchmark {
+
+    @Param({"EMPLOYEE", "PRODUCT", "STUDENT"})
+    public SampleModel model;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rowCount;
+
+    private List<Object> rows;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rows = model.rows(rowCount);
+        file = BenchmarkFiles.tempFile("write-benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFiles.delete(file);
+    }
+
+    @Benchmark
+    public void ninjaExcelWrite(RowCounter counter) {
+        BenchmarkFiles.writeWithNinjaExcel(model, rows, file);
+        counter.rows += rows.size();
+    }
+
+    @Benchmark
+    public void streamingWrite(RowCounter counter) {
+        counter.rows += BenchmarkFiles.writeStreaming(model, rows, file);
+    }
+}
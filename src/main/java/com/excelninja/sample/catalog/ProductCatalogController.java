@@ -0,0 +1,53 @@
+package com.excelninja.sample.catalog;
+
+import com.excelNinja.sample.Product;
+import com.excelNinja.sample.ProductService;
+import com.excelninja.sample.excel.InvalidPageRequestException;
+import com.excelninja.sample.excel.SheetPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Pages through the product catalog workbook for a web grid. Each response carries the cursor of the next page,
+ * so every request parses only the rows it returns.
+ */
+@RestController
+@RequestMapping("/products")
+public class ProductCatalogController {
+
+    static final int MAX_LIMIT = 1_000;
+
+    private final ProductService productService;
+    private final String catalogFile;
+
+    public ProductCatalogController(
+            ProductService productService,
+            @Value("${excel.catalog.products-file:output/products.xlsx}") String catalogFile
+    ) {
+        this.productService = productService;
+        this.catalogFile = catalogFile;
+    }
+
+    @GetMapping
+    public SheetPage<Product> getProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        if (limit > MAX_LIMIT) {
+            throw new InvalidPageRequestException("limit must not exceed " + MAX_LIMIT + ": " + limit);
+        }
+        return productService.readProductPage(catalogFile, cursor, limit);
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ProblemDetail> handleBadRequest(InvalidPageRequestException e) {
+        return ResponseEntity.badRequest().body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+}
@@ -0,0 +1,220 @@
+package com.excelninja.sample.excel;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builds field accessors without per-call reflection. Bean getters/setters (including Kotlin's
+ * {@code isX}/{@code setX} naming) are bound through {@link LambdaMetafactory}, so each access is a plain
+ * interface call the JIT can inline; fields without accessor methods fall back to a direct {@link MethodHandle}.
+ */
+public final class Accessors {
+
+    private Accessors() {}
+
+    public static FieldAccessor generated(Field field) {
+        MethodHandles.Lookup lookup = privateLookup(field.getDeclaringClass());
+        return new GeneratedAccessor(getter(lookup, field), setter(lookup, field));
+    }
+
+    public static FieldAccessor reflective(Field field) {
+        field.setAccessible(true);
+        return new ReflectiveAccessor(field);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Supplier<T> instantiator(Constructor<T> constructor) {
+        Class<T> type = constructor.getDeclaringClass();
+        MethodHandles.Lookup lookup = privateLookup(type);
+        try {
+            MethodHandle target = lookup.unreflectConstructor(constructor);
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    target,
+                    MethodType.methodType(type)
+            );
+            return (Supplier<T>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot bind no-arg constructor of " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(
+            MethodHandles.Lookup lookup,
+            Field field
+    ) {
+        Method method = findGetter(field);
+        try {
+            if (method != null) {
+                CallSite site = LambdaMetafactory.metafactory(
+                        lookup,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        lookup.unreflect(method),
+                        MethodType.methodType(wrap(field.getType()), field.getDeclaringClass())
+                );
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            }
+            field.setAccessible(true);
+            MethodHandle handle = lookup.unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return target -> {
+                try {
+                    return (Object) handle.invokeExact(target);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Cannot read field " + field.getName(), e);
+                }
+            };
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot bind getter for field " + field.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(
+            MethodHandles.Lookup lookup,
+            Field field
+    ) {
+        Method method = findSetter(field);
+        try {
+            if (method != null) {
+                CallSite site = LambdaMetafactory.metafactory(
+                        lookup,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        lookup.unreflect(method),
+                        MethodType.methodType(void.class, field.getDeclaringClass(), wrap(field.getType()))
+                );
+                return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+            }
+            field.setAccessible(true);
+            MethodHandle handle = lookup.unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Cannot write field " + field.getName(), e);
+                }
+            };
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot bind setter for field " + field.getName(), e);
+        }
+    }
+
+    private static Method findGetter(Field field) {
+        String name = field.getName();
+        String capitalized = capitalize(name);
+        Method method = findMethod(field.getDeclaringClass(), "get" + capitalized, field.getType());
+        if (method == null && (field.getType() == boolean.class || field.getType() == Boolean.class)) {
+            method = findMethod(field.getDeclaringClass(), "is" + capitalized, field.getType());
+        }
+        if (method == null && isKotlinBooleanName(name)) {
+            method = findMethod(field.getDeclaringClass(), name, field.getType());
+        }
+        return method;
+    }
+
+    private static Method findSetter(Field field) {
+        String name = field.getName();
+        Method method = findMethod(field.getDeclaringClass(), "set" + capitalize(name), void.class, field.getType());
+        if (method == null && isKotlinBooleanName(name)) {
+            method = findMethod(field.getDeclaringClass(), "set" + name.substring(2), void.class, field.getType());
+        }
+        return method;
+    }
+
+    private static Method findMethod(
+            Class<?> owner,
+            String name,
+            Class<?> returnType,
+            Class<?>... parameterTypes
+    ) {
+        try {
+            Method method = owner.getMethod(name, parameterTypes);
+            boolean usable = method.getReturnType() == returnType && !Modifier.isStatic(method.getModifiers());
+            return usable ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean isKotlinBooleanName(String name) {
+        return name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("No private access to " + type.getName(), e);
+        }
+    }
+
+    private record GeneratedAccessor(
+            Function<Object, Object> getter,
+            BiConsumer<Object, Object> setter
+    ) implements FieldAccessor {
+
+        @Override
+        public Object get(Object target) {
+            return getter.apply(target);
+        }
+
+        @Override
+        public void set(
+                Object target,
+                Object value
+        ) {
+            setter.accept(target, value);
+        }
+    }
+
+    private record ReflectiveAccessor(Field field) implements FieldAccessor {
+
+        @Override
+        public Object get(Object target) {
+            try {
+                return field.get(target);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read field " + field.getName(), e);
+            }
+        }
+
+        @Override
+        public void set(
+                Object target,
+                Object value
+        ) {
+            try {
+                field.set(target, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot write field " + field.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.excelninja.sample.excel;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+final class CellConverter {
+
+    private static final DateTimeFormatter SPACED_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss][.SSS]");
+
+    private CellConverter() {}
+
+    static Object convert(
+            String text,
+            CellType cellType,
+            ExcelColumn column
+    ) {
+        Class<?> type = column.getType();
+        try {
+            return convert(text.trim(), cellType, type);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot convert '%s' in column '%s' to %s", text, column.getHeaderName(), type.getSimpleName()
+            ), e);
+        }
+    }
+
+    /**
+     * Converts a cell of the parsed row. Numeric cells bound to {@link BigDecimal}, whole-number, double and
+     * java.time fields are parsed from the row's char buffer; everything else goes through the cell's string value.
+     */
+    static Object convert(
+            SheetRow row,
+            int index,
+            ExcelColumn column
+    ) {
+        if (row.isRaw(index) && row.getType(index) == CellType.NUMBER) {
+            try {
+                Object value = convertNumber(row.getChars(), row.getOffset(index), row.getLength(index), column.getType());
+                if (value != null) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(String.format(
+                        "Cannot convert '%s' in column '%s' to %s", row.getValue(index), column.getHeaderName(), column.getType().getSimpleName()
+                ), e);
+            }
+        }
+        return convert(row.getValue(index), row.getType(index), column);
+    }
+
+    private static Object convertNumber(
+            char[] chars,
+            int start,
+            int length,
+            Class<?> type
+    ) {
+        if (type == BigDecimal.class) {
+            return CellNumbers.parseDecimal(chars, start, length);
+        }
+        if (type == Long.class || type == long.class) {
+            return CellNumbers.parseLong(chars, start, length);
+        }
+        if (type == Integer.class || type == int.class) {
+            return Math.toIntExact(CellNumbers.parseLong(chars, start, length));
+        }
+        if (type == Double.class || type == double.class) {
+            return CellNumbers.parseDouble(chars, start, length);
+        }
+        if (type == LocalDate.class) {
+            return CellNumbers.parseSerialDate(chars, start, length);
+        }
+        if (type == LocalDateTime.class) {
+            return CellNumbers.parseSerialDateTime(chars, start, length);
+        }
+        return null;
+    }
+
+    private static Object convert(
+            String text,
+            CellType cellType,
+            Class<?> type
+    ) {
+        if (type == String.class) {
+            return cellType == CellType.NUMBER ? stripIntegralFraction(text) : text;
+        }
+        if (type == Long.class || type == long.class) {
+            return new BigDecimal(text).longValueExact();
+        }
+        if (type == Integer.class || type == int.class) {
+            return new BigDecimal(text).intValueExact();
+        }
+        if (type == Short.class || type == short.class) {
+            return new BigDecimal(text).shortValueExact();
+        }
+        if (type == Double.class || type == double.class) {
+            return Double.parseDouble(text);
+        }
+        if (type == Float.class || type == float.class) {
+            return Float.parseFloat(text);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(text);
+        }
+        if (type == BigInteger.class) {
+            return new BigDecimal(text).toBigIntegerExact();
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return "1".equals(text) || "true".equalsIgnoreCase(text);
+        }
+        if (type == LocalDate.class) {
+            return cellType == CellType.NUMBER ? ExcelDates.toLocalDate(Double.parseDouble(text)) : parseDate(text);
+        }
+        if (type == LocalDateTime.class) {
+            return cellType == CellType.NUMBER ? ExcelDates.toLocalDateTime(Double.parseDouble(text)) : parseDateTime(text);
+        }
+        if (type.isEnum()) {
+            return enumValue(type, text);
+        }
+        throw new IllegalArgumentException("Unsupported field type " + type.getName());
+    }
+
+    private static String stripIntegralFraction(String text) {
+        return text.endsWith(".0") ? text.substring(0, text.length() - 2) : text;
+    }
+
+    private static LocalDate parseDate(String text) {
+        return LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text);
+    }
+
+    private static LocalDateTime parseDateTime(String text) {
+        if (text.length() == 10) {
+            return LocalDate.parse(text).atStartOfDay();
+        }
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(text, SPACED_DATE_TIME);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumValue(
+            Class<?> type,
+            String text
+    ) {
+        return Enum.valueOf((Class<? extends Enum>) type, text);
+    }
+}
@@ -0,0 +1,294 @@
+package com.excelninja.sample.excel;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Parses numeric cell text straight from a char buffer. Plain decimals of up to 18 digits, which covers the
+ * amounts, ids and serial dates the sample models store, are accumulated into an unscaled {@code long} and a
+ * scale; anything else (exponents, longer numbers) falls back to {@link BigDecimal}'s own parser.
+ */
+public final class CellNumbers {
+
+    private static final int MAX_DIGITS = 18;
+    private static final int MAX_FRACTION_DIGITS = 16;
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+    private static final double[] EXACT_DOUBLE_POWERS_OF_TEN = new double[MAX_EXACT_DOUBLE_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+        for (int i = 0; i < EXACT_DOUBLE_POWERS_OF_TEN.length; i++) {
+            EXACT_DOUBLE_POWERS_OF_TEN[i] = POWERS_OF_TEN[i];
+        }
+    }
+
+    private CellNumbers() {}
+
+    public static BigDecimal parseDecimal(
+            char[] chars,
+            int start,
+            int length
+    ) {
+        int end = trimEnd(chars, start, start + length);
+        start = trimStart(chars, start, end);
+        boolean negative = start < end && chars[start] == '-';
+        int digitsStart = start < end && (chars[start] == '-' || chars[start] == '+') ? start + 1 : start;
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        for (int i = digitsStart; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_DIGITS) {
+                    return new BigDecimal(chars, start, end - start);
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (fraction) {
+                    scale++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return new BigDecimal(chars, start, end - start);
+            }
+        }
+        if (digits == 0) {
+            return new BigDecimal(chars, start, end - start);
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * The cell value as an unscaled long at the given scale, e.g. {@code 600.5} at scale 2 is {@code 60050}. Extra
+     * fraction digits are rounded half up.
+     */
+    public static long parseScaled(
+            char[] chars,
+            int start,
+            int length,
+            int scale
+    ) {
+        int end = trimEnd(chars, start, start + length);
+        start = trimStart(chars, start, end);
+        boolean negative = start < end && chars[start] == '-';
+        int digitsStart = start < end && (chars[start] == '-' || chars[start] == '+') ? start + 1 : start;
+
+        long unscaled = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (int i = digitsStart; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                digits = MAX_DIGITS + 1;
+                break;
+            }
+        }
+        fractionDigits = Math.max(fractionDigits, 0);
+        if (digits == 0 || fractionDigits > scale || digits + scale - fractionDigits > MAX_DIGITS) {
+            return parseDecimal(chars, start, end - start).setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+        unscaled *= POWERS_OF_TEN[scale - fractionDigits];
+        return negative ? -unscaled : unscaled;
+    }
+
+    /**
+     * Decimal text of up to 15 significant digits is divided by an exact power of ten, which rounds the same as
+     * {@link Double#parseDouble}; other text is handed to it.
+     */
+    public static double parseDouble(
+            char[] chars,
+            int start,
+            int length
+    ) {
+        int end = trimEnd(chars, start, start + length);
+        start = trimStart(chars, start, end);
+        boolean negative = start < end && chars[start] == '-';
+        int digitsStart = start < end && (chars[start] == '-' || chars[start] == '+') ? start + 1 : start;
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = digitsStart; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+                if (++digits > MAX_EXACT_DOUBLE_DIGITS) {
+                    return parseDoubleText(chars, start, end);
+                }
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return parseDoubleText(chars, start, end);
+            }
+        }
+        if (digits == 0) {
+            return parseDoubleText(chars, start, end);
+        }
+        double value = scale > 0 ? unscaled / EXACT_DOUBLE_POWERS_OF_TEN[scale] : unscaled;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Whole number in the cell, accepting an integral fraction such as {@code 42.0} like {@link BigDecimal#longValueExact()}.
+     */
+    public static long parseLong(
+            char[] chars,
+            int start,
+            int length
+    ) {
+        int end = trimEnd(chars, start, start + length);
+        start = trimStart(chars, start, end);
+        boolean negative = start < end && chars[start] == '-';
+        int digitsStart = start < end && (chars[start] == '-' || chars[start] == '+') ? start + 1 : start;
+        if (digitsStart == end || end - digitsStart > MAX_DIGITS) {
+            return parseDecimal(chars, start, end - start).longValueExact();
+        }
+        long value = 0;
+        for (int i = digitsStart; i < end; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return parseDecimal(chars, start, end - start).longValueExact();
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Date part of an Excel serial date, the integral days since the 1900 date system epoch.
+     */
+    public static LocalDate parseSerialDate(
+            char[] chars,
+            int start,
+            int length
+    ) {
+        int end = trimEnd(chars, start, start + length);
+        start = trimStart(chars, start, end);
+        long days = 0;
+        int i = start;
+        for (; i < end && chars[i] >= '0' && chars[i] <= '9'; i++) {
+            if (i - start == MAX_DIGITS) {
+                return ExcelDates.toLocalDate(parseDoubleText(chars, start, end));
+            }
+            days = days * 10 + (chars[i] - '0');
+        }
+        if (i == start || i < end && (chars[i] != '.' || !allDigits(chars, i + 1, end))) {
+            return ExcelDates.toLocalDate(parseDoubleText(chars, start, end));
+        }
+        return ExcelDates.toLocalDate(days);
+    }
+
+    /**
+     * Excel serial date with the time of day taken from the fraction, rounded to the millisecond. Fraction digits
+     * beyond the 16th are below a nanosecond and are ignored.
+     */
+    public static LocalDateTime parseSerialDateTime(
+            char[] chars,
+            int start,
+            int length
+    ) {
+        int end = trimEnd(chars, start, start + length);
+        start = trimStart(chars, start, end);
+        long days = 0;
+        int i = start;
+        for (; i < end && chars[i] >= '0' && chars[i] <= '9'; i++) {
+            if (i - start == MAX_DIGITS) {
+                return ExcelDates.toLocalDateTime(parseDoubleText(chars, start, end));
+            }
+            days = days * 10 + (chars[i] - '0');
+        }
+        if (i == start || i < end && (chars[i] != '.' || !allDigits(chars, i + 1, end))) {
+            return ExcelDates.toLocalDateTime(parseDoubleText(chars, start, end));
+        }
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        for (int f = i + 1; f < end && fractionDigits < MAX_FRACTION_DIGITS; f++, fractionDigits++) {
+            fraction = fraction * 10 + (chars[f] - '0');
+        }
+        long millis = roundedMillis(fraction, fractionDigits);
+        if (millis >= MILLIS_PER_DAY) {
+            days++;
+            millis -= MILLIS_PER_DAY;
+        }
+        return ExcelDates.toLocalDateTime(days, millis);
+    }
+
+    /**
+     * {@code round(fraction / 10^digits * MILLIS_PER_DAY)} in exact integer arithmetic. The day has
+     * {@code 864 * 10^5} milliseconds, so at most 16 fraction digits keep {@code fraction * 864} within a long.
+     */
+    private static long roundedMillis(
+            long fraction,
+            int digits
+    ) {
+        if (digits <= 5) {
+            return fraction * 864 * POWERS_OF_TEN[5 - digits];
+        }
+        long divisor = POWERS_OF_TEN[digits - 5];
+        return (fraction * 864 + divisor / 2) / divisor;
+    }
+
+    private static boolean allDigits(
+            char[] chars,
+            int start,
+            int end
+    ) {
+        for (int i = start; i < end; i++) {
+            if (chars[i] < '0' || chars[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double parseDoubleText(
+            char[] chars,
+            int start,
+            int end
+    ) {
+        return Double.parseDouble(new String(chars, start, end - start));
+    }
+
+    private static int trimStart(
+            char[] chars,
+            int start,
+            int end
+    ) {
+        while (start < end && chars[start] <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(
+            char[] chars,
+            int start,
+            int end
+    ) {
+        while (end > start && chars[end - 1] <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
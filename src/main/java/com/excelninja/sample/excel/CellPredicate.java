@@ -0,0 +1,92 @@
+package com.excelninja.sample.excel;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Condition on the raw text of a single cell, evaluated by {@link StreamingExcelReader} before the row object
+ * is created. {@code value} is {@code null} for an empty cell without a default value.
+ */
+@FunctionalInterface
+public interface CellPredicate {
+
+    boolean test(
+            String value,
+            CellType type
+    );
+
+    default CellPredicate and(CellPredicate other) {
+        Objects.requireNonNull(other);
+        return (value, type) -> test(value, type) && other.test(value, type);
+    }
+
+    default CellPredicate or(CellPredicate other) {
+        Objects.requireNonNull(other);
+        return (value, type) -> test(value, type) || other.test(value, type);
+    }
+
+    default CellPredicate negate() {
+        return (value, type) -> !test(value, type);
+    }
+
+    static CellPredicate equalTo(String expected) {
+        Objects.requireNonNull(expected);
+        return (value, type) -> expected.equals(value);
+    }
+
+    static CellPredicate in(String... expected) {
+        Set<String> values = Set.of(expected);
+        return (value, type) -> value != null && values.contains(value);
+    }
+
+    static CellPredicate isBlank() {
+        return (value, type) -> value == null || value.isBlank();
+    }
+
+    static CellPredicate isTrue() {
+        return (value, type) -> "1".equals(value) || "true".equalsIgnoreCase(value);
+    }
+
+    static CellPredicate lessThan(double bound) {
+        return (value, type) -> {
+            double number = numericValue(value);
+            return number < bound;
+        };
+    }
+
+    static CellPredicate lessThanOrEqual(double bound) {
+        return (value, type) -> {
+            double number = numericValue(value);
+            return number <= bound;
+        };
+    }
+
+    static CellPredicate greaterThan(double bound) {
+        return (value, type) -> {
+            double number = numericValue(value);
+            return number > bound;
+        };
+    }
+
+    static CellPredicate greaterThanOrEqual(double bound) {
+        return (value, type) -> {
+            double number = numericValue(value);
+            return number >= bound;
+        };
+    }
+
+    /**
+     * Parses the cell as a number without creating a row object; empty or non-numeric cells yield NaN,
+     * which fails every comparison.
+     */
+    private static double numericValue(String value) {
+        if (value == null || value.isBlank()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
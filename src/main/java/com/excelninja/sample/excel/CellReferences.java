@@ -0,0 +1,26 @@
+package com.excelninja.sample.excel;
+
+final class CellReferences {
+
+    private CellReferences() {}
+
+    static int columnIndex(String reference) {
+        int index = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            index = index * 26 + (c - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    static String columnName(int columnIndex) {
+        StringBuilder name = new StringBuilder(3);
+        for (int n = columnIndex + 1; n > 0; n = (n - 1) / 26) {
+            name.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.excelninja.sample.excel;
+
+public enum CellType {
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    ERROR;
+
+    static CellType fromAttribute(String type) {
+        if (type == null || "n".equals(type)) {
+            return NUMBER;
+        }
+        return switch (type) {
+            case "b" -> BOOLEAN;
+            case "e" -> ERROR;
+            default -> STRING;
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.excelninja.sample.excel;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads selected columns of the first worksheet straight into a {@link ColumnarTable}, without mapping rows to
+ * objects. Only the requested columns are decoded; numeric cells are parsed from the parser's char buffer.
+ */
+public final class ColumnarExcelReader {
+
+    private static final String MODEL = "ColumnarTable";
+
+    private final Map<String, Function<String, ColumnarTable.Column>> columns;
+    private final ExcelMetrics metrics;
+
+    private ColumnarExcelReader(Builder builder) {
+        if (builder.columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column must be selected");
+        }
+        this.columns = new LinkedHashMap<>(builder.columns);
+        this.metrics = builder.metrics;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ColumnarTable read(String fileName) {
+        return read(fileName, () -> XlsxArchive.open(fileName));
+    }
+
+    /**
+     * Reads the workbook from a forward-only stream such as an upload body. {@code in} is closed once read.
+     */
+    public ColumnarTable read(InputStream in) {
+        return read("uploaded workbook", () -> StreamedXlsxArchive.open(in));
+    }
+
+    private ColumnarTable read(
+            String source,
+            SheetSource.Opener opener
+    ) {
+        ExcelMetrics.Recording recording = metrics.start(MODEL, ExcelMetrics.Operation.READ);
+        long started = System.nanoTime();
+        try (SheetSource archive = opener.open();
+             SheetRowParser parser = new SheetRowParser(archive.openSheet(), archive.readSharedStrings())) {
+            SheetRow row = new SheetRow();
+            if (!parser.next(row)) {
+                throw new IllegalStateException("Sheet of " + source + " has no header row");
+            }
+            List<ColumnarTable.Column> tableColumns = new ArrayList<>(columns.size());
+            int[] cells = new int[columns.size()];
+            boolean[] decoded = new boolean[row.getWidth()];
+            for (Map.Entry<String, Function<String, ColumnarTable.Column>> column : columns.entrySet()) {
+                int index = headerIndex(row, column.getKey());
+                if (index < 0) {
+                    throw new IllegalStateException("Header " + column.getKey() + " not found in sheet");
+                }
+                cells[tableColumns.size()] = index;
+                decoded[index] = true;
+                tableColumns.add(column.getValue().apply(column.getKey()));
+            }
+            parser.decodeOnly(decoded);
+
+            int rows = 0;
+            while (parser.next(row)) {
+                if (row.isBlank()) {
+                    continue;
+                }
+                for (int i = 0; i < cells.length; i++) {
+                    tableColumns.get(i).append(row, cells[i]);
+                }
+                rows++;
+            }
+            tableColumns.forEach(ColumnarTable.Column::trim);
+
+            recording.stage(ExcelMetrics.Stage.PARSE, System.nanoTime() - started);
+            recording.rows(rows);
+            recording.bytes(archive.compressedSize());
+            recording.success();
+            return new ColumnarTable(rows, tableColumns);
+        } catch (IOException e) {
+            recording.failure(e);
+            throw new UncheckedIOException("Failed to read Excel file " + source, e);
+        } catch (XMLStreamException e) {
+            recording.failure(e);
+            throw new IllegalStateException("Failed to parse worksheet of " + source, e);
+        } catch (RuntimeException e) {
+            recording.failure(e);
+            throw e;
+        }
+    }
+
+    private static int headerIndex(
+            SheetRow row,
+            String headerName
+    ) {
+        for (int i = 0; i < row.getWidth(); i++) {
+            String header = row.getValue(i);
+            if (header != null && header.trim().equals(headerName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Function<String, ColumnarTable.Column>> columns = new LinkedHashMap<>();
+        private ExcelMetrics metrics = ExcelMetrics.global();
+
+        private Builder() {}
+
+        public Builder longColumn(String header) {
+            columns.put(header, ColumnarTable.LongColumn::new);
+            return this;
+        }
+
+        /**
+         * Stores the column as unscaled longs at {@code scale}; cells with more fraction digits are rounded half up.
+         */
+        public Builder decimalColumn(
+                String header,
+                int scale
+        ) {
+            if (scale < 0) {
+                throw new IllegalArgumentException("scale must not be negative: " + scale);
+            }
+            columns.put(header, name -> new ColumnarTable.DecimalColumn(name, scale));
+            return this;
+        }
+
+        public Builder doubleColumn(String header) {
+            columns.put(header, ColumnarTable.DoubleColumn::new);
+            return this;
+        }
+
+        public Builder booleanColumn(String header) {
+            columns.put(header, ColumnarTable.BooleanColumn::new);
+            return this;
+        }
+
+        /**
+         * Stores a low-cardinality text column, such as a department, as codes into a dictionary of its values.
+         */
+        public Builder dictionaryColumn(String header) {
+            columns.put(header, ColumnarTable.DictionaryColumn::new);
+            return this;
+        }
+
+        public Builder metrics(ExcelMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public ColumnarExcelReader build() {
+            return new ColumnarExcelReader(this);
+        }
+    }
+}
@@ -0,0 +1,638 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.stats.ColumnKernels;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rows of a sheet stored column by column in primitive arrays, as read by {@link ColumnarExcelReader}: whole
+ * numbers as {@code long[]}, decimals as {@code long[]} unscaled at a fixed scale, floating point as
+ * {@code double[]} and repetitive text as {@code int[]} codes into a dictionary. Blank cells read as 0, false or
+ * an empty string.
+ * <p>
+ * Sums, extremes and threshold counts run on {@link ColumnKernels#preferred()}, SIMD when the Vector API module
+ * is available. The {@code ...By} variants group by the codes of a {@link DictionaryColumn} and return one slot
+ * per code, in dictionary order.
+ */
+public final class ColumnarTable {
+
+    private static final ColumnKernels KERNELS = ColumnKernels.preferred();
+
+    private final int rowCount;
+    private final Map<String, Column> columns;
+
+    ColumnarTable(
+            int rowCount,
+            List<Column> columns
+    ) {
+        this.rowCount = rowCount;
+        Map<String, Column> byHeader = new LinkedHashMap<>();
+        for (Column column : columns) {
+            byHeader.put(column.header, column);
+        }
+        this.columns = Collections.unmodifiableMap(byHeader);
+    }
+
+    public int getRowCount() {return rowCount;}
+
+    public List<String> getHeaders() {return List.copyOf(columns.keySet());}
+
+    public LongColumn longColumn(String header) {
+        return column(header, LongColumn.class);
+    }
+
+    public DecimalColumn decimalColumn(String header) {
+        return column(header, DecimalColumn.class);
+    }
+
+    public DoubleColumn doubleColumn(String header) {
+        return column(header, DoubleColumn.class);
+    }
+
+    public BooleanColumn booleanColumn(String header) {
+        return column(header, BooleanColumn.class);
+    }
+
+    public DictionaryColumn dictionaryColumn(String header) {
+        return column(header, DictionaryColumn.class);
+    }
+
+    /**
+     * Bytes held by the column arrays and dictionaries, excluding object headers.
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Column column : columns.values()) {
+            bytes += column.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    private <C extends Column> C column(
+            String header,
+            Class<C> type
+    ) {
+        Column column = columns.get(header);
+        if (column == null) {
+            throw new IllegalArgumentException("No column " + header + " in table, columns are " + columns.keySet());
+        }
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Column " + header + " is a " + column.getClass().getSimpleName() + ", not a " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    public abstract static sealed class Column permits LongColumn, DecimalColumn, DoubleColumn, BooleanColumn, DictionaryColumn {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final String header;
+        int size;
+
+        Column(String header) {
+            this.header = header;
+        }
+
+        public String getHeader() {return header;}
+
+        public int size() {return size;}
+
+        /**
+         * Appends the cell at {@code index} of the row, or a blank value when the cell has no text.
+         */
+        abstract void append(
+                SheetRow row,
+                int index
+        );
+
+        /**
+         * Shrinks the backing arrays to {@link #size()} once the sheet has been read.
+         */
+        abstract void trim();
+
+        abstract long estimatedBytes();
+
+        static int grow(int capacity) {
+            return capacity == 0 ? INITIAL_CAPACITY : Math.addExact(capacity, capacity >> 1);
+        }
+
+        final void requireSameSize(Column other) {
+            if (other.size != size) {
+                throw new IllegalArgumentException(
+                        "Column " + other.header + " has " + other.size + " rows but " + header + " has " + size
+                );
+            }
+        }
+    }
+
+    public static final class LongColumn extends Column {
+
+        private long[] values = new long[0];
+
+        LongColumn(String header) {
+            super(header);
+        }
+
+        public long get(int row) {
+            return values[row];
+        }
+
+        public long sum() {
+            return KERNELS.sum(values, size);
+        }
+
+        public long min() {
+            return size == 0 ? 0 : KERNELS.min(values, size);
+        }
+
+        public long max() {
+            return size == 0 ? 0 : KERNELS.max(values, size);
+        }
+
+        public long countAtLeast(long threshold) {
+            return KERNELS.countAtLeast(values, size, threshold);
+        }
+
+        public long countBelow(long threshold) {
+            return size - countAtLeast(threshold);
+        }
+
+        public long[] sumBy(DictionaryColumn keys) {
+            keys.requireSameSize(this);
+            long[] sums = new long[keys.cardinality()];
+            int[] codes = keys.codes;
+            for (int i = 0; i < size; i++) {
+                sums[codes[i]] += values[i];
+            }
+            return sums;
+        }
+
+        @Override
+        void append(
+                SheetRow row,
+                int index
+        ) {
+            long value = 0;
+            if (row.hasText(index)) {
+                value = row.isRaw(index)
+                        ? CellNumbers.parseLong(row.getChars(), row.getOffset(index), row.getLength(index))
+                        : new BigDecimal(row.getValue(index).trim()).longValueExact();
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        long estimatedBytes() {
+            return (long) values.length * Long.BYTES;
+        }
+    }
+
+    public static final class DecimalColumn extends Column {
+
+        private final int scale;
+        private long[] unscaled = new long[0];
+        private long maxMagnitude;
+
+        DecimalColumn(
+                String header,
+                int scale
+        ) {
+            super(header);
+            this.scale = scale;
+        }
+
+        public int getScale() {return scale;}
+
+        public BigDecimal get(int row) {
+            return BigDecimal.valueOf(unscaled[row], scale);
+        }
+
+        public long getUnscaled(int row) {
+            return unscaled[row];
+        }
+
+        public BigDecimal sum() {
+            if (!sumFitsInLong()) {
+                BigDecimal sum = BigDecimal.ZERO;
+                for (int i = 0; i < size; i++) {
+                    sum = sum.add(BigDecimal.valueOf(unscaled[i], scale));
+                }
+                return sum;
+            }
+            return BigDecimal.valueOf(KERNELS.sum(unscaled, size), scale);
+        }
+
+        public BigDecimal average(int resultScale) {
+            return size == 0 ? BigDecimal.ZERO : sum().divide(BigDecimal.valueOf(size), resultScale, RoundingMode.HALF_UP);
+        }
+
+        public BigDecimal min() {
+            if (size == 0) {
+                return BigDecimal.ZERO;
+            }
+            return BigDecimal.valueOf(KERNELS.min(unscaled, size), scale);
+        }
+
+        public BigDecimal max() {
+            if (size == 0) {
+                return BigDecimal.ZERO;
+            }
+            return BigDecimal.valueOf(KERNELS.max(unscaled, size), scale);
+        }
+
+        /**
+         * Sum of {@code this * factors} per row, such as price times stock quantity.
+         */
+        public BigDecimal sumProduct(LongColumn factors) {
+            requireSameSize(factors);
+            long[] other = factors.values;
+            BigDecimal sum = BigDecimal.ZERO;
+            long partial = 0;
+            for (int i = 0; i < size; i++) {
+                long product = Math.multiplyExact(unscaled[i], other[i]);
+                long next = partial + product;
+                if (((partial ^ next) & (product ^ next)) < 0) {
+                    sum = sum.add(BigDecimal.valueOf(partial, scale));
+                    next = product;
+                }
+                partial = next;
+            }
+            return sum.add(BigDecimal.valueOf(partial, scale));
+        }
+
+        public long countAtLeast(BigDecimal threshold) {
+            return KERNELS.countAtLeast(unscaled, size, ceilUnscaled(threshold));
+        }
+
+        public BigDecimal[] sumBy(DictionaryColumn keys) {
+            keys.requireSameSize(this);
+            int[] codes = keys.codes;
+            BigDecimal[] results = new BigDecimal[keys.cardinality()];
+            if (sumFitsInLong()) {
+                long[] sums = new long[results.length];
+                for (int i = 0; i < size; i++) {
+                    sums[codes[i]] += unscaled[i];
+                }
+                for (int code = 0; code < sums.length; code++) {
+                    results[code] = BigDecimal.valueOf(sums[code], scale);
+                }
+            } else {
+                Arrays.fill(results, BigDecimal.ZERO.setScale(scale));
+                for (int i = 0; i < size; i++) {
+                    results[codes[i]] = results[codes[i]].add(BigDecimal.valueOf(unscaled[i], scale));
+                }
+            }
+            return results;
+        }
+
+        public BigDecimal[] minBy(DictionaryColumn keys) {
+            keys.requireSameSize(this);
+            int[] codes = keys.codes;
+            long[] mins = new long[keys.cardinality()];
+            Arrays.fill(mins, Long.MAX_VALUE);
+            for (int i = 0; i < size; i++) {
+                mins[codes[i]] = Math.min(mins[codes[i]], unscaled[i]);
+            }
+            return toDecimals(mins);
+        }
+
+        public BigDecimal[] maxBy(DictionaryColumn keys) {
+            keys.requireSameSize(this);
+            int[] codes = keys.codes;
+            long[] maxes = new long[keys.cardinality()];
+            Arrays.fill(maxes, Long.MIN_VALUE);
+            for (int i = 0; i < size; i++) {
+                maxes[codes[i]] = Math.max(maxes[codes[i]], unscaled[i]);
+            }
+            return toDecimals(maxes);
+        }
+
+        public long[] countAtLeastBy(
+                DictionaryColumn keys,
+                BigDecimal threshold
+        ) {
+            keys.requireSameSize(this);
+            int[] codes = keys.codes;
+            long bound = ceilUnscaled(threshold);
+            long[] counts = new long[keys.cardinality()];
+            for (int i = 0; i < size; i++) {
+                if (unscaled[i] >= bound) {
+                    counts[codes[i]]++;
+                }
+            }
+            return counts;
+        }
+
+        /**
+         * True when no sum over this column can overflow a long, judged from the largest magnitude appended.
+         */
+        private boolean sumFitsInLong() {
+            return maxMagnitude <= Long.MAX_VALUE / Math.max(1, size);
+        }
+
+        private long ceilUnscaled(BigDecimal threshold) {
+            return threshold.setScale(scale, RoundingMode.CEILING).unscaledValue().longValueExact();
+        }
+
+        private BigDecimal[] toDecimals(long[] values) {
+            BigDecimal[] decimals = new BigDecimal[values.length];
+            for (int i = 0; i < values.length; i++) {
+                decimals[i] = BigDecimal.valueOf(values[i], scale);
+            }
+            return decimals;
+        }
+
+        @Override
+        void append(
+                SheetRow row,
+                int index
+        ) {
+            long value = 0;
+            if (row.hasText(index)) {
+                value = row.isRaw(index)
+                        ? CellNumbers.parseScaled(row.getChars(), row.getOffset(index), row.getLength(index), scale)
+                        : new BigDecimal(row.getValue(index).trim()).setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            }
+            if (size == unscaled.length) {
+                unscaled = Arrays.copyOf(unscaled, grow(size));
+            }
+            unscaled[size++] = value;
+            maxMagnitude = Math.max(maxMagnitude, value == Long.MIN_VALUE ? Long.MAX_VALUE : Math.abs(value));
+        }
+
+        @Override
+        void trim() {
+            unscaled = Arrays.copyOf(unscaled, size);
+        }
+
+        @Override
+        long estimatedBytes() {
+            return (long) unscaled.length * Long.BYTES;
+        }
+    }
+
+    public static final class DoubleColumn extends Column {
+
+        private double[] values = new double[0];
+
+        DoubleColumn(String header) {
+            super(header);
+        }
+
+        public double get(int row) {
+            return values[row];
+        }
+
+        public double sum() {
+            return KERNELS.sum(values, size);
+        }
+
+        public double average() {
+            return size == 0 ? 0 : sum() / size;
+        }
+
+        public double min() {
+            return size == 0 ? 0 : KERNELS.min(values, size);
+        }
+
+        public double max() {
+            return size == 0 ? 0 : KERNELS.max(values, size);
+        }
+
+        public long countAtLeast(double threshold) {
+            return KERNELS.countAtLeast(values, size, threshold);
+        }
+
+        public double[] sumBy(DictionaryColumn keys) {
+            keys.requireSameSize(this);
+            int[] codes = keys.codes;
+            double[] sums = new double[keys.cardinality()];
+            for (int i = 0; i < size; i++) {
+                sums[codes[i]] += values[i];
+            }
+            return sums;
+        }
+
+        public double[] minBy(DictionaryColumn keys) {
+            keys.requireSameSize(this);
+            int[] codes = keys.codes;
+            double[] mins = new double[keys.cardinality()];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            for (int i = 0; i < size; i++) {
+                mins[codes[i]] = Math.min(mins[codes[i]], values[i]);
+            }
+            return mins;
+        }
+
+        public double[] maxBy(DictionaryColumn keys) {
+            keys.requireSameSize(this);
+            int[] codes = keys.codes;
+            double[] maxes = new double[keys.cardinality()];
+            Arrays.fill(maxes, Double.NEGATIVE_INFINITY);
+            for (int i = 0; i < size; i++) {
+                maxes[codes[i]] = Math.max(maxes[codes[i]], values[i]);
+            }
+            return maxes;
+        }
+
+        public long[] countAtLeastBy(
+                DictionaryColumn keys,
+                double threshold
+        ) {
+            keys.requireSameSize(this);
+            int[] codes = keys.codes;
+            long[] counts = new long[keys.cardinality()];
+            for (int i = 0; i < size; i++) {
+                if (values[i] >= threshold) {
+                    counts[codes[i]]++;
+                }
+            }
+            return counts;
+        }
+
+        @Override
+        void append(
+                SheetRow row,
+                int index
+        ) {
+            double value = 0;
+            if (row.hasText(index)) {
+                value = row.isRaw(index)
+                        ? CellNumbers.parseDouble(row.getChars(), row.getOffset(index), row.getLength(index))
+                        : Double.parseDouble(row.getValue(index).trim());
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        long estimatedBytes() {
+            return (long) values.length * Double.BYTES;
+        }
+    }
+
+    public static final class BooleanColumn extends Column {
+
+        private boolean[] values = new boolean[0];
+
+        BooleanColumn(String header) {
+            super(header);
+        }
+
+        public boolean get(int row) {
+            return values[row];
+        }
+
+        public long countTrue() {
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                if (values[i]) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public long[] countTrueBy(DictionaryColumn keys) {
+            keys.requireSameSize(this);
+            int[] codes = keys.codes;
+            long[] counts = new long[keys.cardinality()];
+            for (int i = 0; i < size; i++) {
+                if (values[i]) {
+                    counts[codes[i]]++;
+                }
+            }
+            return counts;
+        }
+
+        @Override
+        void append(
+                SheetRow row,
+                int index
+        ) {
+            boolean value = false;
+            if (row.isRaw(index) && row.getLength(index) == 1) {
+                value = row.getChars()[row.getOffset(index)] == '1';
+            } else if (row.hasText(index)) {
+                String text = row.getValue(index).trim();
+                value = "1".equals(text) || "true".equalsIgnoreCase(text);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        long estimatedBytes() {
+            return values.length;
+        }
+    }
+
+    /**
+     * Text column stored as one {@code int} code per row. Codes are assigned in first-seen order, so shared-string
+     * cells map to their code with a single hash lookup on the already decoded string.
+     */
+    public static final class DictionaryColumn extends Column {
+
+        private int[] codes = new int[0];
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> lookup = new HashMap<>();
+
+        DictionaryColumn(String header) {
+            super(header);
+        }
+
+        public int getCode(int row) {
+            return codes[row];
+        }
+
+        public String get(int row) {
+            return dictionary.get(codes[row]);
+        }
+
+        public List<String> getDictionary() {
+            return Collections.unmodifiableList(dictionary);
+        }
+
+        public int cardinality() {
+            return dictionary.size();
+        }
+
+        /**
+         * Code of {@code value}, or -1 when no row holds it.
+         */
+        public int codeOf(String value) {
+            Integer code = lookup.get(value);
+            return code != null ? code : -1;
+        }
+
+        public long[] counts() {
+            long[] counts = new long[dictionary.size()];
+            for (int i = 0; i < size; i++) {
+                counts[codes[i]]++;
+            }
+            return counts;
+        }
+
+        @Override
+        void append(
+                SheetRow row,
+                int index
+        ) {
+            String value = row.hasText(index) ? row.getValue(index).trim() : "";
+            Integer code = lookup.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                lookup.put(value, code);
+            }
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, grow(size));
+            }
+            codes[size++] = code;
+        }
+
+        @Override
+        void trim() {
+            codes = Arrays.copyOf(codes, size);
+        }
+
+        @Override
+        long estimatedBytes() {
+            long bytes = (long) codes.length * Integer.BYTES;
+            for (String value : dictionary) {
+                bytes += value.length() * 2L;
+            }
+            return bytes;
+        }
+    }
+}
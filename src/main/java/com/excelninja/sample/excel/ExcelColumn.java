@@ -0,0 +1,53 @@
+package com.excelninja.sample.excel;
+
+import java.lang.reflect.Field;
+
+public final class ExcelColumn {
+
+    private final String headerName;
+    private final Field field;
+    private final String defaultValue;
+    private final int order;
+    private final FieldAccessor accessor;
+
+    ExcelColumn(
+            String headerName,
+            Field field,
+            String defaultValue,
+            int order
+    ) {
+        this.headerName = headerName;
+        this.field = field;
+        this.defaultValue = defaultValue;
+        this.order = order;
+        this.accessor = Accessors.generated(field);
+    }
+
+    public String getHeaderName() {return headerName;}
+
+    public String getFieldName() {return field.getName();}
+
+    public Class<?> getType() {return field.getType();}
+
+    public String getDefaultValue() {return defaultValue;}
+
+    public boolean hasDefaultValue() {return defaultValue != null && !defaultValue.isEmpty();}
+
+    public int getOrder() {return order;}
+
+    public Object get(Object target) {
+        return accessor.get(target);
+    }
+
+    public void set(
+            Object target,
+            Object value
+    ) {
+        accessor.set(target, value);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExcelColumn{header='%s', field='%s', type=%s}", headerName, field.getName(), getType().getSimpleName());
+    }
+}
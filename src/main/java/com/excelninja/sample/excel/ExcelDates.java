@@ -0,0 +1,53 @@
+package com.excelninja.sample.excel;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Conversions between java.time values and Excel serial dates (1900 date system).
+ */
+public final class ExcelDates {
+
+    private static final LocalDate EPOCH = LocalDate.of(1899, 12, 30);
+    private static final long EPOCH_DAY = EPOCH.toEpochDay();
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private ExcelDates() {}
+
+    public static LocalDate toLocalDate(double serial) {
+        return toLocalDate((long) Math.floor(serial));
+    }
+
+    public static LocalDate toLocalDate(long days) {
+        return LocalDate.ofEpochDay(EPOCH_DAY + days);
+    }
+
+    public static LocalDateTime toLocalDateTime(double serial) {
+        long days = (long) Math.floor(serial);
+        long millis = Math.round((serial - days) * MILLIS_PER_DAY);
+        if (millis >= MILLIS_PER_DAY) {
+            days++;
+            millis -= MILLIS_PER_DAY;
+        }
+        return toLocalDateTime(days, millis);
+    }
+
+    public static LocalDateTime toLocalDateTime(
+            long days,
+            long millisOfDay
+    ) {
+        return LocalDateTime.of(toLocalDate(days), LocalTime.ofNanoOfDay(millisOfDay * 1_000_000L));
+    }
+
+    public static double toSerial(LocalDate date) {
+        return ChronoUnit.DAYS.between(EPOCH, date);
+    }
+
+    public static double toSerial(LocalDateTime dateTime) {
+        LocalTime time = dateTime.toLocalTime();
+        return ChronoUnit.DAYS.between(EPOCH, dateTime.toLocalDate())
+               + (double) (time.toNanoOfDay() / 1_000_000L) / MILLIS_PER_DAY;
+    }
+}
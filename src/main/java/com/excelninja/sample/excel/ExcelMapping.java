@@ -0,0 +1,140 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.annotation.ExcelWriteColumn;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Column plan derived from {@link ExcelReadColumn} and {@link ExcelWriteColumn}, built once per class. Annotation
+ * mistakes that would otherwise silently drop or reorder columns are collected in {@link #getProblems()}.
+ */
+public final class ExcelMapping<T> {
+
+    private static final ClassValue<ExcelMapping<?>> MAPPINGS = new ClassValue<>() {
+        @Override
+        protected ExcelMapping<?> computeValue(Class<?> type) {
+            return new ExcelMapping<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final Supplier<T> instantiator;
+    private final Map<String, ExcelColumn> readColumns;
+    private final List<ExcelColumn> writeColumns;
+    private final List<String> problems;
+
+    private ExcelMapping(Class<T> type) {
+        this.type = type;
+        Constructor<T> constructor = findNoArgConstructor(type);
+        this.instantiator = constructor != null ? Accessors.instantiator(constructor) : null;
+
+        Map<String, ExcelColumn> readColumns = new LinkedHashMap<>();
+        List<ExcelColumn> writeColumns = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+        Set<String> writeHeaders = new HashSet<>();
+        Map<Integer, String> writeOrders = new HashMap<>();
+        for (Field field : annotatedFields(type)) {
+            ExcelReadColumn read = field.getAnnotation(ExcelReadColumn.class);
+            if (read != null) {
+                if (read.headerName().isBlank()) {
+                    problems.add("blank @ExcelReadColumn header on field " + field.getName());
+                }
+                ExcelColumn previous = readColumns.put(read.headerName(), new ExcelColumn(read.headerName(), field, read.defaultValue(), 0));
+                if (previous != null) {
+                    problems.add("read header '" + read.headerName() + "' is mapped by both " + previous.getFieldName() + " and " + field.getName());
+                }
+            }
+            ExcelWriteColumn write = field.getAnnotation(ExcelWriteColumn.class);
+            if (write != null) {
+                if (write.headerName().isBlank()) {
+                    problems.add("blank @ExcelWriteColumn header on field " + field.getName());
+                }
+                if (!writeHeaders.add(write.headerName())) {
+                    problems.add("write header '" + write.headerName() + "' is used more than once");
+                }
+                String sameOrder = writeOrders.putIfAbsent(write.order(), field.getName());
+                if (sameOrder != null) {
+                    problems.add("write order " + write.order() + " is shared by " + sameOrder + " and " + field.getName());
+                }
+                writeColumns.add(new ExcelColumn(write.headerName(), field, null, write.order()));
+            }
+        }
+        writeColumns.sort(Comparator.comparingInt(ExcelColumn::getOrder));
+        if (!readColumns.isEmpty() && instantiator == null) {
+            problems.add("read columns need a no-arg constructor");
+        }
+
+        this.readColumns = Map.copyOf(readColumns);
+        this.writeColumns = List.copyOf(writeColumns);
+        this.problems = List.copyOf(problems);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ExcelMapping<T> of(Class<T> type) {
+        return (ExcelMapping<T>) MAPPINGS.get(type);
+    }
+
+    public Class<T> getType() {return type;}
+
+    public ExcelColumn findReadColumn(String headerName) {
+        return readColumns.get(headerName);
+    }
+
+    public Collection<ExcelColumn> getReadColumns() {return readColumns.values();}
+
+    public List<ExcelColumn> getWriteColumns() {return writeColumns;}
+
+    public List<String> getProblems() {return problems;}
+
+    public boolean canInstantiate() {return instantiator != null;}
+
+    /**
+     * True when {@code type} declares at least one {@link ExcelReadColumn} or {@link ExcelWriteColumn} field.
+     */
+    public static boolean isAnnotated(Class<?> type) {
+        return !annotatedFields(type).isEmpty();
+    }
+
+    public T newInstance() {
+        if (instantiator == null) {
+            throw new IllegalStateException(type.getName() + " needs a no-arg constructor to be read from Excel");
+        }
+        return instantiator.get();
+    }
+
+    private static List<Field> annotatedFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (field.isAnnotationPresent(ExcelReadColumn.class) || field.isAnnotationPresent(ExcelWriteColumn.class)) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static <T> Constructor<T> findNoArgConstructor(Class<T> type) {
+        try {
+            return type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
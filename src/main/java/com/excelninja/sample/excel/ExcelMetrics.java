@@ -0,0 +1,254 @@
+package com.excelninja.sample.excel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for workbook reads and writes, all tagged with the simple name of the mapped model class:
+ * <ul>
+ *   <li>{@code excel.operation} (timer, histogram): one sample per workbook read or written, tagged by outcome</li>
+ *   <li>{@code excel.stage} (timer): time spent in {@code parse}, {@code mapping}, {@code serialize} and {@code zip}</li>
+ *   <li>{@code excel.rows}, {@code excel.bytes} (counters): their rates are rows/s and bytes/s</li>
+ *   <li>{@code excel.sheet.rows} (summary, histogram), {@code excel.sheet.duration} (timer, histogram): per sheet</li>
+ *   <li>{@code excel.failures} (counter): failed operations by root-cause exception class</li>
+ * </ul>
+ * Sheet names often come from the data, e.g. one sheet per department, so only the first {@code maxSheetTags}
+ * distinct names become {@code sheet} tag values; later names are reported as {@code other}.
+ * {@link #global()} reports to {@link Metrics#globalRegistry}, which Spring Boot binds to its own registry.
+ */
+public final class ExcelMetrics {
+
+    public static final int DEFAULT_MAX_SHEET_TAGS = 100;
+    public static final String OTHER_SHEET = "other";
+
+    private static final ExcelMetrics GLOBAL = new ExcelMetrics(Metrics.globalRegistry);
+
+    private final MeterRegistry registry;
+    private final int maxSheetTags;
+    private final Set<String> sheetTags = new HashSet<>();
+
+    public ExcelMetrics(MeterRegistry registry) {
+        this(registry, DEFAULT_MAX_SHEET_TAGS);
+    }
+
+    public ExcelMetrics(
+            MeterRegistry registry,
+            int maxSheetTags
+    ) {
+        if (maxSheetTags < 0) {
+            throw new IllegalArgumentException("maxSheetTags must not be negative: " + maxSheetTags);
+        }
+        this.registry = registry;
+        this.maxSheetTags = maxSheetTags;
+    }
+
+    public static ExcelMetrics global() {
+        return GLOBAL;
+    }
+
+    public Recording start(
+            Class<?> model,
+            Operation operation
+    ) {
+        return start(model.getSimpleName(), operation);
+    }
+
+    Recording start(
+            String model,
+            Operation operation
+    ) {
+        return new Recording(model, operation);
+    }
+
+    /**
+     * Times a read done outside the streaming reader, such as a {@code NinjaExcel.read} call. Only the total
+     * time, row count and file size are known, so no stage timings are recorded.
+     */
+    public <T> List<T> timeRead(
+            Class<T> model,
+            String fileName,
+            Callable<List<T>> read
+    ) throws Exception {
+        Recording recording = start(model, Operation.READ);
+        try {
+            List<T> rows = read.call();
+            recording.rows(rows.size());
+            recording.bytes(Files.size(Path.of(fileName)));
+            recording.success();
+            return rows;
+        } catch (Exception e) {
+            recording.failure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Write counterpart of {@link #timeRead}.
+     */
+    public void timeWrite(
+            Class<?> model,
+            String sheetName,
+            String fileName,
+            long rows,
+            Action write
+    ) throws Exception {
+        Recording recording = start(model, Operation.WRITE);
+        try {
+            write.run();
+            recording.sheet(sheetName, rows);
+            recording.bytes(Files.size(Path.of(fileName)));
+            recording.success();
+        } catch (Exception e) {
+            recording.failure(e);
+            throw e;
+        }
+    }
+
+    private synchronized String sheetTag(String name) {
+        if (sheetTags.contains(name)) {
+            return name;
+        }
+        if (sheetTags.size() < maxSheetTags) {
+            sheetTags.add(name);
+            return name;
+        }
+        return OTHER_SHEET;
+    }
+
+    public enum Operation {
+        READ,
+        WRITE;
+
+        String tag() {return name().toLowerCase(Locale.ROOT);}
+    }
+
+    public enum Stage {
+        PARSE,
+        MAPPING,
+        SERIALIZE,
+        ZIP;
+
+        String tag() {return name().toLowerCase(Locale.ROOT);}
+    }
+
+    @FunctionalInterface
+    public interface Action {
+
+        void run() throws Exception;
+    }
+
+    /**
+     * Collects the measurements of one workbook operation and publishes them when it succeeds or fails.
+     * Sheets rendered concurrently may report into the same recording.
+     */
+    public final class Recording {
+
+        private final Tags tags;
+        private final long started = System.nanoTime();
+        private final long[] stageNanos = new long[Stage.values().length];
+        private long rows;
+        private long bytes;
+        private boolean finished;
+
+        private Recording(
+                String model,
+                Operation operation
+        ) {
+            this.tags = Tags.of("model", model, "operation", operation.tag());
+        }
+
+        synchronized void stage(
+                Stage stage,
+                long nanos
+        ) {
+            stageNanos[stage.ordinal()] += Math.max(nanos, 0);
+        }
+
+        public void sheet(
+                String name,
+                long rows
+        ) {
+            sheet(name, rows, System.nanoTime() - started);
+        }
+
+        synchronized void sheet(
+                String name,
+                long rows,
+                long nanos
+        ) {
+            Tags sheetTags = tags.and("sheet", sheetTag(name));
+            DistributionSummary.builder("excel.sheet.rows")
+                    .tags(sheetTags)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(rows);
+            Timer.builder("excel.sheet.duration")
+                    .tags(sheetTags)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            this.rows += rows;
+        }
+
+        public synchronized void rows(long rows) {
+            this.rows += rows;
+        }
+
+        public synchronized void bytes(long bytes) {
+            this.bytes += bytes;
+        }
+
+        public synchronized void success() {
+            if (finished) {
+                return;
+            }
+            for (Stage stage : Stage.values()) {
+                long nanos = stageNanos[stage.ordinal()];
+                if (nanos > 0) {
+                    registry.timer("excel.stage", tags.and("stage", stage.tag())).record(nanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            Counter.builder("excel.rows").tags(tags).register(registry).increment(rows);
+            Counter.builder("excel.bytes").baseUnit("bytes").tags(tags).register(registry).increment(bytes);
+            finish("success");
+        }
+
+        public synchronized void failure(Throwable error) {
+            if (finished) {
+                return;
+            }
+            registry.counter("excel.failures", tags.and("cause", rootCause(error).getClass().getSimpleName())).increment();
+            finish("failure");
+        }
+
+        private void finish(String outcome) {
+            finished = true;
+            Timer.builder("excel.operation")
+                    .tags(tags.and("outcome", outcome))
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+
+        private static Throwable rootCause(Throwable error) {
+            Throwable cause = error;
+            while (cause.getCause() != null && cause.getCause() != cause) {
+                cause = cause.getCause();
+            }
+            return cause;
+        }
+    }
+}
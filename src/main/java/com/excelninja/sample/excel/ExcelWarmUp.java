@@ -0,0 +1,161 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.model.ExcelWorkbook;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Runs synthetic rows of a model through the streaming writer and reader, and through a {@code NinjaExcel} write
+ * and read of a temporary file, so the accessors, converters and XML code paths of both the streaming and the
+ * services' list-based paths are compiled before the first real request. Measurements go to a throwaway registry.
+ */
+public final class ExcelWarmUp {
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    private ExcelWarmUp() {}
+
+    /**
+     * @return the number of rows written plus the number of rows read back
+     */
+    public static <T> long run(
+            Class<T> type,
+            int rows
+    ) {
+        ExcelMapping<T> mapping = ExcelMapping.of(type);
+        ExcelMetrics metrics = new ExcelMetrics(new SimpleMeterRegistry());
+        long processed = 0;
+        try {
+            if (!mapping.getWriteColumns().isEmpty() && mapping.canInstantiate()) {
+                processed += StreamingExcelWriter.builder(type)
+                        .metrics(metrics)
+                        .build()
+                        .write(LongStream.rangeClosed(1, rows).mapToObj(seq -> sampleRow(mapping, seq)), OutputStream.nullOutputStream());
+            }
+            if (!mapping.getReadColumns().isEmpty() && mapping.canInstantiate()) {
+                try (Stream<T> read = StreamingExcelReader.builder(type)
+                        .metrics(metrics)
+                        .build()
+                        .stream(new ByteArrayInputStream(sampleWorkbook(mapping, rows)))) {
+                    processed += read.count();
+                }
+            }
+            if (mapping.canInstantiate()) {
+                processed += roundTripWithNinjaExcel(mapping, rows);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to warm up " + type.getName(), e);
+        }
+        return processed;
+    }
+
+    /**
+     * Writes the rows with {@code NinjaExcel.write}, or the sample workbook for read-only models, and reads the file
+     * back with {@code NinjaExcel.read} if the model has read columns.
+     */
+    private static <T> long roundTripWithNinjaExcel(
+            ExcelMapping<T> mapping,
+            int rows
+    ) throws IOException {
+        Class<T> type = mapping.getType();
+        Path file = Files.createTempFile("excel-warm-up", ".xlsx");
+        long processed = 0;
+        try {
+            if (!mapping.getWriteColumns().isEmpty()) {
+                List<T> sample = LongStream.rangeClosed(1, rows).mapToObj(seq -> sampleRow(mapping, seq)).toList();
+                NinjaExcel.write(ExcelWorkbook.builder().sheet("WarmUp", sample).build(), file.toString());
+                processed += sample.size();
+            } else {
+                Files.write(file, sampleWorkbook(mapping, rows));
+            }
+            if (!mapping.getReadColumns().isEmpty()) {
+                processed += NinjaExcel.read(file.toString(), type).size();
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to warm up NinjaExcel for " + type.getName(), e);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        return processed;
+    }
+
+    /**
+     * A workbook with the model's read headers, so read-only projections can be warmed up too.
+     */
+    private static byte[] sampleWorkbook(
+            ExcelMapping<?> mapping,
+            int rows
+    ) throws IOException {
+        List<ExcelColumn> columns = new ArrayList<>(mapping.getReadColumns());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxPackageWriter workbook = new XlsxPackageWriter(out, List.of("WarmUp"))) {
+            SheetXmlWriter sheet = workbook.startSheet();
+            sheet.writeHeader(columns.stream().map(ExcelColumn::getHeaderName).toList());
+            Object[] values = new Object[columns.size()];
+            for (long seq = 1; seq <= rows; seq++) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = sampleValue(columns.get(i).getType(), seq);
+                }
+                sheet.writeRow(values);
+            }
+            sheet.finish();
+            workbook.finish();
+        }
+        return out.toByteArray();
+    }
+
+    private static <T> T sampleRow(
+            ExcelMapping<T> mapping,
+            long seq
+    ) {
+        T row = mapping.newInstance();
+        for (ExcelColumn column : mapping.getWriteColumns()) {
+            Object value = sampleValue(column.getType(), seq);
+            if (value != null) {
+                column.set(row, value);
+            }
+        }
+        return row;
+    }
+
+    static Object sampleValue(
+            Class<?> type,
+            long seq
+    ) {
+        if (type == String.class) {
+            return "warm-up " + seq % 100;
+        } else if (type == Long.class || type == long.class) {
+            return seq;
+        } else if (type == Integer.class || type == int.class) {
+            return (int) (seq % 100);
+        } else if (type == Double.class || type == double.class) {
+            return seq + 0.25;
+        } else if (type == Boolean.class || type == boolean.class) {
+            return seq % 2 == 0;
+        } else if (type == BigDecimal.class) {
+            return BigDecimal.valueOf(seq * 100 + 25, 2);
+        } else if (type == LocalDate.class) {
+            return BASE_DATE.plusDays(seq % 365);
+        } else if (type == LocalDateTime.class) {
+            return BASE_DATE.atStartOfDay().plusMinutes(seq);
+        }
+        return null;
+    }
+}
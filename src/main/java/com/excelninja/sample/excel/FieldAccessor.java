@@ -0,0 +1,11 @@
+package com.excelninja.sample.excel;
+
+public interface FieldAccessor {
+
+    Object get(Object target);
+
+    void set(
+            Object target,
+            Object value
+    );
+}
@@ -0,0 +1,27 @@
+package com.excelninja.sample.excel;
+
+import java.time.Duration;
+
+/**
+ * Throughput of one {@link StreamingExcelReader#readBatches} run. {@code bytes} counts the compressed workbook
+ * as it was read from the source stream.
+ */
+public record ImportResult(
+        long rows,
+        long batches,
+        long bytes,
+        long elapsedMillis,
+        double rowsPerSecond,
+        double bytesPerSecond
+) {
+
+    static ImportResult of(
+            long rows,
+            long batches,
+            long bytes,
+            Duration elapsed
+    ) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+        return new ImportResult(rows, batches, bytes, elapsed.toMillis(), rows / seconds, bytes / seconds);
+    }
+}
@@ -0,0 +1,19 @@
+package com.excelninja.sample.excel;
+
+/**
+ * A page was requested with a malformed or outdated cursor or an out-of-range limit. This is the caller's mistake,
+ * unlike a failure to read or convert the rows of a valid page.
+ */
+public class InvalidPageRequestException extends IllegalArgumentException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidPageRequestException(
+            String message,
+            Throwable cause
+    ) {
+        super(message, cause);
+    }
+}
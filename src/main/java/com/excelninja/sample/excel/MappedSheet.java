@@ -0,0 +1,310 @@
+package com.excelninja.sample.excel;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A worksheet opened by {@link MappedSheetReader}. Row positions count the rows after the header, blank rows
+ * included, from 0. Rows are located through the memory-mapped offsets and keys and only their bytes are parsed,
+ * so a lookup costs the same on a sheet of a thousand rows as on one of ten million. Lookups are synchronized,
+ * since the shared-strings table they decode from is not thread-safe.
+ */
+public final class MappedSheet<T> {
+
+    private static final Pattern NAMESPACE_DECLARATION = Pattern.compile("\\sxmlns(?::[\\w.-]+)?\\s*=\\s*(\"[^\"]*\"|'[^']*')");
+    private static final int MAX_ROOT_TAG_BYTES = 64 * 1024;
+    private static final byte[] CLOSE = "</sheetData>".getBytes(StandardCharsets.US_ASCII);
+    private static final int CURSOR_BYTES = Integer.BYTES + 2 * Long.BYTES;
+
+    private final ExcelMapping<T> mapping;
+    private final String source;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final ByteBuffer[] segments;
+    private final int segmentSize;
+    private final long mappedBytes;
+    private final LongBuffer offsets;
+    private final LongBuffer keys;
+    private final IntBuffer keyRows;
+    private final String keyColumn;
+    private final SharedStrings sharedStrings;
+    private final int rowCount;
+    private final byte[] open;
+    private final SheetRow row = new SheetRow();
+    private ExcelColumn[] columns = new ExcelColumn[0];
+    private boolean[] decoded = new boolean[0];
+
+    MappedSheet(
+            ExcelMapping<T> mapping,
+            String source,
+            long sourceSize,
+            long sourceModified,
+            ByteBuffer[] segments,
+            int segmentSize,
+            long mappedBytes,
+            LongBuffer offsets,
+            LongBuffer keys,
+            IntBuffer keyRows,
+            String keyColumn,
+            SharedStrings sharedStrings
+    ) throws IOException, XMLStreamException {
+        this.mapping = mapping;
+        this.source = source;
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+        this.segments = segments;
+        this.segmentSize = segmentSize;
+        this.mappedBytes = mappedBytes;
+        this.offsets = offsets;
+        this.keys = keys;
+        this.keyRows = keyRows;
+        this.keyColumn = keyColumn;
+        this.sharedStrings = sharedStrings;
+        this.rowCount = offsets.limit() - 2;
+        this.open = openTag();
+        readHeader();
+    }
+
+    /**
+     * A {@code <sheetData>} start tag carrying the namespace declarations of the worksheet's root element, so that
+     * row slices parse on their own even when, as in files saved by Excel, rows carry prefixed attributes such as
+     * {@code x14ac:dyDescent}.
+     */
+    private byte[] openTag() {
+        int length = (int) Math.min(Math.min(offsets.get(0), MAX_ROOT_TAG_BYTES), segments[0].limit());
+        byte[] head = new byte[length];
+        segments[0].get(0, head, 0, length);
+        String xml = new String(head, StandardCharsets.UTF_8);
+        int start = xml.indexOf('<');
+        while (start >= 0 && start + 1 < xml.length() && (xml.charAt(start + 1) == '?' || xml.charAt(start + 1) == '!')) {
+            int end = xml.startsWith("<!--", start) ? xml.indexOf("-->", start) : xml.indexOf('>', start);
+            start = end < 0 ? -1 : xml.indexOf('<', end);
+        }
+        int end = start < 0 ? -1 : xml.indexOf('>', start);
+        StringBuilder tag = new StringBuilder("<sheetData");
+        if (end >= 0) {
+            Matcher declaration = NAMESPACE_DECLARATION.matcher(xml.substring(start, end));
+            while (declaration.find()) {
+                tag.append(declaration.group());
+            }
+        }
+        return tag.append('>').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void readHeader() throws IOException, XMLStreamException {
+        try (SheetRowParser parser = parser(offsets.get(0), offsets.get(1))) {
+            if (!parser.next(row)) {
+                return;
+            }
+            columns = new ExcelColumn[row.getWidth()];
+            decoded = new boolean[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                String header = row.getValue(i);
+                if (header != null) {
+                    columns[i] = mapping.findReadColumn(header.trim());
+                    decoded[i] = columns[i] != null;
+                }
+            }
+        }
+    }
+
+    public int getRowCount() {return rowCount;}
+
+    public String getKeyColumn() {return keyColumn;}
+
+    /**
+     * Bytes of the worksheet XML and row index mapped for this sheet; they live outside the heap.
+     */
+    public long getMappedBytes() {return mappedBytes;}
+
+    boolean isCurrent(
+            long size,
+            long modified
+    ) {
+        return sourceSize == size && sourceModified == modified;
+    }
+
+    public synchronized T get(int position) {
+        checkPosition(position, rowCount - 1);
+        return parse(position, position + 1).get(0);
+    }
+
+    /**
+     * Rows at positions {@code from} (inclusive) to {@code to} (exclusive), parsed from one contiguous slice.
+     */
+    public synchronized List<T> range(
+            int from,
+            int to
+    ) {
+        checkPosition(from, rowCount);
+        checkPosition(to, rowCount);
+        if (from > to) {
+            throw new IllegalArgumentException("from " + from + " is after to " + to);
+        }
+        return from == to ? List.of() : parse(from, to);
+    }
+
+    /**
+     * Up to {@code limit} rows starting at {@code cursor}, or at the first row for a {@code null} cursor, and the
+     * cursor of the following page. Cursors are opaque and tied to the version of the workbook that issued them;
+     * one from another version is rejected rather than resumed at a position that may now hold other rows. A bad
+     * cursor or limit throws {@link InvalidPageRequestException}.
+     */
+    public SheetPage<T> page(
+            String cursor,
+            int limit
+    ) {
+        if (limit < 1) {
+            throw new InvalidPageRequestException("limit must be positive: " + limit);
+        }
+        int from = cursor == null ? 0 : decodeCursor(cursor);
+        int to = (int) Math.min(rowCount, (long) from + limit);
+        return new SheetPage<>(range(from, to), to < rowCount ? encodeCursor(to) : null);
+    }
+
+    private String encodeCursor(int position) {
+        ByteBuffer cursor = ByteBuffer.allocate(CURSOR_BYTES).putInt(position).putLong(sourceSize).putLong(sourceModified);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.array());
+    }
+
+    private int decodeCursor(String cursor) {
+        ByteBuffer decoded;
+        try {
+            decoded = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Malformed cursor: " + cursor, e);
+        }
+        if (decoded.remaining() != CURSOR_BYTES) {
+            throw new InvalidPageRequestException("Malformed cursor: " + cursor);
+        }
+        int position = decoded.getInt();
+        if (!isCurrent(decoded.getLong(), decoded.getLong())) {
+            throw new InvalidPageRequestException("Cursor was issued for another version of " + source);
+        }
+        if (position < 0 || position > rowCount) {
+            throw new InvalidPageRequestException("Malformed cursor: " + cursor);
+        }
+        return position;
+    }
+
+    /**
+     * The first row, by position, whose key column holds {@code key}.
+     */
+    public synchronized Optional<T> find(long key) {
+        int index = lowerBound(key);
+        if (index < keys.limit() && keys.get(index) == key) {
+            return Optional.of(get(keyRows.get(index)));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Rows whose key lies between {@code from} and {@code to}, both inclusive, in key order.
+     */
+    public synchronized List<T> findRange(
+            long from,
+            long to
+    ) {
+        List<T> rows = new ArrayList<>();
+        for (int index = lowerBound(from); index < keys.limit() && keys.get(index) <= to; index++) {
+            rows.add(get(keyRows.get(index)));
+        }
+        return rows;
+    }
+
+    private int lowerBound(long key) {
+        if (keyColumn == null) {
+            throw new IllegalStateException("No key column configured for " + source);
+        }
+        int low = 0;
+        int high = keys.limit();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys.get(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void checkPosition(
+            int position,
+            int max
+    ) {
+        if (position < 0 || position > max) {
+            throw new IndexOutOfBoundsException("Row " + position + " out of range 0.." + max + " of " + source);
+        }
+    }
+
+    private List<T> parse(
+            int from,
+            int to
+    ) {
+        try (SheetRowParser parser = parser(offsets.get(from + 1), offsets.get(to + 1))) {
+            parser.decodeOnly(decoded);
+            List<T> rows = new ArrayList<>(to - from);
+            while (rows.size() < to - from && parser.next(row)) {
+                rows.add(toObject(row));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read rows of " + source, e);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to parse rows of " + source, e);
+        }
+    }
+
+    /**
+     * Parses the worksheet bytes between {@code start} and {@code end}, wrapped in a {@code <sheetData>} element
+     * so that several rows form one document, with the worksheet's namespaces in scope.
+     */
+    private SheetRowParser parser(
+            long start,
+            long end
+    ) throws IOException {
+        int length = Math.toIntExact(end - start);
+        byte[] bytes = new byte[open.length + length + CLOSE.length];
+        System.arraycopy(open, 0, bytes, 0, open.length);
+        int copied = 0;
+        while (copied < length) {
+            long position = start + copied;
+            ByteBuffer segment = segments[(int) (position / segmentSize)];
+            int offset = (int) (position % segmentSize);
+            int chunk = Math.min(length - copied, segment.limit() - offset);
+            segment.get(offset, bytes, open.length + copied, chunk);
+            copied += chunk;
+        }
+        System.arraycopy(CLOSE, 0, bytes, open.length + length, CLOSE.length);
+        return new SheetRowParser(new ByteArrayInputStream(bytes), sharedStrings);
+    }
+
+    private T toObject(SheetRow row) {
+        T target = mapping.newInstance();
+        for (int i = 0; i < columns.length; i++) {
+            ExcelColumn column = columns[i];
+            if (column == null) {
+                continue;
+            }
+            if (row.hasText(i)) {
+                column.set(target, CellConverter.convert(row, i, column));
+            } else if (column.hasDefaultValue()) {
+                column.set(target, CellConverter.convert(column.getDefaultValue(), CellType.STRING, column));
+            }
+        }
+        return target;
+    }
+}
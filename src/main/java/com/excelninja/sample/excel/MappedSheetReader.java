@@ -0,0 +1,438 @@
+package com.excelninja.sample.excel;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Random access to the rows of the first worksheet of large xlsx files. The first {@link #open} of a workbook
+ * decompresses its worksheet XML once into a sidecar file and writes a second sidecar holding the byte offset of
+ * every {@code <row>} and, when a key column is configured, the whole-number keys sorted with their row positions.
+ * Both are memory-mapped by the returned {@link MappedSheet}, so a row is found by position in O(1) and by key in
+ * O(log n), and only the bytes of the rows returned are parsed.
+ * <p>
+ * Sidecars are named after the workbook's path and key column and are reused, also across restarts, while the
+ * workbook's size and last-modified time match the ones they were built from. Opened sheets are kept per path
+ * and reopened when the workbook changes. Worksheets must use unprefixed element names, as Excel and
+ * {@link StreamingExcelWriter} write them.
+ */
+public final class MappedSheetReader<T> {
+
+    public static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "excel-ninja-rows");
+
+    private static final int MAGIC = 0x584C5249;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    private final ExcelMapping<T> mapping;
+    private final String keyColumn;
+    private final Path directory;
+    private final ExcelMetrics metrics;
+    private final Map<Path, MappedSheet<T>> sheets = new HashMap<>();
+
+    private MappedSheetReader(Builder<T> builder) {
+        this.mapping = ExcelMapping.of(builder.type);
+        this.keyColumn = builder.keyColumn;
+        this.directory = builder.directory;
+        this.metrics = builder.metrics;
+    }
+
+    public static <T> Builder<T> builder(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    public synchronized MappedSheet<T> open(String fileName) {
+        Path path = Path.of(fileName).toAbsolutePath().normalize();
+        try {
+            if (!Files.isRegularFile(path)) {
+                throw new FileNotFoundException("Excel file not found: " + fileName);
+            }
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().toMillis();
+            MappedSheet<T> sheet = sheets.get(path);
+            if (sheet == null || !sheet.isCurrent(size, modified)) {
+                sheet = map(fileName, path, size, modified);
+                sheets.put(path, sheet);
+            }
+            return sheet;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open Excel file " + fileName, e);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to parse worksheet of " + fileName, e);
+        }
+    }
+
+    /**
+     * Drops the opened sheet of {@code fileName}; its sidecars stay on disk for the next {@link #open}.
+     */
+    public synchronized void close(String fileName) {
+        sheets.remove(Path.of(fileName).toAbsolutePath().normalize());
+    }
+
+    private MappedSheet<T> map(
+            String fileName,
+            Path path,
+            long size,
+            long modified
+    ) throws IOException, XMLStreamException {
+        Files.createDirectories(directory);
+        String name = path.getFileName() + "-" + Integer.toHexString(Objects.hash(path.toString(), keyColumn));
+        Path sheetFile = directory.resolve(name + ".sheet");
+        Path indexFile = directory.resolve(name + ".rows");
+        try (XlsxArchive archive = XlsxArchive.open(fileName)) {
+            SharedStrings sharedStrings = archive.readSharedStrings();
+            ByteBuffer index = mapIndex(indexFile, sheetFile, size, modified);
+            if (index == null) {
+                build(fileName, archive, sharedStrings, sheetFile, indexFile, size, modified);
+                index = mapIndex(indexFile, sheetFile, size, modified);
+                if (index == null) {
+                    throw new IOException("Row index of " + fileName + " was modified while it was built");
+                }
+            }
+            long sheetLength = index.getLong(24);
+            int rowCount = index.getInt(32);
+            int keyCount = index.getInt(36);
+            int keysAt = HEADER_BYTES + (rowCount + 2) * Long.BYTES;
+            int keyRowsAt = keysAt + keyCount * Long.BYTES;
+            return new MappedSheet<>(
+                    mapping,
+                    fileName,
+                    size,
+                    modified,
+                    mapSegments(sheetFile, sheetLength),
+                    SEGMENT_SIZE,
+                    sheetLength + index.capacity(),
+                    index.slice(HEADER_BYTES, keysAt - HEADER_BYTES).asLongBuffer(),
+                    index.slice(keysAt, keyRowsAt - keysAt).asLongBuffer(),
+                    index.slice(keyRowsAt, keyCount * Integer.BYTES).asIntBuffer(),
+                    keyColumn,
+                    sharedStrings
+            );
+        }
+    }
+
+    /**
+     * Maps the row index when it was built for this version of the workbook and its worksheet sidecar is intact.
+     */
+    private static ByteBuffer mapIndex(
+            Path indexFile,
+            Path sheetFile,
+            long size,
+            long modified
+    ) throws IOException {
+        if (!Files.isRegularFile(indexFile) || !Files.isRegularFile(sheetFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            boolean current = index.getInt(0) == MAGIC
+                              && index.getInt(4) == VERSION
+                              && index.getLong(8) == size
+                              && index.getLong(16) == modified
+                              && index.getLong(24) == Files.size(sheetFile);
+            return current ? index : null;
+        }
+    }
+
+    private static ByteBuffer[] mapSegments(
+            Path sheetFile,
+            long length
+    ) throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        try (FileChannel channel = FileChannel.open(sheetFile, StandardOpenOption.READ)) {
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, length - start));
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Writes both sidecars to temporary files first and moves them into place, the row index last, so that a
+     * build that fails part way leaves no index that {@link #mapIndex} would accept.
+     */
+    private void build(
+            String fileName,
+            XlsxArchive archive,
+            SharedStrings sharedStrings,
+            Path sheetFile,
+            Path indexFile,
+            long size,
+            long modified
+    ) throws IOException, XMLStreamException {
+        ExcelMetrics.Recording recording = metrics.start(mapping.getType(), ExcelMetrics.Operation.READ);
+        Path sheetTemp = Files.createTempFile(directory, sheetFile.getFileName().toString(), ".tmp");
+        Path indexTemp = Files.createTempFile(directory, indexFile.getFileName().toString(), ".tmp");
+        try {
+            long started = System.nanoTime();
+            RowOffsetScanner scanner;
+            try (InputStream in = archive.openSheet();
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(sheetTemp), 64 * 1024)) {
+                scanner = new RowOffsetScanner(out);
+                in.transferTo(scanner);
+            }
+            long[] offsets = scanner.offsets();
+            if (offsets.length < 2) {
+                throw new IllegalStateException("Sheet of " + fileName + " has no header row");
+            }
+            long scanned = System.nanoTime();
+            recording.stage(ExcelMetrics.Stage.ZIP, scanned - started);
+
+            Keys keys = keyColumn != null ? readKeys(fileName, sheetTemp, sharedStrings, offsets.length - 2) : Keys.NONE;
+            recording.stage(ExcelMetrics.Stage.PARSE, System.nanoTime() - scanned);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexTemp), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(size);
+                out.writeLong(modified);
+                out.writeLong(scanner.getLength());
+                out.writeInt(offsets.length - 2);
+                out.writeInt(keys.keys().length);
+                for (long offset : offsets) {
+                    out.writeLong(offset);
+                }
+                for (long key : keys.keys()) {
+                    out.writeLong(key);
+                }
+                for (int row : keys.rows()) {
+                    out.writeInt(row);
+                }
+            }
+            if (Files.size(indexTemp) > Integer.MAX_VALUE) {
+                throw new IOException("Row index of " + fileName + " exceeds 2 GB");
+            }
+            Files.deleteIfExists(indexFile);
+            Files.move(sheetTemp, sheetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(indexTemp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recording.rows(offsets.length - 2);
+            recording.bytes(archive.compressedSize());
+            recording.success();
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            recording.failure(e);
+            throw e;
+        } finally {
+            Files.deleteIfExists(sheetTemp);
+            Files.deleteIfExists(indexTemp);
+        }
+    }
+
+    /**
+     * Parses the key column of every row, checking that the parser sees exactly the rows the scanner found.
+     * Rows with a blank key are left out of the index.
+     */
+    private Keys readKeys(
+            String fileName,
+            Path sheetFile,
+            SharedStrings sharedStrings,
+            int rowCount
+    ) throws IOException, XMLStreamException {
+        long[] keys = new long[rowCount];
+        int[] positions = new int[rowCount];
+        int count = 0;
+        int rows = 0;
+        boolean sorted = true;
+        try (SheetRowParser parser = new SheetRowParser(new BufferedInputStream(Files.newInputStream(sheetFile), 64 * 1024), sharedStrings)) {
+            SheetRow row = new SheetRow();
+            int column = parser.next(row) ? headerIndex(row, keyColumn) : -1;
+            if (column < 0) {
+                throw new IllegalStateException("Key column " + keyColumn + " not found in sheet of " + fileName);
+            }
+            boolean[] decoded = new boolean[column + 1];
+            decoded[column] = true;
+            parser.decodeOnly(decoded);
+            while (parser.next(row)) {
+                if (rows == rowCount) {
+                    throw new IllegalStateException("Sheet of " + fileName + " has more rows than its row offsets");
+                }
+                String value = row.getValue(column);
+                if (value != null && !value.isBlank()) {
+                    long key;
+                    try {
+                        key = CellNumbers.parseLong(value.toCharArray(), 0, value.length());
+                    } catch (ArithmeticException | NumberFormatException e) {
+                        throw new IllegalStateException("Key " + value + " at row " + row.getRowNumber() + " is not a whole number", e);
+                    }
+                    sorted &= count == 0 || keys[count - 1] <= key;
+                    keys[count] = key;
+                    positions[count++] = rows;
+                }
+                rows++;
+            }
+        }
+        if (rows != rowCount) {
+            throw new IllegalStateException("Sheet of " + fileName + " has fewer rows than its row offsets");
+        }
+        Keys index = new Keys(Arrays.copyOf(keys, count), Arrays.copyOf(positions, count));
+        return sorted ? index : index.sorted();
+    }
+
+    private static int headerIndex(
+            SheetRow row,
+            String headerName
+    ) {
+        for (int i = 0; i < row.getWidth(); i++) {
+            String header = row.getValue(i);
+            if (header != null && header.trim().equals(headerName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private record Keys(
+            long[] keys,
+            int[] rows
+    ) {
+
+        static final Keys NONE = new Keys(new long[0], new int[0]);
+
+        /**
+         * Orders by key, keeping rows with equal keys in sheet order.
+         */
+        Keys sorted() {
+            Integer[] order = new Integer[keys.length];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+            long[] sortedKeys = new long[keys.length];
+            int[] sortedRows = new int[rows.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys[order[i]];
+                sortedRows[i] = rows[order[i]];
+            }
+            return new Keys(sortedKeys, sortedRows);
+        }
+    }
+
+    /**
+     * Passes the worksheet XML through while recording the offset of every {@code <row} start tag and of the
+     * closing {@code </sheetData}. A literal {@code <} cannot occur in well-formed text or attribute values, so
+     * matching bytes is enough.
+     */
+    private static final class RowOffsetScanner extends OutputStream {
+
+        private static final byte[] ROW = {'<', 'r', 'o', 'w'};
+        private static final byte[] SHEET_DATA_END = {'<', '/', 's', 'h', 'e', 'e', 't', 'D', 'a', 't', 'a'};
+
+        private final OutputStream out;
+        private long[] offsets = new long[1024];
+        private int count;
+        private long length;
+        private long end = -1;
+        private int rowMatched;
+        private int endMatched;
+
+        RowOffsetScanner(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            scan((byte) b);
+            out.write(b);
+        }
+
+        @Override
+        public void write(
+                byte[] bytes,
+                int offset,
+                int length
+        ) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                scan(bytes[i]);
+            }
+            out.write(bytes, offset, length);
+        }
+
+        private void scan(byte b) {
+            if (rowMatched == ROW.length) {
+                if (b == ' ' || b == '>' || b == '/' || b == '\t' || b == '\r' || b == '\n') {
+                    if (count == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    offsets[count++] = length - ROW.length;
+                }
+                rowMatched = 0;
+            }
+            rowMatched = b == ROW[rowMatched] ? rowMatched + 1 : b == '<' ? 1 : 0;
+            if (end < 0) {
+                endMatched = b == SHEET_DATA_END[endMatched] ? endMatched + 1 : b == '<' ? 1 : 0;
+                if (endMatched == SHEET_DATA_END.length) {
+                    end = length + 1 - SHEET_DATA_END.length;
+                }
+            }
+            length++;
+        }
+
+        long getLength() {return length;}
+
+        /**
+         * Start offsets of all rows, followed by the offset where the last one ends.
+         */
+        long[] offsets() {
+            long[] all = Arrays.copyOf(offsets, count + 1);
+            all[count] = end >= 0 ? end : length;
+            return count == 0 ? new long[0] : all;
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> type;
+        private String keyColumn;
+        private Path directory = DEFAULT_DIRECTORY;
+        private ExcelMetrics metrics = ExcelMetrics.global();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Indexes the whole numbers under {@code header}, such as an id, for {@link MappedSheet#find}.
+         */
+        public Builder<T> keyColumn(String header) {
+            this.keyColumn = header;
+            return this;
+        }
+
+        public Builder<T> directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder<T> metrics(ExcelMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public MappedSheetReader<T> build() {
+            return new MappedSheetReader<>(this);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.excelninja.sample.excel;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Tracks the bytes read through the stream and the time spent waiting on the wrapped one, which for a zip
+ * entry is the inflation time.
+ */
+final class MeteredInputStream extends FilterInputStream {
+
+    private long count;
+    private long nanos;
+
+    MeteredInputStream(InputStream in) {
+        super(in);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public int read() throws IOException {
+        long started = System.nanoTime();
+        int b = super.read();
+        nanos += System.nanoTime() - started;
+        if (b >= 0) {
+            count++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(
+            byte[] b,
+            int off,
+            int len
+    ) throws IOException {
+        long started = System.nanoTime();
+        int n = super.read(b, off, len);
+        nanos += System.nanoTime() - started;
+        if (n > 0) {
+            count += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count += skipped;
+        return skipped;
+    }
+}
@@ -0,0 +1,310 @@
+package com.excelninja.sample.excel;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Routes rows to one xlsx file per partition key in a single pass. Each key's rows are appended to a
+ * worksheet fragment on disk; at most {@code maxOpenWriters} fragments stay open, the least recently used one
+ * being closed (and later reopened in append mode) when the limit is hit. Files are assembled once the input
+ * is exhausted, so keys with no rows never produce a file. If any partition fails, the files already assembled
+ * are deleted too, so a failed write leaves no partial set of partitions behind.
+ */
+public final class PartitionedExcelWriter<T, K> {
+
+    public static final int DEFAULT_MAX_OPEN_WRITERS = 64;
+    public static final String KEY_PLACEHOLDER = "{key}";
+
+    private final ExcelMapping<T> mapping;
+    private final Function<? super T, ? extends K> partitionKey;
+    private final Function<? super K, String> fileNameForKey;
+    private final String sheetName;
+    private final int maxOpenWriters;
+    private final ExcelMetrics metrics;
+
+    private PartitionedExcelWriter(Builder<T, K> builder) {
+        this.mapping = ExcelMapping.of(builder.type);
+        this.partitionKey = builder.partitionKey;
+        this.fileNameForKey = builder.fileNameForKey;
+        this.sheetName = builder.sheetName;
+        this.maxOpenWriters = builder.maxOpenWriters;
+        this.metrics = builder.metrics;
+        if (fileNameForKey == null) {
+            throw new IllegalArgumentException("A path template or file name function is required");
+        }
+        if (mapping.getWriteColumns().isEmpty()) {
+            throw new IllegalArgumentException(builder.type.getName() + " has no @ExcelWriteColumn fields");
+        }
+    }
+
+    public static <T, K> Builder<T, K> builder(
+            Class<T> type,
+            Function<? super T, ? extends K> partitionKey
+    ) {
+        return new Builder<>(type, partitionKey);
+    }
+
+    public Map<K, Partition> write(Stream<? extends T> rows) {
+        return write(rows.iterator());
+    }
+
+    public Map<K, Partition> write(Iterator<? extends T> rows) {
+        Map<K, Fragment> fragments = new LinkedHashMap<>();
+        LinkedHashMap<K, Fragment> openFragments = new LinkedHashMap<>(16, 0.75f, true);
+        ExcelMetrics.Recording recording = metrics.start(mapping.getType(), ExcelMetrics.Operation.WRITE);
+        List<Path> assembled = new ArrayList<>();
+        Path workDir = null;
+        try {
+            workDir = Files.createTempDirectory("excel-partitions-");
+            List<ExcelColumn> columns = mapping.getWriteColumns();
+            Object[] values = new Object[columns.size()];
+            long mappingNanos = 0;
+            long serializeNanos = 0;
+
+            while (rows.hasNext()) {
+                T row = rows.next();
+                K key = partitionKey.apply(row);
+                if (key == null) {
+                    throw new IllegalArgumentException("Partition key is null for row " + row);
+                }
+                Fragment fragment = fragments.get(key);
+                if (fragment == null) {
+                    fragment = new Fragment(workDir.resolve("partition-" + fragments.size() + ".xml"));
+                    fragments.put(key, fragment);
+                }
+                if (openFragments.put(key, fragment) == null) {
+                    fragment.open();
+                    if (openFragments.size() > maxOpenWriters) {
+                        Iterator<Fragment> eldest = openFragments.values().iterator();
+                        eldest.next().close();
+                        eldest.remove();
+                    }
+                }
+                long mappingStarted = System.nanoTime();
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = columns.get(i).get(row);
+                }
+                long serializeStarted = System.nanoTime();
+                fragment.writeRow(values);
+                mappingNanos += serializeStarted - mappingStarted;
+                serializeNanos += System.nanoTime() - serializeStarted;
+            }
+            recording.stage(ExcelMetrics.Stage.MAPPING, mappingNanos);
+            recording.stage(ExcelMetrics.Stage.SERIALIZE, serializeNanos);
+            for (Fragment fragment : openFragments.values()) {
+                fragment.close();
+            }
+            openFragments.clear();
+
+            List<String> headers = columns.stream().map(ExcelColumn::getHeaderName).toList();
+            Map<K, String> fileNames = fileNames(fragments.keySet());
+            Map<K, Partition> partitions = new LinkedHashMap<>();
+            for (Map.Entry<K, Fragment> entry : fragments.entrySet()) {
+                String fileName = fileNames.get(entry.getKey());
+                Fragment fragment = entry.getValue();
+                long assemblyStarted = System.nanoTime();
+                fragment.assemble(fileName, sheetName, headers, recording);
+                assembled.add(Path.of(fileName));
+                recording.sheet(sheetName, fragment.rowCount, System.nanoTime() - assemblyStarted);
+                partitions.put(entry.getKey(), new Partition(fileName, fragment.rowCount));
+            }
+            recording.success();
+            return partitions;
+        } catch (IOException e) {
+            deleteQuietly(assembled);
+            recording.failure(e);
+            throw new UncheckedIOException("Failed to write partitioned Excel files", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(assembled);
+            recording.failure(e);
+            throw e;
+        } finally {
+            openFragments.values().forEach(Fragment::closeQuietly);
+            deleteRecursively(workDir);
+        }
+    }
+
+    /**
+     * Resolves the file of every key before any is written, failing when two keys resolve to the same file, as
+     * {@code "R&D"} and {@code "R/D"} do through {@link #fileNameFromTemplate}, rather than letting one partition
+     * overwrite the other.
+     */
+    private Map<K, String> fileNames(Set<K> keys) {
+        Map<K, String> fileNames = new LinkedHashMap<>();
+        Map<Path, K> owners = new HashMap<>();
+        for (K key : keys) {
+            String fileName = fileNameForKey.apply(key);
+            K owner = owners.putIfAbsent(Path.of(fileName).toAbsolutePath().normalize(), key);
+            if (owner != null) {
+                throw new IllegalStateException("Partitions " + owner + " and " + key + " both map to " + fileName);
+            }
+            fileNames.put(key, fileName);
+        }
+        return fileNames;
+    }
+
+    public static String fileNameFromTemplate(
+            String pathTemplate,
+            Object key
+    ) {
+        if (key == null) {
+            throw new IllegalArgumentException("Partition key must not be null");
+        }
+        String safeKey = key.toString().replaceAll("[^\\p{L}\\p{N}._-]", "_");
+        return pathTemplate.replace(KEY_PLACEHOLDER, safeKey);
+    }
+
+    private static void deleteQuietly(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException ignored) {
+        }
+    }
+
+    public record Partition(
+            String fileName,
+            long rowCount
+    ) {}
+
+    private static final class Fragment {
+
+        private final Path file;
+        private Writer out;
+        private SheetXmlWriter sheet;
+        private int rowCount;
+
+        Fragment(Path file) {
+            this.file = file;
+        }
+
+        void open() throws IOException {
+            out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            sheet = new SheetXmlWriter(out, 1 + rowCount);
+        }
+
+        void writeRow(Object[] values) throws IOException {
+            sheet.writeRow(values);
+            rowCount++;
+        }
+
+        void close() throws IOException {
+            out.close();
+            out = null;
+            sheet = null;
+        }
+
+        void closeQuietly() {
+            try {
+                if (out != null) {
+                    close();
+                }
+            } catch (IOException ignored) {
+            }
+        }
+
+        void assemble(
+                String fileName,
+                String sheetName,
+                List<String> headers,
+                ExcelMetrics.Recording recording
+        ) throws IOException {
+            Path target = Path.of(fileName);
+            try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024);
+                 XlsxPackageWriter workbook = new XlsxPackageWriter(fileOut, List.of(sheetName), recording);
+                 Reader rowsXml = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                SheetXmlWriter xml = workbook.startSheet();
+                xml.writeHeader(headers);
+                xml.appendRows(rowsXml, rowCount);
+                xml.finish();
+                workbook.finish();
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(target);
+                throw e;
+            }
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public static final class Builder<T, K> {
+
+        private final Class<T> type;
+        private final Function<? super T, ? extends K> partitionKey;
+        private Function<? super K, String> fileNameForKey;
+        private String sheetName = "Sheet1";
+        private int maxOpenWriters = DEFAULT_MAX_OPEN_WRITERS;
+        private ExcelMetrics metrics = ExcelMetrics.global();
+
+        private Builder(
+                Class<T> type,
+                Function<? super T, ? extends K> partitionKey
+        ) {
+            this.type = type;
+            this.partitionKey = partitionKey;
+        }
+
+        public Builder<T, K> pathTemplate(String pathTemplate) {
+            if (!pathTemplate.contains(KEY_PLACEHOLDER)) {
+                throw new IllegalArgumentException("Path template must contain " + KEY_PLACEHOLDER + ": " + pathTemplate);
+            }
+            this.fileNameForKey = key -> fileNameFromTemplate(pathTemplate, key);
+            return this;
+        }
+
+        public Builder<T, K> fileNameForKey(Function<? super K, String> fileNameForKey) {
+            this.fileNameForKey = fileNameForKey;
+            return this;
+        }
+
+        public Builder<T, K> sheetName(String sheetName) {
+            this.sheetName = sheetName;
+            return this;
+        }
+
+        public Builder<T, K> maxOpenWriters(int maxOpenWriters) {
+            if (maxOpenWriters < 1) {
+                throw new IllegalArgumentException("maxOpenWriters must be positive: " + maxOpenWriters);
+            }
+            this.maxOpenWriters = maxOpenWriters;
+            return this;
+        }
+
+        public Builder<T, K> metrics(ExcelMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public PartitionedExcelWriter<T, K> build() {
+            return new PartitionedExcelWriter<>(this);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.excelninja.sample.excel;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the rows of a JDBC {@link ResultSet} into a single-sheet xlsx file or stream as they are fetched, laid out
+ * like the {@code @ExcelWriteColumn} fields of a model class but without creating an object per row. Each write
+ * column is bound to a result-set column by label: one given through {@link Builder#column}, otherwise the label
+ * that matches the field or header name once case, underscores and spaces are ignored, so {@code stock_quantity}
+ * fills the {@code stockQuantity} field's column. Values are read with the getter of the field's type, so dates and
+ * timestamps keep their date styles.
+ * <p>
+ * Only the current row is held on the heap. Whether the driver streams the result instead of materializing it
+ * depends on the statement; {@link #write(DataSource, String, String)} runs the query forward-only, read-only and
+ * with {@code fetchSize} inside a transaction, which is what PostgreSQL and Oracle need to fetch in chunks. Other
+ * drivers may need their own settings, such as {@code useCursorFetch} for MySQL or lazy query execution for H2.
+ */
+public final class ResultSetExcelWriter<T> {
+
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    private final ExcelMapping<T> mapping;
+    private final String sheetName;
+    private final int fetchSize;
+    private final Map<String, String> labels;
+    private final ExcelMetrics metrics;
+
+    private ResultSetExcelWriter(Builder<T> builder) {
+        this.mapping = ExcelMapping.of(builder.type);
+        this.sheetName = builder.sheetName;
+        this.fetchSize = builder.fetchSize;
+        this.labels = Map.copyOf(builder.labels);
+        this.metrics = builder.metrics;
+        if (mapping.getWriteColumns().isEmpty()) {
+            throw new IllegalArgumentException(builder.type.getName() + " has no @ExcelWriteColumn fields");
+        }
+        for (String header : labels.keySet()) {
+            if (mapping.getWriteColumns().stream().noneMatch(column -> column.getHeaderName().equals(header))) {
+                throw new IllegalArgumentException(builder.type.getName() + " has no write column " + header);
+            }
+        }
+    }
+
+    public static <T> Builder<T> builder(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    /**
+     * Runs {@code sql} on a connection of {@code dataSource} and writes its rows to {@code fileName}.
+     */
+    public long write(
+            DataSource dataSource,
+            String sql,
+            String fileName
+    ) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            long written;
+            try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet rows = statement.executeQuery()) {
+                    written = write(rows, fileName);
+                }
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                } catch (SQLException restore) {
+                    e.addSuppressed(restore);
+                }
+                throw e;
+            }
+            connection.rollback();
+            connection.setAutoCommit(autoCommit);
+            return written;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to query rows for " + fileName, e);
+        }
+    }
+
+    public long write(
+            ResultSet rows,
+            String fileName
+    ) {
+        Path path = Path.of(fileName);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024)) {
+                return write(rows, out);
+            } catch (IOException | SQLException | RuntimeException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write Excel file " + fileName, e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read rows for " + fileName, e);
+        }
+    }
+
+    /**
+     * Streams the rows after the result set's current position into {@code out}. Neither {@code rows} nor
+     * {@code out} is closed; {@code out} is flushed.
+     */
+    public long write(
+            ResultSet rows,
+            OutputStream out
+    ) throws IOException, SQLException {
+        ExcelMetrics.Recording recording = metrics.start(mapping.getType(), ExcelMetrics.Operation.WRITE);
+        try {
+            long written;
+            try (XlsxPackageWriter workbook = new XlsxPackageWriter(out, List.of(sheetName), recording)) {
+                SheetXmlWriter sheet = workbook.startSheet();
+                written = writeRows(sheet, rows, recording, workbook);
+                sheet.finish();
+                workbook.finish();
+            }
+            recording.sheet(sheetName, written);
+            recording.success();
+            return written;
+        } catch (IOException | SQLException | RuntimeException e) {
+            recording.failure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reports the time spent fetching rows and reading their values as the {@code mapping} stage and the time spent
+     * turning them into XML, less any deflation it triggers, as {@code serialize}.
+     */
+    private long writeRows(
+            SheetXmlWriter sheet,
+            ResultSet rows,
+            ExcelMetrics.Recording recording,
+            XlsxPackageWriter workbook
+    ) throws IOException, SQLException {
+        List<ExcelColumn> columns = mapping.getWriteColumns();
+        int[] indexes = resolve(rows.getMetaData(), columns);
+        ColumnReader[] readers = new ColumnReader[columns.size()];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = ColumnReader.of(columns.get(i).getType());
+        }
+        sheet.writeHeader(columns.stream().map(ExcelColumn::getHeaderName).toList());
+
+        Object[] values = new Object[columns.size()];
+        long written = 0;
+        long mappingNanos = 0;
+        long serializeNanos = 0;
+        while (true) {
+            long mappingStarted = System.nanoTime();
+            if (!rows.next()) {
+                mappingNanos += System.nanoTime() - mappingStarted;
+                break;
+            }
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readers[i].read(rows, indexes[i]);
+            }
+            long serializeStarted = System.nanoTime();
+            mappingNanos += serializeStarted - mappingStarted;
+            serializeStarted -= workbook.zipNanos();
+            sheet.writeRow(values);
+            serializeNanos += System.nanoTime() - workbook.zipNanos() - serializeStarted;
+            written++;
+        }
+
+        recording.stage(ExcelMetrics.Stage.MAPPING, mappingNanos);
+        recording.stage(ExcelMetrics.Stage.SERIALIZE, serializeNanos);
+        return written;
+    }
+
+    private int[] resolve(
+            ResultSetMetaData metaData,
+            List<ExcelColumn> columns
+    ) throws SQLException {
+        Map<String, Integer> byLabel = new HashMap<>();
+        Map<String, Integer> byName = new HashMap<>();
+        for (int index = metaData.getColumnCount(); index >= 1; index--) {
+            String label = metaData.getColumnLabel(index);
+            byLabel.put(label.toLowerCase(Locale.ROOT), index);
+            byName.put(normalize(label), index);
+        }
+        int[] indexes = new int[columns.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            ExcelColumn column = columns.get(i);
+            String label = labels.get(column.getHeaderName());
+            Integer index = label != null
+                    ? byLabel.get(label.toLowerCase(Locale.ROOT))
+                    : byName.getOrDefault(normalize(column.getFieldName()), byName.get(normalize(column.getHeaderName())));
+            if (index == null) {
+                throw new IllegalStateException("No result set column for " + column.getHeaderName()
+                                                + (label != null ? " labelled " + label : "") + " among " + byLabel.keySet());
+            }
+            indexes[i] = index;
+        }
+        return indexes;
+    }
+
+    private static String normalize(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_' && c != ' ') {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+
+        Object read(
+                ResultSet rows,
+                int index
+        ) throws SQLException;
+
+        static ColumnReader of(Class<?> type) {
+            if (type == String.class) {
+                return ResultSet::getString;
+            }
+            if (type == BigDecimal.class) {
+                return ResultSet::getBigDecimal;
+            }
+            if (type == Long.class || type == long.class) {
+                return (rows, index) -> {
+                    long value = rows.getLong(index);
+                    return rows.wasNull() ? null : value;
+                };
+            }
+            if (type == Integer.class || type == int.class) {
+                return (rows, index) -> {
+                    int value = rows.getInt(index);
+                    return rows.wasNull() ? null : value;
+                };
+            }
+            if (type == Double.class || type == double.class) {
+                return (rows, index) -> {
+                    double value = rows.getDouble(index);
+                    return rows.wasNull() ? null : value;
+                };
+            }
+            if (type == Boolean.class || type == boolean.class) {
+                return (rows, index) -> {
+                    boolean value = rows.getBoolean(index);
+                    return rows.wasNull() ? null : value;
+                };
+            }
+            if (type == LocalDate.class) {
+                return (rows, index) -> rows.getObject(index, LocalDate.class);
+            }
+            if (type == LocalDateTime.class) {
+                return (rows, index) -> rows.getObject(index, LocalDateTime.class);
+            }
+            return ResultSet::getObject;
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> type;
+        private final Map<String, String> labels = new HashMap<>();
+        private String sheetName = "Sheet1";
+        private int fetchSize = DEFAULT_FETCH_SIZE;
+        private ExcelMetrics metrics = ExcelMetrics.global();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        public Builder<T> sheetName(String sheetName) {
+            this.sheetName = sheetName;
+            return this;
+        }
+
+        /**
+         * Fills the column headed {@code header} from the result-set column labelled {@code label}.
+         */
+        public Builder<T> column(
+                String header,
+                String label
+        ) {
+            labels.put(header, label);
+            return this;
+        }
+
+        public Builder<T> fetchSize(int fetchSize) {
+            if (fetchSize < 1) {
+                throw new IllegalArgumentException("fetchSize must be positive: " + fetchSize);
+            }
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        public Builder<T> metrics(ExcelMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public ResultSetExcelWriter<T> build() {
+            return new ResultSetExcelWriter<>(this);
+        }
+    }
+}
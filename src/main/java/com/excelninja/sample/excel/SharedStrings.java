@@ -0,0 +1,191 @@
+package com.excelninja.sample.excel;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Shared-strings table kept as UTF-8 bytes. Tables up to {@code heapLimit} bytes stay in a heap array; larger ones
+ * spill to a memory-mapped temporary file, so only their offsets live on the heap. Strings are decoded on lookup
+ * and remembered in a small direct-mapped cache, so repetitive columns resolve to the same {@code String}
+ * instance without the whole table being materialized.
+ */
+final class SharedStrings {
+
+    static final int DEFAULT_CACHE_SIZE = 4096;
+    static final int DEFAULT_HEAP_LIMIT = 1 << 20;
+
+    static final SharedStrings EMPTY = new SharedStrings(ByteBuffer.allocate(0), new int[]{0}, 0, DEFAULT_CACHE_SIZE);
+
+    private final ByteBuffer bytes;
+    private final int[] offsets;
+    private final int size;
+    private final int cacheMask;
+    private final int[] cachedIndexes;
+    private final String[] cachedValues;
+    private byte[] scratch = new byte[256];
+
+    private SharedStrings(
+            ByteBuffer bytes,
+            int[] offsets,
+            int size,
+            int cacheSize
+    ) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.size = size;
+        int capacity = Integer.highestOneBit(Math.max(1, cacheSize - 1)) << 1;
+        this.cacheMask = capacity - 1;
+        this.cachedIndexes = new int[capacity];
+        this.cachedValues = new String[capacity];
+        Arrays.fill(cachedIndexes, -1);
+    }
+
+    static SharedStrings parse(InputStream in) throws IOException {
+        return parse(in, DEFAULT_CACHE_SIZE);
+    }
+
+    static SharedStrings parse(
+            InputStream in,
+            int cacheSize
+    ) throws IOException {
+        return parse(in, cacheSize, DEFAULT_HEAP_LIMIT);
+    }
+
+    static SharedStrings parse(
+            InputStream in,
+            int cacheSize,
+            int heapLimit
+    ) throws IOException {
+        byte[] heap = new byte[Math.min(heapLimit, 8 * 1024)];
+        Path file = null;
+        OutputStream out = null;
+        try {
+            int[] offsets = new int[1024];
+            int size = 0;
+            long length = 0;
+            XMLStreamReader xml = XmlSupport.createReader(in);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && "si".equals(xml.getLocalName())) {
+                        byte[] encoded = XmlSupport.readStringItem(xml, "si").getBytes(StandardCharsets.UTF_8);
+                        if (out == null && length + encoded.length > heapLimit) {
+                            file = Files.createTempFile("excel-shared-strings-", ".bin");
+                            out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+                            out.write(heap, 0, (int) length);
+                            heap = null;
+                        }
+                        if (out != null) {
+                            out.write(encoded);
+                        } else {
+                            if (length + encoded.length > heap.length) {
+                                heap = Arrays.copyOf(heap, (int) Math.min(heapLimit, Math.max(length + encoded.length, heap.length * 2L)));
+                            }
+                            System.arraycopy(encoded, 0, heap, (int) length, encoded.length);
+                        }
+                        length += encoded.length;
+                        if (length > Integer.MAX_VALUE) {
+                            throw new IOException("Shared strings table exceeds 2 GB");
+                        }
+                        if (size + 1 >= offsets.length) {
+                            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                        }
+                        offsets[++size] = (int) length;
+                    }
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException("Malformed shared strings table", e);
+            } finally {
+                XmlSupport.closeQuietly(xml);
+            }
+            ByteBuffer bytes;
+            if (out != null) {
+                out.close();
+                out = null;
+                bytes = map(file, length);
+            } else {
+                bytes = ByteBuffer.wrap(heap.length == length ? heap : Arrays.copyOf(heap, (int) length));
+            }
+            return new SharedStrings(bytes, Arrays.copyOf(offsets, size + 1), size, cacheSize);
+        } finally {
+            if (out != null) {
+                closeQuietly(out);
+            }
+            if (file != null) {
+                deleteMappedFile(file);
+            }
+        }
+    }
+
+    String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Shared string index " + index + " out of range 0.." + size);
+        }
+        int slot = index & cacheMask;
+        if (cachedIndexes[slot] == index) {
+            return cachedValues[slot];
+        }
+        String value = decode(index);
+        cachedIndexes[slot] = index;
+        cachedValues[slot] = value;
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isMapped() {
+        return bytes instanceof MappedByteBuffer;
+    }
+
+    private String decode(int index) {
+        int start = offsets[index];
+        int length = offsets[index + 1] - start;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        bytes.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer map(
+            Path file,
+            long length
+    ) throws IOException {
+        if (length == 0) {
+            return ByteBuffer.allocate(0);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void deleteMappedFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Some platforms refuse to delete a file that is still mapped.
+            file.toFile().deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.excelninja.sample.excel;
+
+import java.util.List;
+
+/**
+ * One page of a {@link MappedSheet}. {@code nextCursor} resumes after the last row and is {@code null} on the last page.
+ */
+public record SheetPage<T>(
+        List<T> rows,
+        String nextCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
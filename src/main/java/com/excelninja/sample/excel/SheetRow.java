@@ -0,0 +1,130 @@
+package com.excelninja.sample.excel;
+
+import java.util.Arrays;
+
+/**
+ * Reusable holder for the raw cell values of the row currently under the parser. Cell text copied from the XML
+ * stream is kept in a shared char buffer and only turned into a {@link String} when {@link #getValue} asks for it,
+ * so numeric cells can be converted without an intermediate string.
+ */
+public final class SheetRow {
+
+    private int rowNumber;
+    private int width;
+    private String[] values = new String[16];
+    private CellType[] types = new CellType[16];
+    private boolean[] raw = new boolean[16];
+    private int[] offsets = new int[16];
+    private int[] lengths = new int[16];
+    private char[] chars = new char[256];
+    private int charCount;
+
+    void reset(int rowNumber) {
+        Arrays.fill(values, 0, width, null);
+        Arrays.fill(types, 0, width, null);
+        Arrays.fill(raw, 0, width, false);
+        this.rowNumber = rowNumber;
+        this.width = 0;
+        this.charCount = 0;
+    }
+
+    void set(
+            int column,
+            String value,
+            CellType type
+    ) {
+        ensureColumn(column);
+        values[column] = value;
+        types[column] = type;
+        raw[column] = false;
+        width = Math.max(width, column + 1);
+    }
+
+    void setChars(
+            int column,
+            char[] source,
+            int start,
+            int length,
+            CellType type
+    ) {
+        ensureColumn(column);
+        if (charCount + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(charCount + length, chars.length * 2));
+        }
+        System.arraycopy(source, start, chars, charCount, length);
+        values[column] = null;
+        types[column] = type;
+        raw[column] = true;
+        offsets[column] = charCount;
+        lengths[column] = length;
+        charCount += length;
+        width = Math.max(width, column + 1);
+    }
+
+    private void ensureColumn(int column) {
+        if (column >= values.length) {
+            int capacity = Math.max(column + 1, values.length * 2);
+            values = Arrays.copyOf(values, capacity);
+            types = Arrays.copyOf(types, capacity);
+            raw = Arrays.copyOf(raw, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+    }
+
+    public int getRowNumber() {return rowNumber;}
+
+    public int getWidth() {return width;}
+
+    public String getValue(int column) {
+        if (column >= width) {
+            return null;
+        }
+        if (raw[column] && values[column] == null) {
+            values[column] = new String(chars, offsets[column], lengths[column]);
+        }
+        return values[column];
+    }
+
+    public CellType getType(int column) {
+        return column < width ? types[column] : null;
+    }
+
+    /**
+     * True when the cell text is still only held in the char buffer, see {@link #getChars()}.
+     */
+    boolean isRaw(int column) {
+        return column < width && raw[column];
+    }
+
+    char[] getChars() {return chars;}
+
+    int getOffset(int column) {return offsets[column];}
+
+    int getLength(int column) {return lengths[column];}
+
+    public boolean hasText(int column) {
+        if (column >= width) {
+            return false;
+        }
+        if (raw[column]) {
+            int end = offsets[column] + lengths[column];
+            for (int i = offsets[column]; i < end; i++) {
+                if (!Character.isWhitespace(chars[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return values[column] != null && !values[column].isBlank();
+    }
+
+    public boolean isBlank() {
+        for (int i = 0; i < width; i++) {
+            if (hasText(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
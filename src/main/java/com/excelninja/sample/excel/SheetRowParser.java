@@ -0,0 +1,130 @@
+package com.excelninja.sample.excel;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Pull parser over worksheet XML that yields one {@code <row>} at a time.
+ */
+final class SheetRowParser implements AutoCloseable {
+
+    private final XMLStreamReader xml;
+    private final InputStream in;
+    private final SharedStrings sharedStrings;
+    private boolean[] decodedColumns;
+    private int lastRowNumber;
+    private char[] text = new char[64];
+    private int textLength;
+
+    SheetRowParser(
+            InputStream in,
+            SharedStrings sharedStrings
+    ) throws IOException {
+        this.in = in;
+        this.xml = XmlSupport.createReader(in);
+        this.sharedStrings = sharedStrings;
+    }
+
+    /**
+     * Restricts decoding to the flagged columns; other cells are skipped without extracting their text.
+     */
+    void decodeOnly(boolean[] decodedColumns) {
+        this.decodedColumns = decodedColumns;
+    }
+
+    boolean next(SheetRow row) throws XMLStreamException {
+        while (xml.hasNext()) {
+            if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                String r = xml.getAttributeValue(null, "r");
+                lastRowNumber = r != null ? Integer.parseInt(r) : lastRowNumber + 1;
+                row.reset(lastRowNumber);
+                readCells(row);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void readCells(SheetRow row) throws XMLStreamException {
+        int column = -1;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String reference = xml.getAttributeValue(null, "r");
+                column = reference != null ? CellReferences.columnIndex(reference) : column + 1;
+                if (isDecoded(column)) {
+                    readCell(row, column, xml.getAttributeValue(null, "t"));
+                } else {
+                    XmlSupport.skipElement(xml);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return;
+            }
+        }
+    }
+
+    private boolean isDecoded(int column) {
+        return decodedColumns == null || column < decodedColumns.length && decodedColumns[column];
+    }
+
+    private void readCell(
+            SheetRow row,
+            int column,
+            String type
+    ) throws XMLStreamException {
+        CellType cellType = CellType.fromAttribute(type);
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    readText();
+                    if ("s".equals(type)) {
+                        row.set(column, sharedStrings.get((int) CellNumbers.parseLong(text, 0, textLength)), cellType);
+                    } else {
+                        row.setChars(column, text, 0, textLength, cellType);
+                    }
+                } else if ("is".equals(name)) {
+                    row.set(column, XmlSupport.readStringItem(xml, "is"), cellType);
+                } else {
+                    XmlSupport.skipElement(xml);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Copies the text of the current element into {@link #text} instead of building a string for it.
+     */
+    private void readText() throws XMLStreamException {
+        textLength = 0;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE) {
+                int length = xml.getTextLength();
+                if (textLength + length > text.length) {
+                    text = Arrays.copyOf(text, Math.max(textLength + length, text.length * 2));
+                }
+                System.arraycopy(xml.getTextCharacters(), xml.getTextStart(), text, textLength, length);
+                textLength += length;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                XmlSupport.skipElement(xml);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        XmlSupport.closeQuietly(xml);
+        in.close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.excelninja.sample.excel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The two parts of an xlsx package a {@link SheetRowParser} needs: the first worksheet and its shared strings.
+ */
+interface SheetSource extends Closeable {
+
+    SharedStrings readSharedStrings() throws IOException;
+
+    InputStream openSheet() throws IOException;
+
+    /**
+     * Size of the package as read from its source, for throughput metrics.
+     */
+    long compressedSize();
+
+    @FunctionalInterface
+    interface Opener {
+
+        SheetSource open() throws IOException;
+    }
+}
@@ -0,0 +1,154 @@
+package com.excelninja.sample.excel;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Serializes rows straight into worksheet XML. Strings are written inline, so no shared-strings table
+ * has to be kept in memory while rows are streamed.
+ */
+final class SheetXmlWriter {
+
+    static final int DATE_STYLE = 1;
+    static final int DATE_TIME_STYLE = 2;
+
+    private static final String HEADER = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""";
+    private static final String FOOTER = "</sheetData></worksheet>";
+
+    private final Writer out;
+    private String[] columnNames = new String[0];
+    private int rowNumber;
+
+    SheetXmlWriter(Writer out) {
+        this(out, 0);
+    }
+
+    SheetXmlWriter(
+            Writer out,
+            int lastRowNumber
+    ) {
+        this.out = out;
+        this.rowNumber = lastRowNumber;
+    }
+
+    void start() throws IOException {
+        out.write(HEADER);
+    }
+
+    void writeHeader(List<String> headers) throws IOException {
+        writeRow(headers.toArray());
+    }
+
+    void writeRow(Object[] values) throws IOException {
+        writeRow(values, values.length);
+    }
+
+    void writeRow(
+            Object[] values,
+            int width
+    ) throws IOException {
+        rowNumber++;
+        out.write("<row r=\"");
+        out.write(Integer.toString(rowNumber));
+        out.write("\">");
+        for (int column = 0; column < width; column++) {
+            Object value = values[column];
+            if (value != null) {
+                writeCell(column, value);
+            }
+        }
+        out.write("</row>");
+    }
+
+    void appendRows(
+            Reader rowsXml,
+            int rowCount
+    ) throws IOException {
+        rowsXml.transferTo(out);
+        rowNumber += rowCount;
+    }
+
+    void finish() throws IOException {
+        out.write(FOOTER);
+        out.flush();
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    int getRowCount() {return rowNumber;}
+
+    private void writeCell(
+            int column,
+            Object value
+    ) throws IOException {
+        String reference = columnName(column) + rowNumber;
+        if (value instanceof BigDecimal decimal) {
+            numberCell(reference, decimal.toPlainString(), 0);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                   || value instanceof Byte || value instanceof BigInteger) {
+            numberCell(reference, value.toString(), 0);
+        } else if (value instanceof Number number && Double.isFinite(number.doubleValue())) {
+            numberCell(reference, Double.toString(number.doubleValue()), 0);
+        } else if (value instanceof Boolean bool) {
+            out.write("<c r=\"" + reference + "\" t=\"b\"><v>" + (bool ? '1' : '0') + "</v></c>");
+        } else if (value instanceof LocalDate date) {
+            numberCell(reference, serialText(ExcelDates.toSerial(date)), DATE_STYLE);
+        } else if (value instanceof LocalDateTime dateTime) {
+            numberCell(reference, serialText(ExcelDates.toSerial(dateTime)), DATE_TIME_STYLE);
+        } else {
+            inlineStringCell(reference, value.toString());
+        }
+    }
+
+    private void numberCell(
+            String reference,
+            String text,
+            int style
+    ) throws IOException {
+        out.write("<c r=\"");
+        out.write(reference);
+        if (style != 0) {
+            out.write("\" s=\"");
+            out.write(Integer.toString(style));
+        }
+        out.write("\"><v>");
+        out.write(text);
+        out.write("</v></c>");
+    }
+
+    private void inlineStringCell(
+            String reference,
+            String text
+    ) throws IOException {
+        out.write("<c r=\"");
+        out.write(reference);
+        out.write("\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        XmlEscaper.escape(text, out);
+        out.write("</t></is></c>");
+    }
+
+    private String columnName(int column) {
+        if (column >= columnNames.length) {
+            String[] names = new String[Math.max(column + 1, columnNames.length * 2)];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = CellReferences.columnName(i);
+            }
+            columnNames = names;
+        }
+        return columnNames[column];
+    }
+
+    private static String serialText(double serial) {
+        return serial == Math.rint(serial) ? Long.toString((long) serial) : Double.toString(serial);
+    }
+}
@@ -0,0 +1,147 @@
+package com.excelninja.sample.excel;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads an xlsx package from a forward-only stream, such as an upload body, without buffering the archive.
+ * Entries are visited in archive order: when the first worksheet arrives after the shared strings, or the
+ * workbook declares none, rows are parsed straight from the zip stream. Otherwise the worksheet XML is spooled
+ * to a temporary file until the shared strings have been read.
+ */
+final class StreamedXlsxArchive implements SheetSource {
+
+    private final MeteredInputStream source;
+    private final ZipInputStream zip;
+    private final SharedStrings sharedStrings;
+    private final InputStream sheet;
+    private final Path spooledSheet;
+
+    private StreamedXlsxArchive(
+            MeteredInputStream source,
+            ZipInputStream zip
+    ) throws IOException {
+        this.source = source;
+        this.zip = zip;
+        Map<String, String> targets = new HashMap<>();
+        String sheetId = null;
+        String sharedStringsPart = XlsxArchive.DEFAULT_SHARED_STRINGS;
+        boolean relationshipsRead = false;
+        SharedStrings strings = null;
+        Path spooled = null;
+        InputStream direct = null;
+        InputStream entryStream = new EntryInputStream(zip);
+
+        try {
+            ZipEntry entry;
+            while (direct == null && (entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (XlsxArchive.WORKBOOK.equals(name)) {
+                    sheetId = XlsxArchive.readFirstSheetId(entryStream);
+                } else if (XlsxArchive.WORKBOOK_RELS.equals(name)) {
+                    sharedStringsPart = XlsxArchive.readRelationships(entryStream, targets);
+                    relationshipsRead = true;
+                } else if (strings == null && name.equals(sharedStringsPart)) {
+                    strings = SharedStrings.parse(entryStream);
+                    if (spooled != null) {
+                        break;
+                    }
+                } else if (spooled == null && name.equals(firstSheetPart(sheetId, targets))) {
+                    if (strings != null || relationshipsRead && sharedStringsPart == null) {
+                        direct = entryStream;
+                    } else {
+                        spooled = Files.createTempFile("excel-upload-sheet-", ".xml");
+                        Files.copy(zip, spooled, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+            if (direct == null && spooled == null) {
+                throw new IOException("Workbook has no worksheet part");
+            }
+            this.sharedStrings = strings != null ? strings : SharedStrings.EMPTY;
+            this.spooledSheet = spooled;
+            this.sheet = direct != null ? direct : new BufferedInputStream(Files.newInputStream(spooled), 64 * 1024);
+        } catch (IOException | RuntimeException e) {
+            deleteSpool(spooled);
+            throw e;
+        }
+    }
+
+    static StreamedXlsxArchive open(InputStream in) throws IOException {
+        MeteredInputStream source = new MeteredInputStream(in);
+        ZipInputStream zip = new ZipInputStream(source);
+        try {
+            return new StreamedXlsxArchive(source, zip);
+        } catch (IOException | RuntimeException e) {
+            zip.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public SharedStrings readSharedStrings() {
+        return sharedStrings;
+    }
+
+    @Override
+    public InputStream openSheet() {
+        return sheet;
+    }
+
+    @Override
+    public long compressedSize() {
+        return source.getCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+            zip.close();
+        } finally {
+            deleteSpool(spooledSheet);
+        }
+    }
+
+    private static String firstSheetPart(
+            String sheetId,
+            Map<String, String> targets
+    ) {
+        String target = sheetId != null ? targets.get(sheetId) : null;
+        return target != null ? target : XlsxArchive.DEFAULT_SHEET;
+    }
+
+    private static void deleteSpool(Path spooled) {
+        if (spooled == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * The current zip entry as a stream of its own. The XML parsers close their input when done with a part,
+     * which must not close the archive before the next entry is reached.
+     */
+    private static final class EntryInputStream extends FilterInputStream {
+
+        EntryInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.excelninja.sample.excel;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the first worksheet of an xlsx file or stream row by row, mapping each row through {@link ExcelMapping}.
+ * Only the current row is held in memory; the source is closed when the returned stream is closed or exhausted.
+ * A read is recorded as a success only once the last row has been read; a stream closed before that counts as a
+ * failure caused by {@link CancellationException}.
+ */
+public final class StreamingExcelReader<T> {
+
+    private final ExcelMapping<T> mapping;
+    private final Set<String> projection;
+    private final Map<String, CellPredicate> filters;
+    private final Set<String> internedColumns;
+    private final ExcelMetrics metrics;
+
+    private StreamingExcelReader(Builder<T> builder) {
+        this.mapping = ExcelMapping.of(builder.type);
+        this.metrics = builder.metrics;
+        this.projection = builder.columns == null ? null : Set.copyOf(builder.columns);
+        this.filters = new LinkedHashMap<>(builder.filters);
+        this.internedColumns = Set.copyOf(builder.internedColumns);
+        if (projection != null) {
+            requireReadColumns(builder.type, projection);
+        }
+        requireReadColumns(builder.type, internedColumns);
+    }
+
+    private void requireReadColumns(
+            Class<T> type,
+            Set<String> headers
+    ) {
+        for (String header : headers) {
+            if (mapping.findReadColumn(header) == null) {
+                throw new IllegalArgumentException(type.getName() + " has no @ExcelReadColumn for header " + header);
+            }
+        }
+    }
+
+    public static <T> Builder<T> builder(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    public Stream<T> stream(String fileName) {
+        return stream(fileName, 0);
+    }
+
+    /**
+     * Streams the rows after the first {@code skip} non-blank rows matching the filters. Skipped rows are parsed
+     * but never mapped to objects, so re-reading a sheet that grew only pays for the appended rows' mapping.
+     */
+    public Stream<T> stream(
+            String fileName,
+            long skip
+    ) {
+        if (skip < 0) {
+            throw new IllegalArgumentException("skip must not be negative: " + skip);
+        }
+        return stream(new RowIterator(fileName, () -> XlsxArchive.open(fileName), skip));
+    }
+
+    /**
+     * Reads the workbook from a forward-only stream such as an upload body; see {@link StreamedXlsxArchive} for
+     * when the worksheet has to be spooled. {@code in} is closed together with the returned stream.
+     */
+    public Stream<T> stream(InputStream in) {
+        return stream(new RowIterator("uploaded workbook", () -> StreamedXlsxArchive.open(in), 0));
+    }
+
+    private Stream<T> stream(RowIterator iterator) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).onClose(iterator::close);
+    }
+
+    public void forEach(
+            String fileName,
+            Consumer<? super T> action
+    ) {
+        RowIterator iterator = new RowIterator(fileName, () -> XlsxArchive.open(fileName), 0);
+        try {
+            iterator.forEachRemaining(action);
+        } catch (RuntimeException e) {
+            iterator.fail(e);
+            throw e;
+        } finally {
+            iterator.close();
+        }
+    }
+
+    /**
+     * Reads the workbook from {@code in} and hands rows to {@code consumer} in lists of at most {@code batchSize}.
+     * Each batch is a fresh list the consumer may keep. Returns the rows and compressed bytes read per second.
+     * An exception thrown by the consumer stops the read and is recorded as its failure.
+     */
+    public ImportResult readBatches(
+            InputStream in,
+            int batchSize,
+            Consumer<? super List<T>> consumer
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        long started = System.nanoTime();
+        MeteredInputStream counting = new MeteredInputStream(in);
+        long rows = 0;
+        long batches = 0;
+        List<T> batch = new ArrayList<>(batchSize);
+        RowIterator iterator = new RowIterator("uploaded workbook", () -> StreamedXlsxArchive.open(counting), 0);
+        iterator.deferOutcome();
+        try {
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    consumer.accept(batch);
+                    rows += batch.size();
+                    batches++;
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+                rows += batch.size();
+                batches++;
+            }
+        } catch (RuntimeException e) {
+            iterator.fail(e);
+            throw e;
+        } finally {
+            iterator.close();
+        }
+        iterator.recordOutcome();
+        return ImportResult.of(rows, batches, counting.getCount(), Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> type;
+        private List<String> columns;
+        private final Map<String, CellPredicate> filters = new LinkedHashMap<>();
+        private final List<String> internedColumns = new ArrayList<>();
+        private ExcelMetrics metrics = ExcelMetrics.global();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Maps only the given headers. Cells of every other column are skipped by the parser, so they are
+         * never turned into strings, converted or assigned.
+         */
+        public Builder<T> columns(String... headers) {
+            this.columns = List.of(headers);
+            return this;
+        }
+
+        /**
+         * Keeps only rows whose cell under {@code header} satisfies the predicate. The test runs on the raw
+         * cell text before any conversion, so rejected rows are never materialized. Conditions on several
+         * headers, or repeated for the same header, must all hold.
+         */
+        public Builder<T> where(
+                String header,
+                CellPredicate predicate
+        ) {
+            filters.merge(header, predicate, CellPredicate::and);
+            return this;
+        }
+
+        /**
+         * Deduplicates the string values of the given columns per read, so low-cardinality columns such as a
+         * department share one instance per distinct value instead of one per row.
+         */
+        public Builder<T> intern(String... headers) {
+            internedColumns.addAll(List.of(headers));
+            return this;
+        }
+
+        public Builder<T> metrics(ExcelMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public StreamingExcelReader<T> build() {
+            return new StreamingExcelReader<>(this);
+        }
+    }
+
+    private final class RowIterator implements Iterator<T>, AutoCloseable {
+
+        private final SheetSource archive;
+        private final MeteredInputStream sheet;
+        private final SheetRowParser parser;
+        private final ExcelMetrics.Recording recording = metrics.start(mapping.getType(), ExcelMetrics.Operation.READ);
+        private long rowCount;
+        private long parseNanos;
+        private long mappingNanos;
+        private final SheetRow row = new SheetRow();
+        private ExcelColumn[] columns = new ExcelColumn[0];
+        private boolean[] interned = new boolean[0];
+        private final StringInterner interner = new StringInterner();
+        private int[] filterColumns = new int[0];
+        private CellPredicate[] filterPredicates = new CellPredicate[0];
+        private String[] filterDefaults = new String[0];
+        private long skip;
+        private T next;
+        private boolean exhausted;
+        private boolean outcomeDeferred;
+        private boolean closed;
+
+        RowIterator(
+                String source,
+                SheetSource.Opener opener,
+                long skip
+        ) {
+            this.skip = skip;
+            SheetSource archive = null;
+            try {
+                archive = opener.open();
+                this.archive = archive;
+                this.sheet = new MeteredInputStream(archive.openSheet());
+                this.parser = new SheetRowParser(sheet, archive.readSharedStrings());
+                long headerStarted = System.nanoTime();
+                readHeader();
+                parseNanos = System.nanoTime() - headerStarted;
+            } catch (IOException e) {
+                recording.failure(e);
+                closeQuietly(archive);
+                throw new UncheckedIOException("Failed to open Excel file " + source, e);
+            } catch (XMLStreamException | RuntimeException e) {
+                recording.failure(e);
+                closeQuietly(archive);
+                throw new IllegalStateException("Failed to read header row of " + source, e);
+            }
+        }
+
+        private void readHeader() throws XMLStreamException {
+            if (!parser.next(row)) {
+                return;
+            }
+            columns = new ExcelColumn[row.getWidth()];
+            interned = new boolean[columns.length];
+            boolean[] decoded = new boolean[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                String header = row.getValue(i);
+                if (header != null && (projection == null || projection.contains(header.trim()))) {
+                    columns[i] = mapping.findReadColumn(header.trim());
+                    decoded[i] = columns[i] != null;
+                    interned[i] = decoded[i] && internedColumns.contains(header.trim());
+                }
+            }
+            resolveFilters(decoded);
+            parser.decodeOnly(decoded);
+        }
+
+        private void resolveFilters(boolean[] decoded) {
+            int count = filters.size();
+            filterColumns = new int[count];
+            filterPredicates = new CellPredicate[count];
+            filterDefaults = new String[count];
+            int resolved = 0;
+            for (Map.Entry<String, CellPredicate> filter : filters.entrySet()) {
+                int index = headerIndex(filter.getKey());
+                if (index < 0) {
+                    throw new IllegalStateException("Header " + filter.getKey() + " not found in sheet");
+                }
+                ExcelColumn column = mapping.findReadColumn(filter.getKey());
+                filterColumns[resolved] = index;
+                filterPredicates[resolved] = filter.getValue();
+                filterDefaults[resolved] = column != null && column.hasDefaultValue() ? column.getDefaultValue() : null;
+                decoded[index] = true;
+                resolved++;
+            }
+        }
+
+        private int headerIndex(String headerName) {
+            for (int i = 0; i < row.getWidth(); i++) {
+                String header = row.getValue(i);
+                if (header != null && header.trim().equals(headerName)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(SheetRow row) {
+            for (int i = 0; i < filterColumns.length; i++) {
+                int column = filterColumns[i];
+                String value = row.getValue(column);
+                CellType type = row.getType(column);
+                if ((value == null || value.isBlank()) && filterDefaults[i] != null) {
+                    value = filterDefaults[i];
+                    type = CellType.STRING;
+                }
+                if (!filterPredicates[i].test(value, type)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            try {
+                long parseStarted = System.nanoTime();
+                while (parser.next(row)) {
+                    long parsed = System.nanoTime();
+                    parseNanos += parsed - parseStarted;
+                    if (!row.isBlank() && matches(row)) {
+                        if (skip > 0) {
+                            skip--;
+                            parseStarted = parsed;
+                            continue;
+                        }
+                        next = toObject(row);
+                        mappingNanos += System.nanoTime() - parsed;
+                        rowCount++;
+                        return true;
+                    }
+                    parseStarted = parsed;
+                }
+                parseNanos += System.nanoTime() - parseStarted;
+                exhausted = true;
+            } catch (XMLStreamException e) {
+                recording.failure(e);
+                close();
+                throw new IllegalStateException("Failed to parse worksheet", e);
+            } catch (RuntimeException e) {
+                recording.failure(e);
+                close();
+                throw e;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T current = next;
+            next = null;
+            return current;
+        }
+
+        private T toObject(SheetRow row) {
+            T target = mapping.newInstance();
+            for (int i = 0; i < columns.length; i++) {
+                ExcelColumn column = columns[i];
+                if (column == null) {
+                    continue;
+                }
+                if (row.hasText(i)) {
+                    Object converted = CellConverter.convert(row, i, column);
+                    if (interned[i] && converted instanceof String text) {
+                        converted = interner.intern(text);
+                    }
+                    column.set(target, converted);
+                } else if (column.hasDefaultValue()) {
+                    column.set(target, CellConverter.convert(column.getDefaultValue(), CellType.STRING, column));
+                }
+            }
+            return target;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+            }
+            closeQuietly(archive);
+            recording.stage(ExcelMetrics.Stage.ZIP, sheet.getNanos());
+            recording.stage(ExcelMetrics.Stage.PARSE, parseNanos - sheet.getNanos());
+            recording.stage(ExcelMetrics.Stage.MAPPING, mappingNanos);
+            recording.rows(rowCount);
+            recording.bytes(archive.compressedSize());
+            if (!outcomeDeferred) {
+                recordOutcome();
+            }
+        }
+
+        /**
+         * Leaves the outcome to {@link #recordOutcome()}, for reads whose rows are still being consumed after the
+         * last one has been parsed.
+         */
+        void deferOutcome() {
+            outcomeDeferred = true;
+        }
+
+        /**
+         * Records a failure raised while consuming the rows and closes the source.
+         */
+        void fail(RuntimeException error) {
+            recording.failure(error);
+            close();
+        }
+
+        /**
+         * Records a success if every row was read and a cancellation otherwise. A failure recorded earlier wins.
+         */
+        void recordOutcome() {
+            if (exhausted) {
+                recording.success();
+            } else {
+                recording.failure(new CancellationException("Closed after " + rowCount + " rows, before the end of the sheet"));
+            }
+        }
+
+        private static void closeQuietly(SheetSource archive) {
+            if (archive == null) {
+                return;
+            }
+            try {
+                archive.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.excelninja.sample.excel;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes rows from an {@link Iterator} or {@link Stream} into a single-sheet xlsx file or stream, keeping at most
+ * {@code windowSize} rows in memory before they are serialized and flushed to the zip stream.
+ */
+public final class StreamingExcelWriter<T> {
+
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+
+    private final ExcelMapping<T> mapping;
+    private final String sheetName;
+    private final int windowSize;
+    private final ExcelMetrics metrics;
+
+    private StreamingExcelWriter(Builder<T> builder) {
+        this.mapping = ExcelMapping.of(builder.type);
+        this.sheetName = builder.sheetName;
+        this.windowSize = builder.windowSize;
+        this.metrics = builder.metrics;
+        if (mapping.getWriteColumns().isEmpty()) {
+            throw new IllegalArgumentException(builder.type.getName() + " has no @ExcelWriteColumn fields");
+        }
+    }
+
+    public static <T> Builder<T> builder(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    public long write(
+            Stream<? extends T> rows,
+            String fileName
+    ) {
+        return write(rows.iterator(), fileName);
+    }
+
+    public long write(
+            Iterator<? extends T> rows,
+            String fileName
+    ) {
+        Path path = Path.of(fileName);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024)) {
+                return write(rows, out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write Excel file " + fileName, e);
+        }
+    }
+
+    public long write(
+            Stream<? extends T> rows,
+            OutputStream out
+    ) throws IOException {
+        return write(rows.iterator(), out);
+    }
+
+    /**
+     * Streams the workbook into {@code out} as rows are serialized. The stream is flushed but left open.
+     */
+    public long write(
+            Iterator<? extends T> rows,
+            OutputStream out
+    ) throws IOException {
+        ExcelMetrics.Recording recording = metrics.start(mapping.getType(), ExcelMetrics.Operation.WRITE);
+        try {
+            long written;
+            try (XlsxPackageWriter workbook = new XlsxPackageWriter(out, List.of(sheetName), recording)) {
+                SheetXmlWriter sheet = workbook.startSheet();
+                written = writeRows(sheet, rows, recording, workbook::zipNanos);
+                sheet.finish();
+                workbook.finish();
+            }
+            recording.sheet(sheetName, written);
+            recording.success();
+            return written;
+        } catch (IOException | RuntimeException e) {
+            recording.failure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reports the time spent reading field values as the {@code mapping} stage and the time spent turning them
+     * into XML as {@code serialize}. {@code zipClock} returns the package's cumulative zip time, so deflation
+     * triggered by a flush is left to the {@code zip} stage.
+     */
+    long writeRows(
+            SheetXmlWriter sheet,
+            Iterator<? extends T> rows,
+            ExcelMetrics.Recording recording,
+            LongSupplier zipClock
+    ) throws IOException {
+        List<ExcelColumn> columns = mapping.getWriteColumns();
+        sheet.writeHeader(columns.stream().map(ExcelColumn::getHeaderName).toList());
+
+        Object[][] window = new Object[windowSize][columns.size()];
+        int buffered = 0;
+        long written = 0;
+        long mappingNanos = 0;
+        long serializeNanos = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            long mappingStarted = System.nanoTime();
+            Object[] values = window[buffered++];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = columns.get(i).get(row);
+            }
+            mappingNanos += System.nanoTime() - mappingStarted;
+            if (buffered == windowSize) {
+                long serializeStarted = System.nanoTime() - zipClock.getAsLong();
+                written += flushWindow(sheet, window, buffered);
+                serializeNanos += System.nanoTime() - zipClock.getAsLong() - serializeStarted;
+                buffered = 0;
+            }
+        }
+        long serializeStarted = System.nanoTime() - zipClock.getAsLong();
+        written += flushWindow(sheet, window, buffered);
+        serializeNanos += System.nanoTime() - zipClock.getAsLong() - serializeStarted;
+
+        recording.stage(ExcelMetrics.Stage.MAPPING, mappingNanos);
+        recording.stage(ExcelMetrics.Stage.SERIALIZE, serializeNanos);
+        return written;
+    }
+
+    private static int flushWindow(
+            SheetXmlWriter sheet,
+            Object[][] window,
+            int buffered
+    ) throws IOException {
+        for (int i = 0; i < buffered; i++) {
+            sheet.writeRow(window[i]);
+            Arrays.fill(window[i], null);
+        }
+        sheet.flush();
+        return buffered;
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> type;
+        private String sheetName = "Sheet1";
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private ExcelMetrics metrics = ExcelMetrics.global();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        public Builder<T> sheetName(String sheetName) {
+            this.sheetName = sheetName;
+            return this;
+        }
+
+        public Builder<T> windowSize(int windowSize) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        public Builder<T> metrics(ExcelMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public StreamingExcelWriter<T> build() {
+            return new StreamingExcelWriter<>(this);
+        }
+    }
+}
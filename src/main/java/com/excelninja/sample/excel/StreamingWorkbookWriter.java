@@ -0,0 +1,227 @@
+package com.excelninja.sample.excel;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+/**
+ * Multi-sheet counterpart of {@link StreamingExcelWriter}. With an executor configured, every sheet's XML
+ * part is rendered concurrently into a temporary file and the parts are then zipped in sheet order;
+ * without one, sheets are streamed into the zip one after another.
+ */
+public final class StreamingWorkbookWriter {
+
+    private final List<Sheet<?>> sheets;
+    private final Executor executor;
+    private final ExcelMetrics metrics;
+
+    private StreamingWorkbookWriter(Builder builder) {
+        this.executor = builder.executor;
+        this.metrics = builder.metrics;
+        this.sheets = builder.sheets.stream()
+                .<Sheet<?>>map(sheet -> sheet.withWindowSize(builder.windowSize))
+                .toList();
+        if (sheets.isEmpty()) {
+            throw new IllegalArgumentException("A workbook needs at least one sheet");
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public void write(String fileName) {
+        Path path = Path.of(fileName);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024)) {
+                write(out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write Excel file " + fileName, e);
+        }
+    }
+
+    public void write(OutputStream out) throws IOException {
+        ExcelMetrics.Recording recording = metrics.start(modelName(), ExcelMetrics.Operation.WRITE);
+        try {
+            write(out, recording);
+            recording.success();
+        } catch (IOException | RuntimeException e) {
+            recording.failure(e);
+            throw e;
+        }
+    }
+
+    private void write(
+            OutputStream out,
+            ExcelMetrics.Recording recording
+    ) throws IOException {
+        List<String> sheetNames = sheets.stream().map(Sheet::name).toList();
+        if (executor == null) {
+            try (XlsxPackageWriter workbook = new XlsxPackageWriter(out, sheetNames, recording)) {
+                for (Sheet<?> sheet : sheets) {
+                    SheetXmlWriter xml = workbook.startSheet();
+                    sheet.render(xml, recording, workbook::zipNanos);
+                    xml.finish();
+                }
+                workbook.finish();
+            }
+            return;
+        }
+
+        List<CompletableFuture<Path>> parts = new ArrayList<>(sheets.size());
+        for (Sheet<?> sheet : sheets) {
+            parts.add(CompletableFuture.supplyAsync(() -> renderPart(sheet, recording), executor));
+        }
+        try (XlsxPackageWriter workbook = new XlsxPackageWriter(out, sheetNames, recording)) {
+            for (CompletableFuture<Path> part : parts) {
+                Path file = await(part);
+                try (InputStream in = Files.newInputStream(file)) {
+                    workbook.copySheet(in);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+            workbook.finish();
+        } finally {
+            parts.forEach(part -> part.thenAccept(StreamingWorkbookWriter::deleteQuietly));
+        }
+    }
+
+    /**
+     * Sheets of a single model class are reported under that class; mixed workbooks under {@code Workbook}.
+     */
+    private String modelName() {
+        Class<?> type = sheets.get(0).type();
+        return sheets.stream().allMatch(sheet -> sheet.type() == type) ? type.getSimpleName() : "Workbook";
+    }
+
+    private static Path renderPart(
+            Sheet<?> sheet,
+            ExcelMetrics.Recording recording
+    ) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("excel-sheet-", ".xml");
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                SheetXmlWriter xml = new SheetXmlWriter(out);
+                xml.start();
+                sheet.render(xml, recording, () -> 0);
+                xml.finish();
+            }
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Failed to render sheet " + sheet.name(), e);
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> part) throws IOException {
+        try {
+            return part.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private record Sheet<T>(
+            String name,
+            Class<T> type,
+            Iterable<? extends T> rows,
+            StreamingExcelWriter<T> writer
+    ) {
+
+        Sheet<T> withWindowSize(int windowSize) {
+            StreamingExcelWriter<T> writer = StreamingExcelWriter.builder(type)
+                    .sheetName(name)
+                    .windowSize(windowSize)
+                    .build();
+            return new Sheet<>(name, type, rows, writer);
+        }
+
+        void render(
+                SheetXmlWriter xml,
+                ExcelMetrics.Recording recording,
+                LongSupplier zipClock
+        ) throws IOException {
+            long started = System.nanoTime();
+            long written = writer.writeRows(xml, rows.iterator(), recording, zipClock);
+            recording.sheet(name, written, System.nanoTime() - started);
+        }
+    }
+
+    public static final class Builder {
+
+        private final List<Sheet<?>> sheets = new ArrayList<>();
+        private int windowSize = StreamingExcelWriter.DEFAULT_WINDOW_SIZE;
+        private Executor executor;
+        private ExcelMetrics metrics = ExcelMetrics.global();
+
+        private Builder() {}
+
+        public <T> Builder sheet(
+                String name,
+                Class<T> type,
+                Iterable<? extends T> rows
+        ) {
+            sheets.add(new Sheet<>(name, type, rows, null));
+            return this;
+        }
+
+        public Builder windowSize(int windowSize) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder metrics(ExcelMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public StreamingWorkbookWriter build() {
+            return new StreamingWorkbookWriter(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.excelninja.sample.excel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read-scoped string pool. It stops growing at {@code maxSize} distinct values so that interning a column that
+ * turns out to be mostly unique cannot retain more than a bounded number of entries.
+ */
+final class StringInterner {
+
+    static final int DEFAULT_MAX_SIZE = 65_536;
+
+    private final Map<String, String> pool = new HashMap<>();
+    private final int maxSize;
+
+    StringInterner() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    StringInterner(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    String intern(String value) {
+        String pooled = pool.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (pool.size() < maxSize) {
+            pool.put(value, value);
+        }
+        return value;
+    }
+
+    int size() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,201 @@
+package com.excelninja.sample.excel;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Rows of recently read workbooks, so that reading an unchanged file again skips parsing it. Entries are keyed by
+ * normalized path and target class and remember the file's size and last-modified time at the read; a file that
+ * no longer matches them is a miss and its entry is replaced.
+ * <p>
+ * The cache holds at most {@code maxRows} rows in total and evicts the least recently used workbooks first.
+ * Cached rows are shared by every caller that hits the entry and must be treated as read-only. Concurrent misses
+ * on the same file may each read it. Meters, tagged with the simple name of the target class:
+ * <ul>
+ *   <li>{@code excel.cache.requests} (counter): tagged {@code result} {@code hit} or {@code miss}</li>
+ *   <li>{@code excel.cache.evictions} (counter): workbooks evicted to stay within {@code maxRows}</li>
+ *   <li>{@code excel.cache.rows}, {@code excel.cache.entries} (gauges, untagged): current rows and workbooks held</li>
+ * </ul>
+ */
+public final class WorkbookCache {
+
+    public static final long DEFAULT_MAX_ROWS = 1_000_000;
+
+    private static final WorkbookCache GLOBAL = new WorkbookCache(DEFAULT_MAX_ROWS, Metrics.globalRegistry);
+
+    private final long maxRows;
+    private final MeterRegistry registry;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long rows;
+
+    public WorkbookCache(
+            long maxRows,
+            MeterRegistry registry
+    ) {
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("maxRows must be positive: " + maxRows);
+        }
+        this.maxRows = maxRows;
+        this.registry = registry;
+        Gauge.builder("excel.cache.rows", this, WorkbookCache::getRows).register(registry);
+        Gauge.builder("excel.cache.entries", this, WorkbookCache::getEntries).register(registry);
+    }
+
+    public static WorkbookCache global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the cached rows of {@code fileName} as {@code type} when the file is unchanged since they were read,
+     * otherwise runs {@code read} and caches its result. Files that cannot be stat'ed are read without caching,
+     * so {@code read} reports the error.
+     */
+    public <T> List<T> read(
+            String fileName,
+            Class<T> type,
+            Callable<List<T>> read
+    ) throws Exception {
+        Path path = Path.of(fileName).toAbsolutePath().normalize();
+        Key key = new Key(path, type);
+        Stamp stamp = Stamp.of(path);
+        if (stamp != null) {
+            List<T> cached = get(key, stamp);
+            if (cached != null) {
+                count(type, "hit");
+                return cached;
+            }
+        }
+        count(type, "miss");
+        List<T> loaded = Collections.unmodifiableList(new ArrayList<>(read.call()));
+        if (stamp != null) {
+            put(key, new Entry(stamp, loaded, new ConcurrentHashMap<>()));
+        }
+        return loaded;
+    }
+
+    /**
+     * A value derived from the rows {@link #read} returns, such as indexes over them, built by {@code factory}
+     * once per cached workbook and dropped with it when the file changes or the workbook is evicted. The
+     * {@code factory} instance identifies the view, so keep it in a field. Views do not count towards the row
+     * budget. Rows that were not cached get a freshly built view on every call.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, V> V view(
+            String fileName,
+            Class<T> type,
+            Callable<List<T>> read,
+            Function<? super List<T>, ? extends V> factory
+    ) throws Exception {
+        List<T> rows = read(fileName, type, read);
+        Entry entry = entry(new Key(Path.of(fileName).toAbsolutePath().normalize(), type));
+        if (entry == null || entry.rows() != rows) {
+            return factory.apply(rows);
+        }
+        return (V) entry.views().computeIfAbsent(factory, ignored -> factory.apply(rows));
+    }
+
+    public synchronized void invalidate(String fileName) {
+        Path path = Path.of(fileName).toAbsolutePath().normalize();
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            if (entry.getKey().path().equals(path)) {
+                rows -= entry.getValue().rows().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        rows = 0;
+    }
+
+    public synchronized long getRows() {return rows;}
+
+    public synchronized int getEntries() {return entries.size();}
+
+    private synchronized Entry entry(Key key) {
+        return entries.get(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> List<T> get(
+            Key key,
+            Stamp stamp
+    ) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.stamp().equals(stamp) ? (List<T>) entry.rows() : null;
+    }
+
+    private synchronized void put(
+            Key key,
+            Entry entry
+    ) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            rows -= previous.rows().size();
+        }
+        if (entry.rows().size() > maxRows) {
+            return;
+        }
+        entries.put(key, entry);
+        rows += entry.rows().size();
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (rows > maxRows) {
+            Map.Entry<Key, Entry> evicted = eldest.next();
+            rows -= evicted.getValue().rows().size();
+            eldest.remove();
+            registry.counter("excel.cache.evictions", "model", evicted.getKey().type().getSimpleName()).increment();
+        }
+    }
+
+    private void count(
+            Class<?> type,
+            String result
+    ) {
+        registry.counter("excel.cache.requests", "model", type.getSimpleName(), "result", result).increment();
+    }
+
+    private record Key(
+            Path path,
+            Class<?> type
+    ) {}
+
+    private record Stamp(
+            long size,
+            FileTime lastModified
+    ) {
+
+        static Stamp of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new Stamp(attributes.size(), attributes.lastModifiedTime());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private record Entry(
+            Stamp stamp,
+            List<?> rows,
+            Map<Object, Object> views
+    ) {}
+}
@@ -0,0 +1,155 @@
+package com.excelninja.sample.excel;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Locates the parts of an xlsx package needed to stream its first worksheet.
+ */
+final class XlsxArchive implements SheetSource {
+
+    static final String WORKBOOK = "xl/workbook.xml";
+    static final String WORKBOOK_RELS = "xl/_rels/workbook.xml.rels";
+    static final String DEFAULT_SHEET = "xl/worksheets/sheet1.xml";
+    static final String DEFAULT_SHARED_STRINGS = "xl/sharedStrings.xml";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipFile zip;
+    private final long size;
+    private final String sheetPart;
+    private final String sharedStringsPart;
+
+    private XlsxArchive(
+            ZipFile zip,
+            long size
+    ) throws IOException {
+        this.zip = zip;
+        this.size = size;
+        Map<String, String> targets = new HashMap<>();
+        String sharedStrings = null;
+        ZipEntry rels = zip.getEntry(WORKBOOK_RELS);
+        if (rels != null) {
+            try (InputStream in = zip.getInputStream(rels)) {
+                sharedStrings = readRelationships(in, targets);
+            }
+        }
+        String sheetId = firstSheetRelationshipId();
+        String sheet = sheetId != null ? targets.get(sheetId) : null;
+        this.sheetPart = sheet != null && zip.getEntry(sheet) != null ? sheet : DEFAULT_SHEET;
+        this.sharedStringsPart = sharedStrings != null ? sharedStrings : DEFAULT_SHARED_STRINGS;
+        if (zip.getEntry(sheetPart) == null) {
+            throw new IOException("Workbook has no worksheet part: " + zip.getName());
+        }
+    }
+
+    static XlsxArchive open(String fileName) throws IOException {
+        Path path = Path.of(fileName);
+        if (!Files.isRegularFile(path)) {
+            throw new FileNotFoundException("Excel file not found: " + fileName);
+        }
+        ZipFile zip = new ZipFile(path.toFile());
+        try {
+            return new XlsxArchive(zip, Files.size(path));
+        } catch (IOException | RuntimeException e) {
+            zip.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public SharedStrings readSharedStrings() throws IOException {
+        ZipEntry entry = zip.getEntry(sharedStringsPart);
+        if (entry == null) {
+            return SharedStrings.EMPTY;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            return SharedStrings.parse(in);
+        }
+    }
+
+    @Override
+    public InputStream openSheet() throws IOException {
+        return zip.getInputStream(zip.getEntry(sheetPart));
+    }
+
+    @Override
+    public long compressedSize() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+
+    private String firstSheetRelationshipId() throws IOException {
+        ZipEntry workbook = zip.getEntry(WORKBOOK);
+        if (workbook == null) {
+            return null;
+        }
+        try (InputStream in = zip.getInputStream(workbook)) {
+            return readFirstSheetId(in);
+        }
+    }
+
+    static String readFirstSheetId(InputStream in) throws IOException {
+        XMLStreamReader xml = XmlSupport.createReader(in);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                    return xml.getAttributeValue(RELATIONSHIPS_NS, "id");
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed workbook part", e);
+        } finally {
+            XmlSupport.closeQuietly(xml);
+        }
+    }
+
+    /**
+     * Collects relationship targets by id into {@code targets} and returns the shared-strings target, if any.
+     */
+    static String readRelationships(
+            InputStream in,
+            Map<String, String> targets
+    ) throws IOException {
+        String sharedStrings = null;
+        XMLStreamReader xml = XmlSupport.createReader(in);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(xml.getLocalName())) {
+                    String target = resolveTarget(xml.getAttributeValue(null, "Target"));
+                    targets.put(xml.getAttributeValue(null, "Id"), target);
+                    String type = xml.getAttributeValue(null, "Type");
+                    if (type != null && type.endsWith("/sharedStrings")) {
+                        sharedStrings = target;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed workbook relationships", e);
+        } finally {
+            XmlSupport.closeQuietly(xml);
+        }
+        return sharedStrings;
+    }
+
+    private static String resolveTarget(String target) {
+        if (target == null) {
+            return null;
+        }
+        return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+    }
+}
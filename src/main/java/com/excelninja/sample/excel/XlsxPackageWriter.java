@@ -0,0 +1,256 @@
+package com.excelninja.sample.excel;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the zip container of an xlsx workbook. Static parts are emitted up front; worksheet parts are
+ * then written one after another, in sheet order, and {@link #finish()} completes the package once all of them
+ * are written. Closing without finishing, as happens when a write fails, only releases the zip stream.
+ */
+final class XlsxPackageWriter implements Closeable {
+
+    private static final String CONTENT_TYPES_HEADER = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/styles.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml"/>""";
+
+    private static final String ROOT_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final String STYLES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+            <numFmts count="2"><numFmt numFmtId="164" formatCode="yyyy-mm-dd"/><numFmt numFmtId="165" formatCode="yyyy-mm-dd hh:mm:ss"/></numFmts>\
+            <fonts count="1"><font><sz val="11"/><name val="Calibri"/></font></fonts>\
+            <fills count="2"><fill><patternFill patternType="none"/></fill><fill><patternFill patternType="gray125"/></fill></fills>\
+            <borders count="1"><border><left/><right/><top/><bottom/><diagonal/></border></borders>\
+            <cellStyleXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0"/></cellStyleXfs>\
+            <cellXfs count="3"><xf numFmtId="0" fontId="0" fillId="0" borderId="0" xfId="0"/>\
+            <xf numFmtId="164" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/>\
+            <xf numFmtId="165" fontId="0" fillId="0" borderId="0" xfId="0" applyNumberFormat="1"/></cellXfs>\
+            <cellStyles count="1"><cellStyle name="Normal" xfId="0" builtinId="0"/></cellStyles>\
+            </styleSheet>""";
+
+    private static final String WORKSHEET_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    private final MeteredOutputStream compressed;
+    private final ZipOutputStream zip;
+    private final MeteredOutputStream uncompressed;
+    private final Writer writer;
+    private final ExcelMetrics.Recording recording;
+    private final int sheetCount;
+    private int nextSheet;
+    private boolean finished;
+
+    XlsxPackageWriter(
+            OutputStream out,
+            List<String> sheetNames
+    ) throws IOException {
+        this(out, sheetNames, null);
+    }
+
+    /**
+     * With a recording, the time spent deflating and writing out the package is reported as the {@code zip}
+     * stage, and its compressed size as bytes written, once the package is closed.
+     */
+    XlsxPackageWriter(
+            OutputStream out,
+            List<String> sheetNames,
+            ExcelMetrics.Recording recording
+    ) throws IOException {
+        this.compressed = new MeteredOutputStream(out);
+        this.zip = new ZipOutputStream(compressed, StandardCharsets.UTF_8);
+        this.uncompressed = new MeteredOutputStream(zip);
+        this.writer = new BufferedWriter(new OutputStreamWriter(uncompressed, StandardCharsets.UTF_8), 64 * 1024);
+        this.recording = recording;
+        this.sheetCount = sheetNames.size();
+        writeStaticParts(uniqueSheetNames(sheetNames));
+    }
+
+    SheetXmlWriter startSheet() throws IOException {
+        if (nextSheet >= sheetCount) {
+            throw new IllegalStateException("All " + sheetCount + " sheets have already been written");
+        }
+        writer.flush();
+        zip.putNextEntry(new ZipEntry(sheetPart(++nextSheet)));
+        SheetXmlWriter sheet = new SheetXmlWriter(writer);
+        sheet.start();
+        return sheet;
+    }
+
+    void copySheet(InputStream sheetXml) throws IOException {
+        if (nextSheet >= sheetCount) {
+            throw new IllegalStateException("All " + sheetCount + " sheets have already been written");
+        }
+        writer.flush();
+        zip.putNextEntry(new ZipEntry(sheetPart(++nextSheet)));
+        sheetXml.transferTo(uncompressed);
+    }
+
+    /**
+     * Time spent so far in deflating and writing out the package.
+     */
+    long zipNanos() {
+        return uncompressed.nanos;
+    }
+
+    /**
+     * Fails unless every sheet has been written, then writes the zip's central directory.
+     */
+    void finish() throws IOException {
+        writer.flush();
+        if (nextSheet != sheetCount) {
+            throw new IllegalStateException("Expected " + sheetCount + " sheets but wrote " + nextSheet);
+        }
+        long finishStarted = System.nanoTime();
+        zip.finish();
+        finished = true;
+        if (recording != null) {
+            recording.stage(ExcelMetrics.Stage.ZIP, uncompressed.nanos + System.nanoTime() - finishStarted);
+            recording.bytes(compressed.bytes);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            zip.close();
+            return;
+        }
+        try {
+            writer.flush();
+        } finally {
+            zip.close();
+        }
+    }
+
+    private void writeStaticParts(List<String> sheetNames) throws IOException {
+        StringBuilder contentTypes = new StringBuilder(CONTENT_TYPES_HEADER);
+        StringBuilder workbook = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" xmlns:r=\"""")
+                .append(RELATIONSHIPS_NS).append("\"><sheets>");
+        StringBuilder workbookRels = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">""");
+
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            contentTypes.append("<Override PartName=\"/").append(sheetPart(i))
+                    .append("\" ContentType=\"").append(WORKSHEET_CONTENT_TYPE).append("\"/>");
+            workbook.append("<sheet name=\"").append(XmlEscaper.escape(sheetNames.get(i - 1)))
+                    .append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+            workbookRels.append("<Relationship Id=\"rId").append(i)
+                    .append("\" Type=\"").append(RELATIONSHIPS_NS).append("/worksheet\" Target=\"worksheets/sheet")
+                    .append(i).append(".xml\"/>");
+        }
+        contentTypes.append("</Types>");
+        workbook.append("</sheets></workbook>");
+        workbookRels.append("<Relationship Id=\"rId").append(sheetNames.size() + 1)
+                .append("\" Type=\"").append(RELATIONSHIPS_NS).append("/styles\" Target=\"styles.xml\"/>")
+                .append("</Relationships>");
+
+        writePart("[Content_Types].xml", contentTypes);
+        writePart("_rels/.rels", ROOT_RELS);
+        writePart("xl/workbook.xml", workbook);
+        writePart("xl/_rels/workbook.xml.rels", workbookRels);
+        writePart("xl/styles.xml", STYLES);
+    }
+
+    private void writePart(
+            String name,
+            CharSequence content
+    ) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.append(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private static String sheetPart(int index) {
+        return "xl/worksheets/sheet" + index + ".xml";
+    }
+
+    private static List<String> uniqueSheetNames(List<String> sheetNames) {
+        List<String> names = new ArrayList<>(sheetNames.size());
+        for (String requested : sheetNames) {
+            String name = requested == null || requested.isBlank() ? "Sheet" + (names.size() + 1) : requested;
+            name = name.replaceAll("[\\\\/?*\\[\\]:]", "_");
+            if (name.length() > MAX_SHEET_NAME_LENGTH) {
+                name = name.substring(0, MAX_SHEET_NAME_LENGTH);
+            }
+            String candidate = name;
+            for (int suffix = 2; containsIgnoreCase(names, candidate); suffix++) {
+                String tag = " (" + suffix + ")";
+                candidate = name.substring(0, Math.min(name.length(), MAX_SHEET_NAME_LENGTH - tag.length())) + tag;
+            }
+            names.add(candidate);
+        }
+        return names;
+    }
+
+    private static boolean containsIgnoreCase(
+            List<String> names,
+            String candidate
+    ) {
+        return names.stream().anyMatch(candidate::equalsIgnoreCase);
+    }
+
+    /**
+     * Leaves the wrapped stream open on close, and tracks the bytes passed through and the time spent in
+     * downstream writes.
+     */
+    private static final class MeteredOutputStream extends FilterOutputStream {
+
+        private long bytes;
+        private long nanos;
+
+        MeteredOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long started = System.nanoTime();
+            out.write(b);
+            nanos += System.nanoTime() - started;
+            bytes++;
+        }
+
+        @Override
+        public void write(
+                byte[] b,
+                int off,
+                int len
+        ) throws IOException {
+            long started = System.nanoTime();
+            out.write(b, off, len);
+            nanos += System.nanoTime() - started;
+            bytes += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.excelninja.sample.excel;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+
+final class XmlSupport {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private XmlSupport() {}
+
+    static XMLStreamReader createReader(InputStream in) throws IOException {
+        try {
+            return INPUT_FACTORY.createXMLStreamReader(in);
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot open XML part", e);
+        }
+    }
+
+    /**
+     * Concatenates the {@code <t>} runs of a string item ({@code <si>} or {@code <is>}), ignoring phonetic hints.
+     */
+    static String readStringItem(
+            XMLStreamReader xml,
+            String endElement
+    ) throws XMLStreamException {
+        String single = null;
+        StringBuilder runs = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("t".equals(name)) {
+                    String text = xml.getElementText();
+                    if (single == null) {
+                        single = text;
+                    } else {
+                        if (runs == null) {
+                            runs = new StringBuilder(single);
+                        }
+                        runs.append(text);
+                    }
+                } else if ("rPh".equals(name)) {
+                    skipElement(xml);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && endElement.equals(xml.getLocalName())) {
+                break;
+            }
+        }
+        if (runs != null) {
+            return runs.toString();
+        }
+        return single != null ? single : "";
+    }
+
+    static void skipElement(XMLStreamReader xml) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    static void closeQuietly(XMLStreamReader xml) {
+        try {
+            xml.close();
+        } catch (XMLStreamException ignored) {
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,102 @@
+package com.excelninja.sample.export;
+
+import com.excelNinja.sample.Product;
+import com.excelNinja.sample.Student;
+import com.excelninja.sample.excel.StreamingExcelWriter;
+import com.excelninja.sample.java.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Converts a JSON array request body into an xlsx response without touching disk: each element is read from the
+ * request, serialized as a row and flushed to the socket, so neither side is ever buffered as a whole.
+ * <p>
+ * The first element is read before the response starts, so a body that is not a JSON array or whose first element
+ * does not map is rejected with 400. A later element that fails to map can only abort the response once its
+ * status and headers are sent, leaving the client with a truncated file.
+ */
+@RestController
+@RequestMapping("/downloads")
+public class DownloadController {
+
+    private final ObjectMapper objectMapper;
+    private final StreamingExcelWriter<Employee> employeeWriter = StreamingExcelWriter.builder(Employee.class)
+            .sheetName("Employee List")
+            .build();
+    private final StreamingExcelWriter<Product> productWriter = StreamingExcelWriter.builder(Product.class)
+            .sheetName("Product Inventory")
+            .build();
+    private final StreamingExcelWriter<Student> studentWriter = StreamingExcelWriter.builder(Student.class)
+            .sheetName("Student Records")
+            .build();
+
+    public DownloadController(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(path = "/employees", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> downloadEmployees(HttpServletRequest request) throws IOException {
+        return download(Employee.class, employeeWriter, "employees.xlsx", request);
+    }
+
+    @PostMapping(path = "/products", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> downloadProducts(HttpServletRequest request) throws IOException {
+        return download(Product.class, productWriter, "products.xlsx", request);
+    }
+
+    @PostMapping(path = "/students", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> downloadStudents(HttpServletRequest request) throws IOException {
+        return download(Student.class, studentWriter, "students.xlsx", request);
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> download(
+            Class<T> type,
+            StreamingExcelWriter<T> writer,
+            String fileName,
+            HttpServletRequest request
+    ) throws IOException {
+        MappingIterator<T> rows = objectMapper.readerFor(type).readValues(request.getInputStream());
+        Stream<T> first;
+        try {
+            first = rows.hasNextValue() ? Stream.of(rows.nextValue()) : Stream.empty();
+        } catch (IOException | RuntimeException e) {
+            rows.close();
+            throw e;
+        }
+        Stream<T> remaining = StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false);
+        StreamingResponseBody body = out -> {
+            try (rows) {
+                writer.write(Stream.concat(first, remaining), out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ExportController.XLSX)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidJson(JsonProcessingException e) {
+        return ResponseEntity.badRequest()
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getOriginalMessage()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.excelninja.sample.export;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.EmployeeExcelService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+@RestController
+@RequestMapping("/exports")
+public class ExportController {
+
+    static final MediaType XLSX = MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final ExportJobService exportJobService;
+    private final EmployeeExcelService excelService;
+    private final ObjectReader employeeReader;
+
+    public ExportController(
+            ExportJobService exportJobService,
+            EmployeeExcelService excelService,
+            ObjectMapper objectMapper
+    ) {
+        this.exportJobService = exportJobService;
+        this.excelService = excelService;
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+    }
+
+    /**
+     * Queues the export before the body is parsed: a full queue answers 429 without reading it, and an accepted
+     * body is spooled and only read, one element at a time, by the job. A body that is not a JSON array of
+     * employees therefore fails the job rather than the request.
+     */
+    @PostMapping(path = "/employees", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExportJob> exportEmployees(HttpServletRequest request) throws IOException {
+        ExportJob job = exportJobService.submit("employees", request.getInputStream(), this::writeEmployees);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/exports/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    private void writeEmployees(
+            InputStream body,
+            Path file
+    ) {
+        try (MappingIterator<Employee> employees = employeeReader.readValues(body)) {
+            excelService.saveEmployeesToExcel(
+                    StreamSupport.stream(Spliterators.spliteratorUnknownSize(employees, Spliterator.ORDERED), false),
+                    file.toString()
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read employees for " + file, e);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJob> getJob(@PathVariable String id) {
+        return ResponseEntity.of(exportJobService.find(id));
+    }
+
+    @GetMapping("/{id}/file")
+    public ResponseEntity<?> download(@PathVariable String id) {
+        ExportJob job = exportJobService.find(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return switch (job.getStatus()) {
+            case QUEUED, RUNNING -> ResponseEntity.accepted()
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(job);
+            case FAILED -> ResponseEntity.status(HttpStatus.CONFLICT).body(job);
+            case COMPLETED -> ResponseEntity.ok()
+                    .contentType(XLSX)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(job.getFile().getFileName().toString())
+                            .build()
+                            .toString())
+                    .body(new FileSystemResource(job.getFile()));
+        };
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteJob(@PathVariable String id) {
+        return exportJobService.delete(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(ExportJobActiveException.class)
+    public ResponseEntity<ProblemDetail> handleActive(ExportJobActiveException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage()));
+    }
+
+    @ExceptionHandler(ExportRejectedException.class)
+    public ResponseEntity<ProblemDetail> handleRejected(ExportRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.excelninja.sample.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+public class ExportJob {
+
+    private final String id;
+    private final String name;
+    private final Path file;
+    private final Instant createdAt;
+    private volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private volatile String error;
+
+    ExportJob(
+            String id,
+            String name,
+            Path file
+    ) {
+        this.id = id;
+        this.name = name;
+        this.file = file;
+        this.createdAt = Instant.now();
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        status = ExportJobStatus.RUNNING;
+    }
+
+    void markCompleted() {
+        completedAt = Instant.now();
+        status = ExportJobStatus.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        completedAt = Instant.now();
+        status = ExportJobStatus.FAILED;
+    }
+
+    public String getId() {return id;}
+
+    public String getName() {return name;}
+
+    @JsonIgnore
+    public Path getFile() {return file;}
+
+    public ExportJobStatus getStatus() {return status;}
+
+    public Instant getCreatedAt() {return createdAt;}
+
+    public Instant getStartedAt() {return startedAt;}
+
+    public Instant getCompletedAt() {return completedAt;}
+
+    public String getError() {return error;}
+
+    @Override
+    public String toString() {
+        return "ExportJob{id='" + id + "', name='" + name + "', status=" + status + "}";
+    }
+}
@@ -0,0 +1,8 @@
+package com.excelninja.sample.export;
+
+public class ExportJobActiveException extends RuntimeException {
+
+    public ExportJobActiveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,240 @@
+package com.excelninja.sample.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Runs exports off the request thread. At most {@code workers} jobs run at once, each on its own virtual thread,
+ * and at most {@code queueCapacity} wait behind them; anything beyond that is rejected immediately with
+ * {@link ExportRejectedException} rather than parked on a servlet thread. A slot is reserved before a request body is
+ * read, and an accepted body waits in the queue as a spool file rather than as parsed rows. Finished jobs and their files are dropped
+ * once {@code retention} has passed, checked at least every minute whether or not new jobs arrive.
+ */
+@Service
+public class ExportJobService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService pruner;
+    private final Semaphore slots;
+    private final Path directory;
+    private final Duration retention;
+    private final int queueCapacity;
+
+    public ExportJobService(
+            @Value("${excel.export.workers:4}") int workers,
+            @Value("${excel.export.queue-capacity:50}") int queueCapacity,
+            @Value("${excel.export.retention:PT1H}") Duration retention,
+            @Value("${excel.export.directory:}") String directory
+    ) {
+        this.queueCapacity = queueCapacity;
+        this.retention = retention;
+        this.slots = new Semaphore(workers + queueCapacity);
+        this.directory = directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "excel-exports")
+                : Path.of(directory);
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("excel-export-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create export directory " + this.directory, e);
+        }
+        long pruneMillis = Math.max(1, Math.min(retention.toMillis(), PRUNE_INTERVAL.toMillis()));
+        this.pruner = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("excel-export-pruner").daemon().factory());
+        this.pruner.scheduleWithFixedDelay(this::pruneExpiredJobs, pruneMillis, pruneMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public ExportJob submit(
+            String name,
+            Consumer<Path> export
+    ) {
+        reserveSlot();
+        return enqueue(newJob(name), export);
+    }
+
+    /**
+     * Queues an export of a request body. The queue slot is reserved before {@code body} is read, so a full queue
+     * rejects the request without consuming it. The body is then copied to a spool file that {@code export} reads
+     * when the job runs, and the spool is deleted once the job finishes.
+     */
+    public ExportJob submit(
+            String name,
+            InputStream body,
+            BiConsumer<InputStream, Path> export
+    ) {
+        reserveSlot();
+        ExportJob job = newJob(name);
+        Path spool = spoolFile(job);
+        try {
+            Files.copy(body, spool);
+        } catch (IOException e) {
+            deleteFile(job);
+            slots.release();
+            throw new UncheckedIOException("Failed to spool export request for " + job.getId(), e);
+        }
+        return enqueue(job, file -> {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(spool))) {
+                export.accept(in, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read spooled export request " + spool, e);
+            }
+        });
+    }
+
+    private void reserveSlot() {
+        if (!slots.tryAcquire()) {
+            throw new ExportRejectedException("Export queue is full (" + queueCapacity + " jobs waiting)");
+        }
+    }
+
+    private ExportJob newJob(String name) {
+        String id = UUID.randomUUID().toString();
+        return new ExportJob(id, name, directory.resolve(name + "-" + id + ".xlsx"));
+    }
+
+    private ExportJob enqueue(
+            ExportJob job,
+            Consumer<Path> export
+    ) {
+        pruneExpiredJobs();
+
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, export));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            deleteFile(job);
+            slots.release();
+            throw new ExportRejectedException("Export queue is full (" + queueCapacity + " jobs waiting)", e);
+        }
+        logger.debug("Queued export job {}", job);
+        return job;
+    }
+
+    public Optional<ExportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Removes a finished job and its file. A queued or running job cannot be deleted, since its worker would still
+     * write a file that nothing refers to.
+     */
+    public boolean delete(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            return false;
+        }
+        if (!job.getStatus().isFinished()) {
+            throw new ExportJobActiveException("Export job " + id + " is still " + job.getStatus());
+        }
+        if (jobs.remove(id, job)) {
+            deleteFile(job);
+        }
+        return true;
+    }
+
+    public int getQueuedCount() {return executor.getQueue().size();}
+
+    public int getRunningCount() {return executor.getActiveCount();}
+
+    private void run(
+            ExportJob job,
+            Consumer<Path> export
+    ) {
+        job.markRunning();
+        RuntimeException failure = null;
+        try {
+            export.accept(job.getFile());
+        } catch (RuntimeException e) {
+            failure = e;
+            deleteQuietly(job.getFile());
+        } finally {
+            deleteQuietly(spoolFile(job));
+            slots.release();
+        }
+        if (failure == null) {
+            job.markCompleted();
+            logger.info("Export job {} completed: {}", job.getId(), job.getFile());
+        } else {
+            job.markFailed(failure.getMessage());
+            logger.error("Export job {} failed", job.getId(), failure);
+        }
+    }
+
+    private void pruneExpiredJobs() {
+        try {
+            Instant expiry = Instant.now().minus(retention);
+            jobs.values().removeIf(job -> {
+                boolean expired = job.getStatus().isFinished() && job.getCompletedAt().isBefore(expiry);
+                if (expired) {
+                    deleteFile(job);
+                }
+                return expired;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to prune expired export jobs: {}", e.getMessage());
+        }
+    }
+
+    private static Path spoolFile(ExportJob job) {
+        return job.getFile().resolveSibling(job.getFile().getFileName() + ".request");
+    }
+
+    private static void deleteFile(ExportJob job) {
+        deleteQuietly(job.getFile());
+        deleteQuietly(spoolFile(job));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pruner.shutdownNow();
+        executor.shutdownNow();
+        jobs.values().forEach(ExportJobService::deleteFile);
+        jobs.clear();
+    }
+}
@@ -0,0 +1,15 @@
+package com.excelninja.sample.export;
+
+public class ExportRejectedException extends RuntimeException {
+
+    public ExportRejectedException(String message) {
+        super(message);
+    }
+
+    public ExportRejectedException(
+            String message,
+            Throwable cause
+    ) {
+        super(message, cause);
+    }
+}
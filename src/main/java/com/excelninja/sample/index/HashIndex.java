@@ -0,0 +1,69 @@
+package com.excelninja.sample.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Rows grouped by one key for equality lookups in O(1 + k). Rows keep their source order within a key; rows whose
+ * key is {@code null} are not indexed.
+ */
+public final class HashIndex<T, K> implements RowIndex {
+
+    private static final long ENTRY_BYTES = 32 + 8;
+    private static final long LIST_BYTES = 24 + 16 + 16;
+    private static final long REFERENCE_BYTES = 4;
+
+    private final Map<K, List<T>> rowsByKey;
+    private final long indexedRows;
+
+    private HashIndex(
+            Map<K, List<T>> rowsByKey,
+            long indexedRows
+    ) {
+        this.rowsByKey = rowsByKey;
+        this.indexedRows = indexedRows;
+    }
+
+    public static <T, K> HashIndex<T, K> build(
+            List<? extends T> rows,
+            Function<? super T, ? extends K> key
+    ) {
+        Map<K, ArrayList<T>> groups = new HashMap<>();
+        long indexed = 0;
+        for (T row : rows) {
+            K value = key.apply(row);
+            if (value != null) {
+                groups.computeIfAbsent(value, ignored -> new ArrayList<>()).add(row);
+                indexed++;
+            }
+        }
+        Map<K, List<T>> rowsByKey = new HashMap<>(Math.max(16, groups.size() * 4 / 3 + 1));
+        groups.forEach((value, group) -> {
+            group.trimToSize();
+            rowsByKey.put(value, Collections.unmodifiableList(group));
+        });
+        return new HashIndex<>(rowsByKey, indexed);
+    }
+
+    public List<T> get(K key) {
+        return rowsByKey.getOrDefault(key, List.of());
+    }
+
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(rowsByKey.keySet());
+    }
+
+    public int keyCount() {
+        return rowsByKey.size();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return rowsByKey.size() * (ENTRY_BYTES + LIST_BYTES) + indexedRows * REFERENCE_BYTES;
+    }
+}
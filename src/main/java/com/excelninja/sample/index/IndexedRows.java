@@ -0,0 +1,97 @@
+package com.excelninja.sample.index;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One loaded dataset together with the indexes its {@link Definition} declares, built in one go. Equality
+ * lookups on a {@link HashIndex} cost O(1 + k) and range queries on a {@link SortedIndex} O(log n + k), instead
+ * of a scan per query. The rows are not copied; they must not change while the indexes are in use.
+ */
+public final class IndexedRows<T> {
+
+    private final List<T> rows;
+    private final Map<String, RowIndex> indexes;
+    private final Duration buildTime;
+
+    private IndexedRows(
+            List<T> rows,
+            Map<String, RowIndex> indexes,
+            Duration buildTime
+    ) {
+        this.rows = rows;
+        this.indexes = indexes;
+        this.buildTime = buildTime;
+    }
+
+    public static <T> Definition<T> define() {
+        return new Definition<>();
+    }
+
+    public List<T> getRows() {return rows;}
+
+    public Duration getBuildTime() {return buildTime;}
+
+    public long estimatedBytes() {
+        return indexes.values().stream().mapToLong(RowIndex::estimatedBytes).sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <K> HashIndex<T, K> hashIndex(String name) {
+        return (HashIndex<T, K>) index(name, HashIndex.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <K extends Comparable<? super K>> SortedIndex<T, K> sortedIndex(String name) {
+        return (SortedIndex<T, K>) index(name, SortedIndex.class);
+    }
+
+    private RowIndex index(
+            String name,
+            Class<?> type
+    ) {
+        RowIndex index = indexes.get(name);
+        if (!type.isInstance(index)) {
+            throw new IllegalArgumentException("No " + type.getSimpleName() + " named " + name);
+        }
+        return index;
+    }
+
+    /**
+     * Named indexes to build over each dataset. A definition is a function from rows to {@link IndexedRows}, so a
+     * single instance can be handed to {@code WorkbookCache.view} as the key of the derived view.
+     */
+    public static final class Definition<T> implements Function<List<T>, IndexedRows<T>> {
+
+        private final Map<String, Function<List<T>, RowIndex>> factories = new LinkedHashMap<>();
+
+        private Definition() {}
+
+        public Definition<T> hash(
+                String name,
+                Function<? super T, ?> key
+        ) {
+            factories.put(name, rows -> HashIndex.build(rows, key));
+            return this;
+        }
+
+        public <K extends Comparable<? super K>> Definition<T> sorted(
+                String name,
+                Function<? super T, ? extends K> key
+        ) {
+            factories.put(name, rows -> SortedIndex.build(rows, key));
+            return this;
+        }
+
+        @Override
+        public IndexedRows<T> apply(List<T> rows) {
+            long started = System.nanoTime();
+            Map<String, RowIndex> indexes = new LinkedHashMap<>();
+            factories.forEach((name, factory) -> indexes.put(name, factory.apply(rows)));
+            return new IndexedRows<>(rows, Map.copyOf(indexes), Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.excelninja.sample.index;
+
+/**
+ * An index over the rows of one loaded dataset.
+ */
+public interface RowIndex {
+
+    /**
+     * Approximate heap held by the index structures, assuming compressed references. The indexed rows themselves
+     * are shared with the dataset and not counted.
+     */
+    long estimatedBytes();
+}
@@ -0,0 +1,138 @@
+package com.excelninja.sample.index;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Rows ordered by one comparable key for range queries in O(log n + k): two binary searches find the bounds and
+ * the result is a view of the sorted rows between them. Equal keys keep their source order; rows whose key is
+ * {@code null} are not indexed. Keys compare with {@code compareTo}, so {@code 10.0} and {@code 10.00} are equal.
+ */
+public final class SortedIndex<T, K extends Comparable<? super K>> implements RowIndex {
+
+    private static final long ARRAY_BYTES = 16;
+    private static final long REFERENCE_BYTES = 4;
+
+    private final Object[] keys;
+    private final Object[] rows;
+
+    private SortedIndex(
+            Object[] keys,
+            Object[] rows
+    ) {
+        this.keys = keys;
+        this.rows = rows;
+    }
+
+    public static <T, K extends Comparable<? super K>> SortedIndex<T, K> build(
+            List<? extends T> rows,
+            Function<? super T, ? extends K> key
+    ) {
+        @SuppressWarnings("unchecked")
+        Entry<K>[] entries = new Entry[rows.size()];
+        int indexed = 0;
+        for (T row : rows) {
+            K value = key.apply(row);
+            if (value != null) {
+                entries[indexed++] = new Entry<>(value, row);
+            }
+        }
+        Arrays.sort(entries, 0, indexed, Comparator.comparing(Entry::key));
+
+        Object[] sortedKeys = new Object[indexed];
+        Object[] sortedRows = new Object[indexed];
+        for (int i = 0; i < indexed; i++) {
+            sortedKeys[i] = entries[i].key();
+            sortedRows[i] = entries[i].row();
+        }
+        return new SortedIndex<>(sortedKeys, sortedRows);
+    }
+
+    /**
+     * Rows with {@code from <= key <= to} in key order. A {@code null} bound leaves that side open.
+     */
+    public List<T> range(
+            K from,
+            K to
+    ) {
+        int start = from == null ? 0 : firstAtLeast(from);
+        int end = to == null ? rows.length : firstAbove(to);
+        return view(start, Math.max(start, end));
+    }
+
+    public List<T> atLeast(K from) {
+        return range(from, null);
+    }
+
+    public List<T> atMost(K to) {
+        return range(null, to);
+    }
+
+    public int count(
+            K from,
+            K to
+    ) {
+        return range(from, to).size();
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return 2 * (ARRAY_BYTES + rows.length * REFERENCE_BYTES);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> view(
+            int start,
+            int end
+    ) {
+        return Collections.unmodifiableList((List<T>) Arrays.asList(rows).subList(start, end));
+    }
+
+    private int firstAtLeast(K bound) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, bound) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstAbove(K bound) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, bound) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(
+            int index,
+            K bound
+    ) {
+        return ((K) keys[index]).compareTo(bound);
+    }
+
+    private record Entry<K>(
+            K key,
+            Object row
+    ) {}
+}
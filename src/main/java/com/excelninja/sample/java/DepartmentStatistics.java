@@ -0,0 +1,13 @@
+package com.excelninja.sample.java;
+
+import java.math.BigDecimal;
+
+public record DepartmentStatistics(
+        String department,
+        long count,
+        BigDecimal totalSalary,
+        BigDecimal averageSalary,
+        BigDecimal minSalary,
+        BigDecimal maxSalary,
+        long seniorCount
+) {}
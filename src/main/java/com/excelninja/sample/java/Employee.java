@@ -10,6 +10,8 @@ import java.util.Objects;
 
 public class Employee {
 
+    public static final BigDecimal SENIOR_SALARY = BigDecimal.valueOf(100000);
+
     @ExcelReadColumn(headerName = "Employee ID")
     @ExcelWriteColumn(headerName = "Employee ID", order = 1)
     private Long id;
@@ -57,7 +59,7 @@ public class Employee {
     }
 
     public String getSalaryGrade() {
-        if (salary.compareTo(BigDecimal.valueOf(100000)) >= 0) {
+        if (salary.compareTo(SENIOR_SALARY) >= 0) {
             return "Senior";
         } else if (salary.compareTo(BigDecimal.valueOf(70000)) >= 0) {
             return "Mid";
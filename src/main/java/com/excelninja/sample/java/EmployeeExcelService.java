@@ -2,24 +2,94 @@ package com.excelninja.sample.java;
 
 import com.excelninja.application.facade.NinjaExcel;
 import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.sample.excel.CellPredicate;
+import com.excelninja.sample.excel.ColumnarExcelReader;
+import com.excelninja.sample.excel.ColumnarTable;
+import com.excelninja.sample.excel.ExcelMetrics;
+import com.excelninja.sample.excel.ImportResult;
+import com.excelninja.sample.excel.MappedSheetReader;
+import com.excelninja.sample.excel.PartitionedExcelWriter;
+import com.excelninja.sample.excel.StreamingExcelReader;
+import com.excelninja.sample.excel.StreamingExcelWriter;
+import com.excelninja.sample.excel.StreamingWorkbookWriter;
+import com.excelninja.sample.excel.WorkbookCache;
+import com.excelninja.sample.index.IndexedRows;
+import com.excelninja.sample.stats.DecimalStatistics;
+import com.excelninja.sample.stats.GroupAggregator;
+import com.excelninja.sample.stats.IncrementalGroupStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeExcelService {
 
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeExcelService.class);
+
+    private final ExcelMetrics metrics = ExcelMetrics.global();
+    private final WorkbookCache workbookCache = WorkbookCache.global();
+    private final StreamingExcelReader<Employee> employeeReader = StreamingExcelReader.builder(Employee.class)
+            .intern("Department")
+            .build();
+    private final StreamingExcelReader<EmployeeSalary> salaryReader = StreamingExcelReader.builder(EmployeeSalary.class)
+            .intern("Department")
+            .build();
+    private final StreamingExcelWriter<Employee> employeeWriter = StreamingExcelWriter.builder(Employee.class)
+            .sheetName("Employee List")
+            .build();
+    private final MappedSheetReader<Employee> employeeRowReader = MappedSheetReader.builder(Employee.class)
+            .keyColumn("Employee ID")
+            .build();
+    private final ColumnarExcelReader employeeTableReader = ColumnarExcelReader.builder()
+            .longColumn("Employee ID")
+            .dictionaryColumn("Department")
+            .decimalColumn("Salary", 2)
+            .build();
+    private final GroupAggregator<Employee, String, DepartmentAccumulator> departmentAggregator =
+            GroupAggregator.of(Employee::getDepartment, DepartmentAccumulator::new);
+    private final IndexedRows.Definition<Employee> employeeIndexes = IndexedRows.<Employee>define()
+            .hash("department", Employee::getDepartment)
+            .sorted("salary", Employee::getSalary);
+    private final Map<String, IncrementalGroupStatistics<Employee, String, DepartmentAccumulator>> departmentStatisticsByFile =
+            new ConcurrentHashMap<>();
+
     public void saveEmployeesToExcel(
             List<Employee> employees,
             String fileName
     ) {
         try {
             ExcelWorkbook document = ExcelWorkbook.builder().sheet("Employee List", employees).build();
-            NinjaExcel.write(document, fileName);
+            metrics.timeWrite(Employee.class, "Employee List", fileName, employees.size(), () ->
+                    NinjaExcel.write(document, fileName)
+            );
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save employee Excel file", e);
+        }
+    }
+
+    public void saveEmployeesToExcel(
+            Stream<Employee> employees,
+            String fileName
+    ) {
+        try {
+            employeeWriter.write(employees, fileName);
         } catch (Exception e) {
             throw new RuntimeException("Failed to save employee Excel file", e);
         }
@@ -27,12 +97,92 @@ public class EmployeeExcelService {
 
     public List<Employee> readEmployeesFromExcel(String fileName) {
         try {
-            return NinjaExcel.read(fileName, Employee.class);
+            return readEmployeeRows(fileName);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read employee Excel file", e);
+        }
+    }
+
+    /**
+     * Like {@link #readEmployeesFromExcel}, but served from {@link WorkbookCache#global()} while the file is
+     * unchanged, so repeated reads skip parsing. The list is unmodifiable and its employees are shared with every
+     * other caller, so they must not be modified either.
+     */
+    public List<Employee> readCachedEmployees(String fileName) {
+        try {
+            return workbookCache.read(fileName, Employee.class, () -> readEmployeeRows(fileName));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read employee Excel file", e);
+        }
+    }
+
+    /**
+     * Employees of the file with a hash index on department and a sorted index on salary, built once per cached
+     * workbook and rebuilt when the file changes.
+     */
+    public IndexedRows<Employee> indexEmployees(String fileName) {
+        try {
+            return workbookCache.view(fileName, Employee.class, () -> readEmployeeRows(fileName), employeeIndexes);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read employee Excel file", e);
+        }
+    }
+
+    /**
+     * Looks up one employee through a memory-mapped row index on employee id, built on the first lookup in each
+     * version of the file. Only the matching row is parsed, however large the sheet.
+     */
+    public Optional<Employee> findEmployee(
+            String fileName,
+            long employeeId
+    ) {
+        try {
+            return employeeRowReader.open(fileName).find(employeeId);
         } catch (Exception e) {
             throw new RuntimeException("Failed to read employee Excel file", e);
         }
     }
 
+    private List<Employee> readEmployeeRows(String fileName) throws Exception {
+        return metrics.timeRead(Employee.class, fileName, () -> NinjaExcel.read(fileName, Employee.class));
+    }
+
+    public Stream<Employee> streamEmployeesFromExcel(String fileName) {
+        try {
+            return employeeReader.stream(fileName);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read employee Excel file", e);
+        }
+    }
+
+    /**
+     * Reads only the id, department and salary columns into primitive arrays, for statistics over sheets too
+     * large to hold as {@link Employee} objects.
+     */
+    public ColumnarTable readEmployeeTable(String fileName) {
+        try {
+            return employeeTableReader.read(fileName);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read employee Excel file", e);
+        }
+    }
+
+    public ImportResult importEmployees(
+            InputStream in,
+            int batchSize,
+            Consumer<List<Employee>> batchConsumer
+    ) {
+        try {
+            ImportResult result = employeeReader.readBatches(in, batchSize, batchConsumer);
+            logger.info("Imported {} employees in {} ms ({} rows/s, {} KB/s)",
+                    result.rows(), result.elapsedMillis(),
+                    Math.round(result.rowsPerSecond()), Math.round(result.bytesPerSecond() / 1024));
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to import employee Excel file", e);
+        }
+    }
+
     public void saveEmployeesByDepartment(
             List<Employee> employees,
             String department,
@@ -48,19 +198,82 @@ public class EmployeeExcelService {
         saveEmployeesToExcel(filteredEmployees, fileName);
     }
 
-    public void saveEmployeesBySalaryGrade(
-            List<Employee> employees,
-            String salaryGrade,
+    public void saveEmployeesByDepartmentFromExcel(
+            String sourceFileName,
+            String department,
             String fileName
     ) {
-        List<Employee> filteredEmployees = employees.stream()
-                .filter(emp -> salaryGrade.equals(emp.getSalaryGrade()))
-                .toList();
+        StreamingExcelReader<Employee> departmentReader = StreamingExcelReader.builder(Employee.class)
+                .where("Department", CellPredicate.equalTo(department))
+                .intern("Department")
+                .build();
 
-        if (filteredEmployees.isEmpty()) {
+        try (Stream<Employee> departmentEmployees = departmentReader.stream(sourceFileName)) {
+            Iterator<Employee> employees = departmentEmployees.iterator();
+            if (!employees.hasNext()) {
+                return;
+            }
+            employeeWriter.write(employees, fileName);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save employee Excel file", e);
+        }
+    }
+
+    /**
+     * Writes each requested salary grade to its own file in one pass over {@code employees}. Grades missing from
+     * {@code fileNamesByGrade} are skipped, and grades with no employees produce no file.
+     */
+    public Map<String, PartitionedExcelWriter.Partition> saveEmployeesBySalaryGrade(
+            Stream<Employee> employees,
+            Map<String, String> fileNamesByGrade
+    ) {
+        try {
+            return PartitionedExcelWriter.builder(Employee.class, Employee::getSalaryGrade)
+                    .sheetName("Employee List")
+                    .fileNameForKey(fileNamesByGrade::get)
+                    .build()
+                    .write(employees.filter(emp -> fileNamesByGrade.containsKey(emp.getSalaryGrade())));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save salary grade Excel files", e);
+        }
+    }
+
+    public <K> Map<K, PartitionedExcelWriter.Partition> savePartitioned(
+            Stream<Employee> employees,
+            Function<Employee, K> partitionKey,
+            String pathTemplate
+    ) {
+        try {
+            return PartitionedExcelWriter.builder(Employee.class, partitionKey)
+                    .sheetName("Employee List")
+                    .pathTemplate(pathTemplate)
+                    .build()
+                    .write(employees);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save partitioned employee Excel files", e);
+        }
+    }
+
+    public void saveEmployeesByDepartmentSheets(
+            List<Employee> employees,
+            String fileName,
+            Executor executor
+    ) {
+        Map<String, List<Employee>> employeesByDepartment = employees.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment, TreeMap::new, Collectors.toList()));
+
+        if (employeesByDepartment.isEmpty()) {
             return;
         }
-        saveEmployeesToExcel(filteredEmployees, fileName);
+        try {
+            StreamingWorkbookWriter.Builder workbook = StreamingWorkbookWriter.builder().executor(executor);
+            employeesByDepartment.forEach((department, deptEmployees) ->
+                    workbook.sheet(department, Employee.class, deptEmployees)
+            );
+            workbook.build().write(fileName);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save employee Excel file", e);
+        }
     }
 
     public List<Employee> getHighSalaryEmployees(
@@ -72,31 +285,87 @@ public class EmployeeExcelService {
                 .toList();
     }
 
-    public Map<String, Object> getDepartmentStatistics(List<Employee> employees) {
-        return employees.stream()
-                .collect(Collectors.groupingBy(Employee::getDepartment))
-                .entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> {
-                            List<Employee> deptEmployees = entry.getValue();
-                            BigDecimal avgSalary = deptEmployees.stream()
-                                    .map(Employee::getSalary)
-                                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                                    .divide(BigDecimal.valueOf(deptEmployees.size()), 2, RoundingMode.HALF_UP);
-
-                            return Map.of(
-                                    "count", deptEmployees.size(),
-                                    "averageSalary", avgSalary,
-                                    "totalSalary", deptEmployees.stream()
-                                            .map(Employee::getSalary)
-                                            .reduce(BigDecimal.ZERO, BigDecimal::add),
-                                    "seniorCount", deptEmployees.stream()
-                                            .mapToInt(emp -> "Senior".equals(emp.getSalaryGrade()) ? 1 : 0)
-                                            .sum()
-                            );
-                        }
-                ));
+    public List<Employee> getHighSalaryEmployees(
+            IndexedRows<Employee> employees,
+            BigDecimal threshold
+    ) {
+        return employees.<BigDecimal>sortedIndex("salary").atLeast(threshold);
+    }
+
+    public List<Employee> getEmployeesByDepartment(
+            IndexedRows<Employee> employees,
+            String department
+    ) {
+        return employees.<String>hashIndex("department").get(department);
+    }
+
+    public Map<String, DepartmentStatistics> getDepartmentStatistics(List<Employee> employees) {
+        return departmentAggregator.aggregate(employees, (department, accumulator) -> accumulator.toStatistics(department));
+    }
+
+    /**
+     * Department statistics of a sheet that only grows: the first call aggregates every row, later calls map and
+     * aggregate only the rows appended since. A file that shrank or was rewritten is recomputed from the first
+     * row; call {@link #resetDepartmentStatistics} after editing rows before the last one in place.
+     */
+    public Map<String, DepartmentStatistics> refreshDepartmentStatistics(String fileName) {
+        IncrementalGroupStatistics<Employee, String, DepartmentAccumulator> statistics = departmentStatisticsByFile.computeIfAbsent(
+                fileName,
+                file -> IncrementalGroupStatistics.of(Employee::getDepartment, DepartmentAccumulator::new)
+        );
+        try {
+            long appended = statistics.appendAfter(Path.of(fileName), seen -> employeeReader.stream(fileName, seen));
+            logger.debug("Appended {} employees of {} to department statistics", appended, fileName);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read employee Excel file", e);
+        }
+        return statistics.snapshot((department, accumulator) -> accumulator.toStatistics(department));
+    }
+
+    public void resetDepartmentStatistics(String fileName) {
+        departmentStatisticsByFile.remove(fileName);
+    }
+
+    /**
+     * Same statistics as {@link #getDepartmentStatistics(List)} computed over the columns of
+     * {@link #readEmployeeTable}; salaries are reported at scale 2.
+     */
+    public Map<String, DepartmentStatistics> getDepartmentStatistics(ColumnarTable employees) {
+        ColumnarTable.DictionaryColumn departments = employees.dictionaryColumn("Department");
+        ColumnarTable.DecimalColumn salaries = employees.decimalColumn("Salary");
+        long[] counts = departments.counts();
+        BigDecimal[] totals = salaries.sumBy(departments);
+        BigDecimal[] minimums = salaries.minBy(departments);
+        BigDecimal[] maximums = salaries.maxBy(departments);
+        long[] seniors = salaries.countAtLeastBy(departments, Employee.SENIOR_SALARY);
+
+        Map<String, DepartmentStatistics> statistics = new LinkedHashMap<>();
+        for (int code = 0; code < departments.cardinality(); code++) {
+            String department = departments.getDictionary().get(code);
+            statistics.put(department, new DepartmentStatistics(
+                    department,
+                    counts[code],
+                    totals[code],
+                    totals[code].divide(BigDecimal.valueOf(counts[code]), 2, RoundingMode.HALF_UP),
+                    minimums[code],
+                    maximums[code],
+                    seniors[code]
+            ));
+        }
+        return statistics;
+    }
+
+    public List<EmployeeSalary> readHighSalaryEmployees(
+            String fileName,
+            BigDecimal threshold
+    ) {
+        try (Stream<EmployeeSalary> salaries = salaryReader.stream(fileName)) {
+            return salaries
+                    .filter(emp -> emp.getSalary() != null && emp.getSalary().compareTo(threshold) >= 0)
+                    .toList();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read employee Excel file", e);
+        }
     }
 
     public BigDecimal getCompanyTotalSalaryExpense(List<Employee> employees) {
@@ -104,4 +373,36 @@ public class EmployeeExcelService {
                 .map(Employee::getAnnualSalary)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
-}
\ No newline at end of file
+
+    public BigDecimal getCompanyTotalSalaryExpense(ColumnarTable employees) {
+        return employees.decimalColumn("Salary").sum().multiply(BigDecimal.valueOf(12));
+    }
+
+    private static final class DepartmentAccumulator implements Consumer<Employee> {
+
+        private final DecimalStatistics salary = new DecimalStatistics();
+        private long count;
+        private long seniorCount;
+
+        @Override
+        public void accept(Employee employee) {
+            count++;
+            salary.accept(employee.getSalary());
+            if ("Senior".equals(employee.getSalaryGrade())) {
+                seniorCount++;
+            }
+        }
+
+        DepartmentStatistics toStatistics(String department) {
+            return new DepartmentStatistics(
+                    department,
+                    count,
+                    salary.getSum(),
+                    salary.getAverage(2),
+                    salary.getMin(),
+                    salary.getMax(),
+                    seniorCount
+            );
+        }
+    }
+}
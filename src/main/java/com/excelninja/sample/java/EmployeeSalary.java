@@ -0,0 +1,56 @@
+package com.excelninja.sample.java;
+
+import com.excelninja.domain.annotation.ExcelReadColumn;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Read-only projection of the employee sheet for salary scans; the date columns are never decoded.
+ */
+public class EmployeeSalary {
+
+    @ExcelReadColumn(headerName = "Employee ID")
+    private Long id;
+
+    @ExcelReadColumn(headerName = "Name")
+    private String name;
+
+    @ExcelReadColumn(headerName = "Department")
+    private String department;
+
+    @ExcelReadColumn(headerName = "Salary")
+    private BigDecimal salary;
+
+    public EmployeeSalary() {}
+
+    public Long getId() {return id;}
+    public void setId(Long id) {this.id = id;}
+
+    public String getName() {return name;}
+    public void setName(String name) {this.name = name;}
+
+    public String getDepartment() {return department;}
+    public void setDepartment(String department) {this.department = department;}
+
+    public BigDecimal getSalary() {return salary;}
+    public void setSalary(BigDecimal salary) {this.salary = salary;}
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EmployeeSalary that = (EmployeeSalary) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EmployeeSalary{id=%d, name='%s', department='%s', salary=%s}", id, name, department, salary);
+    }
+}
@@ -1,5 +1,6 @@
 package com.excelninja.sample.java;
 
+import com.excelninja.sample.excel.PartitionedExcelWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
@@ -9,17 +10,20 @@ import java.io.File;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Component
 public class SampleDemoRunner implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(SampleDemoRunner.class);
+    private static final int EXPORT_THREADS = Runtime.getRuntime().availableProcessors();
     private final EmployeeExcelService excelService;
-    private final List<String> createdFiles = new ArrayList<>();
+    private final List<String> createdFiles = new CopyOnWriteArrayList<>();
 
     public SampleDemoRunner(EmployeeExcelService excelService) {
         this.excelService = excelService;
@@ -30,12 +34,12 @@ public class SampleDemoRunner implements CommandLineRunner {
         logger.info("ExcelNinja Sample Application Started!");
         logger.info("=====================================");
 
-        try {
+        try (ExecutorService exportExecutor = Executors.newFixedThreadPool(EXPORT_THREADS)) {
             createOutputDirectory();
 
             runExcelWriteDemo();
             runExcelReadDemo();
-            runDepartmentFilterDemo();
+            runDepartmentFilterDemo(exportExecutor);
             runSalaryAnalysisDemo();
 
             logger.info("=====================================");
@@ -92,7 +96,7 @@ public class SampleDemoRunner implements CommandLineRunner {
     private void runExcelReadDemo() {
         logger.info("\n=== Excel Read Demo ===");
 
-        List<Employee> readEmployees = excelService.readEmployeesFromExcel("output/employees.xlsx");
+        List<Employee> readEmployees = excelService.readCachedEmployees("output/employees.xlsx");
 
         BigDecimal totalAnnualExpense = excelService.getCompanyTotalSalaryExpense(readEmployees);
 
@@ -108,40 +112,44 @@ public class SampleDemoRunner implements CommandLineRunner {
         logger.info("  - Average monthly salary: ${}", avgSalary.longValue());
     }
 
-    private void runDepartmentFilterDemo() {
+    private void runDepartmentFilterDemo(ExecutorService exportExecutor) {
         logger.info("\n=== Department Filter Demo ===");
 
-        List<Employee> allEmployees = excelService.readEmployeesFromExcel("output/employees.xlsx");
+        List<Employee> allEmployees = excelService.readCachedEmployees("output/employees.xlsx");
 
-        String cardTeamFile = "output/card_team.xlsx";
-        String brmTeamFile = "output/brm_team.xlsx";
+        String departmentsFile = "output/departments.xlsx";
 
-        saveFileAndTrack(cardTeamFile, () ->
-                excelService.saveEmployeesByDepartment(allEmployees, "Card", cardTeamFile)
-        );
+        try {
+            Map<String, PartitionedExcelWriter.Partition> teamFiles =
+                    excelService.savePartitioned(allEmployees.stream(), Employee::getDepartment, "output/{key}_team.xlsx");
+            teamFiles.forEach((dept, partition) -> {
+                createdFiles.add(partition.fileName());
+                logger.info("File created and tracked: {} ({} employees)", partition.fileName(), partition.rowCount());
+            });
+        } catch (Exception e) {
+            logger.error("Failed to create department team files", e);
+        }
 
-        saveFileAndTrack(brmTeamFile, () ->
-                excelService.saveEmployeesByDepartment(allEmployees, "BRM", brmTeamFile)
+        saveFileAndTrack(departmentsFile, () ->
+                excelService.saveEmployeesByDepartmentSheets(allEmployees, departmentsFile, exportExecutor)
         );
 
-        Map<String, Object> deptStats = excelService.getDepartmentStatistics(allEmployees);
+        Map<String, DepartmentStatistics> deptStats = excelService.getDepartmentStatistics(allEmployees);
         logger.info("Department statistics:");
-        deptStats.forEach((dept, stats) -> {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> statMap = (Map<String, Object>) stats;
-            logger.info("  - {}: {} employees (Avg salary: ${}, Senior count: {})",
-                    dept,
-                    statMap.get("count"),
-                    ((BigDecimal) statMap.get("averageSalary")).longValue(),
-                    statMap.get("seniorCount")
-            );
-        });
+        deptStats.forEach((dept, stats) ->
+                logger.info("  - {}: {} employees (Avg salary: ${}, Senior count: {})",
+                        dept,
+                        stats.count(),
+                        stats.averageSalary().longValue(),
+                        stats.seniorCount()
+                )
+        );
     }
 
     private void runSalaryAnalysisDemo() {
         logger.info("\n=== Salary Analysis Demo (BigDecimal Precision) ===");
 
-        List<Employee> allEmployees = excelService.readEmployeesFromExcel("output/employees.xlsx");
+        List<Employee> allEmployees = excelService.readCachedEmployees("output/employees.xlsx");
 
         BigDecimal highSalaryThreshold = new BigDecimal("80000");
         List<Employee> highSalaryEmployees = excelService.getHighSalaryEmployees(allEmployees, highSalaryThreshold);
@@ -156,16 +164,21 @@ public class SampleDemoRunner implements CommandLineRunner {
                 )
         );
 
-        String seniorEmployeesFile = "output/senior_employees.xlsx";
-        String midLevelEmployeesFile = "output/mid_level_employees.xlsx";
-
-        saveFileAndTrack(seniorEmployeesFile, () ->
-                excelService.saveEmployeesBySalaryGrade(allEmployees, "Senior", seniorEmployeesFile)
-        );
-
-        saveFileAndTrack(midLevelEmployeesFile, () ->
-                excelService.saveEmployeesBySalaryGrade(allEmployees, "Mid", midLevelEmployeesFile)
-        );
+        try {
+            Map<String, PartitionedExcelWriter.Partition> gradeFiles = excelService.saveEmployeesBySalaryGrade(
+                    allEmployees.stream(),
+                    Map.of(
+                            "Senior", "output/senior_employees.xlsx",
+                            "Mid", "output/mid_level_employees.xlsx"
+                    )
+            );
+            gradeFiles.values().forEach(partition -> {
+                createdFiles.add(partition.fileName());
+                logger.info("File created and tracked: {} ({} employees)", partition.fileName(), partition.rowCount());
+            });
+        } catch (Exception e) {
+            logger.error("Failed to create salary grade files", e);
+        }
 
         logger.info("Salary grade distribution:");
         long seniorCount = allEmployees.stream().filter(emp -> "Senior".equals(emp.getSalaryGrade())).count();
@@ -0,0 +1,35 @@
+package com.excelninja.sample.jdbc;
+
+import java.util.List;
+
+/**
+ * Throughput of one {@link JdbcBulkImporter} run, overall and per stage. A stage's {@code busyMillis} is the time
+ * it spent working and {@code waitMillis} the time it spent blocked on the queue between parsing and inserting:
+ * a parser that waits is held back by the database, an inserter that waits is starved by the parser.
+ */
+public record BulkImportResult(
+        long rows,
+        long batches,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<StageResult> stages
+) {
+
+    public record StageResult(
+            String stage,
+            long busyMillis,
+            long waitMillis,
+            double rowsPerSecond
+    ) {
+
+        static StageResult of(
+                String stage,
+                long rows,
+                long busyNanos,
+                long waitNanos
+        ) {
+            double seconds = Math.max(busyNanos, 1) / 1_000_000_000.0;
+            return new StageResult(stage, busyNanos / 1_000_000, waitNanos / 1_000_000, rows / seconds);
+        }
+    }
+}
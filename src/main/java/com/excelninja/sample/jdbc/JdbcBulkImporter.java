@@ -0,0 +1,314 @@
+package com.excelninja.sample.jdbc;
+
+import com.excelninja.sample.excel.StreamingExcelReader;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads the rows of a workbook into a table with JDBC batch inserts, parsing and inserting at the same time. The
+ * calling thread parses rows and converts each into its column values; full batches go through a queue of at most
+ * {@code queueCapacity} batches to an insert thread, which binds them and runs one {@code executeBatch} and commit
+ * per batch. A slow database therefore holds the parser back instead of letting parsed rows pile up.
+ * <p>
+ * Batches commit one by one: when an insert fails, the batches committed before it stay in the table, the parser
+ * stops at its next row and the failure is rethrown once both threads have finished.
+ */
+public final class JdbcBulkImporter<T> {
+
+    private static final Object[][] END = new Object[0][];
+
+    private final StreamingExcelReader<T> reader;
+    private final String table;
+    private final String sql;
+    private final List<Function<? super T, ?>> columns;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    private JdbcBulkImporter(Builder<T> builder) {
+        if (builder.table == null || builder.columns.isEmpty()) {
+            throw new IllegalArgumentException("A table and at least one column must be configured");
+        }
+        this.reader = builder.reader != null ? builder.reader : StreamingExcelReader.builder(builder.type).build();
+        this.table = builder.table;
+        this.columns = List.copyOf(builder.columns.values());
+        this.sql = "INSERT INTO " + table + " (" + String.join(", ", builder.columns.keySet()) + ") VALUES ("
+                   + builder.columns.keySet().stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+        this.batchSize = builder.batchSize;
+        this.queueCapacity = builder.queueCapacity;
+    }
+
+    public static <T> Builder<T> builder(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    public String getSql() {return sql;}
+
+    public BulkImportResult importFile(
+            String fileName,
+            DataSource dataSource
+    ) {
+        try (Stream<T> rows = reader.stream(fileName)) {
+            return importRows(rows, dataSource);
+        }
+    }
+
+    /**
+     * Imports a workbook from a forward-only stream such as an upload body; {@code in} is closed once read.
+     */
+    public BulkImportResult importStream(
+            InputStream in,
+            DataSource dataSource
+    ) {
+        try (Stream<T> rows = reader.stream(in)) {
+            return importRows(rows, dataSource);
+        }
+    }
+
+    public BulkImportResult importRows(
+            Stream<T> rows,
+            DataSource dataSource
+    ) {
+        long started = System.nanoTime();
+        BlockingQueue<Object[][]> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Inserter inserter = new Inserter(dataSource, queue);
+        Thread thread = Thread.ofVirtual().name("excel-import-" + table).start(inserter);
+        long parsed = 0;
+        long batches = 0;
+        long parseNanos = 0;
+        long convertNanos = 0;
+        long blockedNanos = 0;
+        try {
+            Iterator<T> iterator = rows.iterator();
+            Object[][] batch = new Object[batchSize][];
+            int size = 0;
+            while (inserter.failure == null) {
+                long parseStarted = System.nanoTime();
+                if (!iterator.hasNext()) {
+                    parseNanos += System.nanoTime() - parseStarted;
+                    break;
+                }
+                T row = iterator.next();
+                long convertStarted = System.nanoTime();
+                batch[size++] = convert(row);
+                long converted = System.nanoTime();
+                parseNanos += convertStarted - parseStarted;
+                convertNanos += converted - convertStarted;
+                parsed++;
+                if (size == batchSize) {
+                    queue.put(batch);
+                    blockedNanos += System.nanoTime() - converted;
+                    batches++;
+                    batch = new Object[batchSize][];
+                    size = 0;
+                }
+            }
+            if (size > 0 && inserter.failure == null) {
+                long blocked = System.nanoTime();
+                queue.put(Arrays.copyOf(batch, size));
+                blockedNanos += System.nanoTime() - blocked;
+                batches++;
+            }
+            queue.put(END);
+            thread.join();
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing into " + table, e);
+        } catch (RuntimeException e) {
+            stop(queue, thread);
+            throw e;
+        }
+        if (inserter.failure != null) {
+            throw new IllegalStateException("Failed to insert into " + table, inserter.failure);
+        }
+        long elapsed = System.nanoTime() - started;
+        return new BulkImportResult(
+                parsed,
+                batches,
+                elapsed / 1_000_000,
+                parsed / (Math.max(elapsed, 1) / 1_000_000_000.0),
+                List.of(
+                        BulkImportResult.StageResult.of("parse", parsed, parseNanos, blockedNanos),
+                        BulkImportResult.StageResult.of("convert", parsed, convertNanos, 0),
+                        BulkImportResult.StageResult.of("insert", inserter.rows, inserter.insertNanos, inserter.waitNanos)
+                )
+        );
+    }
+
+    private Object[] convert(T row) {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = columns.get(i).apply(row);
+        }
+        return values;
+    }
+
+    /**
+     * Ends the insert thread after a parse failure, letting it commit the batches already queued.
+     */
+    private static void stop(
+            BlockingQueue<Object[][]> queue,
+            Thread thread
+    ) {
+        try {
+            queue.put(END);
+            thread.join();
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Inserter implements Runnable {
+
+        private final DataSource dataSource;
+        private final BlockingQueue<Object[][]> queue;
+        private volatile Exception failure;
+        private long rows;
+        private long insertNanos;
+        private long waitNanos;
+
+        Inserter(
+                DataSource dataSource,
+                BlockingQueue<Object[][]> queue
+        ) {
+            this.dataSource = dataSource;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                insertAll();
+            } catch (SQLException | RuntimeException e) {
+                failure = e;
+                drain();
+            } catch (InterruptedException e) {
+                failure = e;
+            }
+        }
+
+        private void insertAll() throws SQLException, InterruptedException {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+                connection.setAutoCommit(false);
+                while (true) {
+                    long waitStarted = System.nanoTime();
+                    Object[][] batch = queue.take();
+                    long insertStarted = System.nanoTime();
+                    waitNanos += insertStarted - waitStarted;
+                    if (batch == END) {
+                        return;
+                    }
+                    try {
+                        for (Object[] values : batch) {
+                            for (int i = 0; i < values.length; i++) {
+                                statement.setObject(i + 1, values[i]);
+                            }
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                        connection.commit();
+                    } catch (SQLException | RuntimeException e) {
+                        try {
+                            connection.rollback();
+                        } catch (SQLException rollback) {
+                            e.addSuppressed(rollback);
+                        }
+                        throw e;
+                    }
+                    rows += batch.length;
+                    insertNanos += System.nanoTime() - insertStarted;
+                }
+            }
+        }
+
+        /**
+         * Keeps taking batches after a failure until the parser ends the queue, so that it never blocks on a full one.
+         */
+        private void drain() {
+            try {
+                while (queue.take() != END) {
+                    // discarded
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> type;
+        private final Map<String, Function<? super T, ?>> columns = new LinkedHashMap<>();
+        private StreamingExcelReader<T> reader;
+        private String table;
+        private int batchSize = 1_000;
+        private int queueCapacity = 4;
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Reads rows with {@code reader}, for example one that interns low-cardinality columns, instead of a default one.
+         */
+        public Builder<T> reader(StreamingExcelReader<T> reader) {
+            this.reader = reader;
+            return this;
+        }
+
+        public Builder<T> table(String table) {
+            this.table = table;
+            return this;
+        }
+
+        /**
+         * Inserts {@code value} of each row into {@code column}; values are bound with {@code setObject}.
+         */
+        public Builder<T> column(
+                String column,
+                Function<? super T, ?> value
+        ) {
+            columns.put(column, value);
+            return this;
+        }
+
+        public Builder<T> batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Batches that may wait for the insert thread before the parser blocks.
+         */
+        public Builder<T> queueCapacity(int queueCapacity) {
+            if (queueCapacity < 1) {
+                throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public JdbcBulkImporter<T> build() {
+            return new JdbcBulkImporter<>(this);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.excelNinja.sample
+
+import java.math.BigDecimal
+
+data class CategoryStatistics(
+    val category: String,
+    val count: Int,
+    val totalValue: BigDecimal,
+    val averagePrice: BigDecimal,
+    val minPrice: BigDecimal,
+    val maxPrice: BigDecimal,
+    val totalStock: Int,
+    val lowStockCount: Int
+)
@@ -163,9 +163,9 @@ class KotlinTestRunner(
             logger.info(
                 "  - {}: {} items, Total Value: {}, Avg Price: {}",
                 category,
-                stats["count"],
-                stats["totalValue"],
-                stats["averagePrice"]
+                stats.count,
+                stats.totalValue,
+                stats.averagePrice
             )
         }
     }
@@ -267,10 +267,10 @@ class KotlinTestRunner(
             logger.info(
                 "  - {}: {} students (Avg GPA: {}, Honor: {}, Scholarship: {})",
                 major,
-                stats["count"],
-                String.format("%.2f", stats["averageGPA"]),
-                stats["honorStudents"],
-                stats["scholarshipStudents"]
+                stats.count,
+                String.format("%.2f", stats.averageGPA),
+                stats.honorStudents,
+                stats.scholarshipStudents
             )
         }
     }
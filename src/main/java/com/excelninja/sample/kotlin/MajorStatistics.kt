@@ -0,0 +1,11 @@
+package com.excelNinja.sample
+
+data class MajorStatistics(
+    val major: String,
+    val count: Int,
+    val averageGPA: Double,
+    val minGPA: Double,
+    val maxGPA: Double,
+    val honorStudents: Int,
+    val scholarshipStudents: Int
+)
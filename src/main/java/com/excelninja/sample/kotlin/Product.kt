@@ -35,7 +35,7 @@ data class Product(
     var createdAt: LocalDateTime? = null,
 ) {
 
-    fun isLowStock(): Boolean = stockQuantity < 10
+    fun isLowStock(): Boolean = stockQuantity < LOW_STOCK_THRESHOLD
 
     fun getTotalValue(): BigDecimal = price.multiply(stockQuantity.toBigDecimal())
 
@@ -45,7 +45,12 @@ data class Product(
 
     fun getPriceCategory(): String = when {
         price < BigDecimal(100) -> "Budget"
-        price < BigDecimal(1000) -> "Mid-range"
+        price < PREMIUM_PRICE -> "Mid-range"
         else -> "Premium"
     }
-}
\ No newline at end of file
+
+    companion object {
+        const val LOW_STOCK_THRESHOLD = 10
+        val PREMIUM_PRICE: BigDecimal = BigDecimal(1000)
+    }
+}
@@ -2,20 +2,85 @@ package com.excelNinja.sample
 
 import com.excelninja.application.facade.NinjaExcel
 import com.excelninja.domain.model.ExcelWorkbook
+import com.excelninja.sample.excel.CellPredicate
+import com.excelninja.sample.excel.ColumnarExcelReader
+import com.excelninja.sample.excel.ColumnarTable
+import com.excelninja.sample.excel.ExcelMetrics
+import com.excelninja.sample.excel.InvalidPageRequestException
+import com.excelninja.sample.excel.MappedSheetReader
+import com.excelninja.sample.excel.ResultSetExcelWriter
+import com.excelninja.sample.excel.SheetPage
+import com.excelninja.sample.excel.StreamingExcelReader
+import com.excelninja.sample.excel.StreamingExcelWriter
+import com.excelninja.sample.excel.WorkbookCache
+import com.excelninja.sample.index.IndexedRows
+import com.excelninja.sample.jdbc.BulkImportResult
+import com.excelninja.sample.jdbc.JdbcBulkImporter
+import com.excelninja.sample.stats.DecimalStatistics
+import com.excelninja.sample.stats.GroupAggregator
+import com.excelninja.sample.stats.IncrementalGroupStatistics
 import org.slf4j.LoggerFactory
 import org.springframework.stereotype.Service
 import java.math.BigDecimal
 import java.math.RoundingMode
+import java.nio.file.Path
+import java.util.concurrent.ConcurrentHashMap
+import java.util.function.Consumer
+import javax.sql.DataSource
 
 @Service
 class ProductService {
 
     private val logger = LoggerFactory.getLogger(ProductService::class.java)
+    private val metrics = ExcelMetrics.global()
+    private val workbookCache = WorkbookCache.global()
+    private val productWriter = StreamingExcelWriter.builder(Product::class.java)
+        .sheetName("Product Inventory")
+        .build()
+    private val productReader = StreamingExcelReader.builder(Product::class.java)
+        .intern("Category")
+        .build()
+    private val lowStockReader = StreamingExcelReader.builder(Product::class.java)
+        .where("Stock Quantity", CellPredicate.lessThan(Product.LOW_STOCK_THRESHOLD.toDouble()))
+        .intern("Category")
+        .build()
+    private val productExporter = ResultSetExcelWriter.builder(Product::class.java)
+        .sheetName("Product Inventory")
+        .build()
+    private val productRowReader = MappedSheetReader.builder(Product::class.java).build()
+    private val productImporter = JdbcBulkImporter.builder(Product::class.java)
+        .reader(productReader)
+        .table("products")
+        .column("id") { it.id }
+        .column("name") { it.name }
+        .column("category") { it.category }
+        .column("price") { it.price }
+        .column("stock_quantity") { it.stockQuantity }
+        .column("is_active") { it.isActive }
+        .column("created_at") { it.createdAt }
+        .build()
+    private val productTableReader = ColumnarExcelReader.builder()
+        .dictionaryColumn("Category")
+        .decimalColumn("Price", 2)
+        .longColumn("Stock Quantity")
+        .booleanColumn("Is Active")
+        .build()
+    private val categoryAggregator = GroupAggregator.of<Product, String, CategoryAccumulator>(
+        { it.category },
+        { CategoryAccumulator() }
+    )
+    private val productIndexes = IndexedRows.define<Product>()
+        .hash("category") { it.category }
+        .sorted("price") { it.price }
+    private val categoryStatisticsByFile =
+        ConcurrentHashMap<String, IncrementalGroupStatistics<Product, String, CategoryAccumulator>>()
 
     fun saveProductsToExcel(products: List<Product>, fileName: String) {
         try {
             val document = ExcelWorkbook.builder().sheet("Product Inventory", products).build()
-            NinjaExcel.write(document, fileName)
+            metrics.timeWrite(Product::class.java, "Product Inventory", fileName, products.size.toLong()) {
+                NinjaExcel.write(document, fileName)
+            }
             logger.info("Successfully saved {} products to {}", products.size, fileName)
         } catch (e: Exception) {
             logger.error("Failed to save products Excel file: {}", e.message)
@@ -23,9 +88,19 @@ class ProductService {
         }
     }
 
+    fun saveProductsToExcel(products: Sequence<Product>, fileName: String) {
+        try {
+            val written = productWriter.write(products.iterator(), fileName)
+            logger.info("Successfully streamed {} products to {}", written, fileName)
+        } catch (e: Exception) {
+            logger.error("Failed to save products Excel file: {}", e.message)
+            throw RuntimeException("Failed to save products Excel file", e)
+        }
+    }
+
     fun readProductsFromExcel(fileName: String): List<Product> {
         return try {
-            val products = NinjaExcel.read(fileName, Product::class.java)
+            val products = readProductRows(fileName)
             logger.info("Successfully read {} products from {}", products.size, fileName)
             products
         } catch (e: Exception) {
@@ -34,10 +109,113 @@ class ProductService {
         }
     }
 
+    /**
+     * Like [readProductsFromExcel], but served from [WorkbookCache.global] while the file is unchanged, so repeated
+     * reads skip parsing. The list is unmodifiable and its products are shared with every other caller, so they
+     * must not be modified either.
+     */
+    fun readCachedProducts(fileName: String): List<Product> {
+        return try {
+            workbookCache.read(fileName, Product::class.java) { readProductRows(fileName) }
+        } catch (e: Exception) {
+            logger.error("Failed to read products Excel file: {}", e.message)
+            throw RuntimeException("Failed to read products Excel file", e)
+        }
+    }
+
+    /**
+     * Products of [fileName] with a hash index on category and a sorted index on price. The indexes are built once
+     * per cached workbook and rebuilt when the file changes.
+     */
+    fun indexProducts(fileName: String): IndexedRows<Product> {
+        return try {
+            workbookCache.view(fileName, Product::class.java, { readProductRows(fileName) }, productIndexes)
+        } catch (e: Exception) {
+            logger.error("Failed to read products Excel file: {}", e.message)
+            throw RuntimeException("Failed to read products Excel file", e)
+        }
+    }
+
+    /**
+     * One page of [fileName] for a paged grid, resumed from the [cursor] of the previous page. Pages are cut from
+     * the memory-mapped row index of [MappedSheetReader], so only the page's rows are parsed wherever it starts.
+     * A malformed or outdated cursor or a non-positive [limit] is rethrown as the [InvalidPageRequestException] it
+     * is; failures to read or convert the rows are wrapped like every other read failure.
+     */
+    fun readProductPage(fileName: String, cursor: String?, limit: Int): SheetPage<Product> {
+        return try {
+            productRowReader.open(fileName).page(cursor, limit)
+        } catch (e: InvalidPageRequestException) {
+            throw e
+        } catch (e: Exception) {
+            logger.error("Failed to read products Excel file: {}", e.message)
+            throw RuntimeException("Failed to read products Excel file", e)
+        }
+    }
+
+    private fun readProductRows(fileName: String): List<Product> =
+        metrics.timeRead(Product::class.java, fileName) {
+            NinjaExcel.read(fileName, Product::class.java)
+        }
+
+    /**
+     * Loads [fileName] into the `products` table with batched inserts running alongside parsing, instead of reading
+     * the whole list first and saving it row by row.
+     */
+    fun importProducts(fileName: String, dataSource: DataSource): BulkImportResult {
+        return try {
+            val result = productImporter.importFile(fileName, dataSource)
+            logger.info("Imported {} products into products in {} ms ({} rows/s)",
+                result.rows(), result.elapsedMillis(), Math.round(result.rowsPerSecond()))
+            result
+        } catch (e: Exception) {
+            logger.error("Failed to import products Excel file: {}", e.message)
+            throw RuntimeException("Failed to import products Excel file", e)
+        }
+    }
+
+    /**
+     * Writes the `products` table to [fileName] straight from the database cursor, row by row, instead of loading a
+     * product list for [saveProductsToExcel] first. The query's columns are matched to the [Product] columns by name.
+     */
+    fun exportProducts(dataSource: DataSource, fileName: String): Long {
+        return try {
+            val written = productExporter.write(dataSource, EXPORT_QUERY, fileName)
+            logger.info("Successfully exported {} products to {}", written, fileName)
+            written
+        } catch (e: Exception) {
+            logger.error("Failed to export products Excel file: {}", e.message)
+            throw RuntimeException("Failed to export products Excel file", e)
+        }
+    }
+
+    /**
+     * Reads only the category, price, stock and active columns into primitive arrays for [getProductStatistics].
+     */
+    fun readProductTable(fileName: String): ColumnarTable {
+        return try {
+            productTableReader.read(fileName)
+        } catch (e: Exception) {
+            logger.error("Failed to read products Excel file: {}", e.message)
+            throw RuntimeException("Failed to read products Excel file", e)
+        }
+    }
+
     fun getLowStockProducts(products: List<Product>): List<Product> {
         return products.filter { it.isLowStock() }
     }
 
+    fun readLowStockProducts(fileName: String): List<Product> {
+        return try {
+            val products = lowStockReader.stream(fileName).use { it.toList() }
+            logger.info("Found {} low stock products in {}", products.size, fileName)
+            products
+        } catch (e: Exception) {
+            logger.error("Failed to read products Excel file: {}", e.message)
+            throw RuntimeException("Failed to read products Excel file", e)
+        }
+    }
+
     fun getProductsByPriceRange(
         products: List<Product>,
         minPrice: BigDecimal,
@@ -46,6 +224,18 @@ class ProductService {
         return products.filter { it.price >= minPrice && it.price <= maxPrice }
     }
 
+    fun getProductsByPriceRange(
+        products: IndexedRows<Product>,
+        minPrice: BigDecimal,
+        maxPrice: BigDecimal
+    ): List<Product> {
+        return products.sortedIndex<BigDecimal>("price").range(minPrice, maxPrice)
+    }
+
+    fun getProductsByCategory(products: IndexedRows<Product>, category: String): List<Product> {
+        return products.hashIndex<String>("category").get(category)
+    }
+
     fun getPremiumProducts(products: List<Product>): List<Product> {
         return products.filter { it.getPriceCategory() == "Premium" }
     }
@@ -84,24 +274,79 @@ class ProductService {
         )
     }
 
-    fun getCategoryStatistics(products: List<Product>): Map<String, Map<String, Any>> {
-        return products.groupBy { it.category }.mapValues { (_, categoryProducts) ->
-            val totalValue = categoryProducts.sumOf { it.getTotalValue() }
-            val averagePrice = if (categoryProducts.isNotEmpty()) {
-                categoryProducts.map { it.price }
-                    .fold(BigDecimal.ZERO) { acc, price -> acc.add(price) }
-                    .divide(BigDecimal(categoryProducts.size), 2, RoundingMode.HALF_UP)
-            } else {
-                BigDecimal.ZERO
-            }
+    fun getProductStatistics(products: ColumnarTable): Map<String, Any> {
+        val price = products.decimalColumn("Price")
+        val stock = products.longColumn("Stock Quantity")
 
-            mapOf(
-                "count" to categoryProducts.size,
-                "totalValue" to totalValue,
-                "averagePrice" to averagePrice,
-                "totalStock" to categoryProducts.sumOf { it.stockQuantity },
-                "lowStockCount" to categoryProducts.count { it.isLowStock() }
-            )
+        return mapOf(
+            "totalProducts" to products.rowCount,
+            "totalValue" to price.sumProduct(stock),
+            "averagePrice" to price.average(2),
+            "totalStock" to stock.sum(),
+            "activeProducts" to products.booleanColumn("Is Active").countTrue(),
+            "lowStockCount" to stock.countBelow(Product.LOW_STOCK_THRESHOLD.toLong()),
+            "premiumProductCount" to price.countAtLeast(Product.PREMIUM_PRICE)
+        )
+    }
+
+    fun getCategoryStatistics(products: List<Product>): Map<String, CategoryStatistics> {
+        return categoryAggregator.aggregate(products) { category, accumulator -> accumulator.toStatistics(category) }
+    }
+
+    /**
+     * Category statistics of an inventory sheet that only grows: the first call aggregates every row, later calls
+     * map and aggregate only the rows appended since. A file that shrank or was rewritten is recomputed from the
+     * first row; call [resetCategoryStatistics] after editing rows before the last one in place.
+     */
+    fun refreshCategoryStatistics(fileName: String): Map<String, CategoryStatistics> {
+        val statistics = categoryStatisticsByFile.computeIfAbsent(fileName) {
+            IncrementalGroupStatistics.of<Product, String, CategoryAccumulator>({ it.category }, { CategoryAccumulator() })
+        }
+        try {
+            val appended = statistics.appendAfter(Path.of(fileName)) { seen -> productReader.stream(fileName, seen) }
+            logger.debug("Appended {} products of {} to category statistics", appended, fileName)
+        } catch (e: Exception) {
+            logger.error("Failed to read products Excel file: {}", e.message)
+            throw RuntimeException("Failed to read products Excel file", e)
         }
+        return statistics.snapshot { category, accumulator -> accumulator.toStatistics(category) }
+    }
+
+    fun resetCategoryStatistics(fileName: String) {
+        categoryStatisticsByFile.remove(fileName)
+    }
+
+    private class CategoryAccumulator : Consumer<Product> {
+        private val price = DecimalStatistics()
+        private var count = 0
+        private var totalValue = BigDecimal.ZERO
+        private var totalStock = 0
+        private var lowStockCount = 0
+
+        override fun accept(product: Product) {
+            count++
+            price.accept(product.price)
+            totalValue = totalValue.add(product.getTotalValue())
+            totalStock += product.stockQuantity
+            if (product.isLowStock()) {
+                lowStockCount++
+            }
+        }
+
+        fun toStatistics(category: String) = CategoryStatistics(
+            category = category,
+            count = count,
+            totalValue = totalValue,
+            averagePrice = price.getAverage(2),
+            minPrice = price.min,
+            maxPrice = price.max,
+            totalStock = totalStock,
+            lowStockCount = lowStockCount
+        )
+    }
+
+    companion object {
+        private const val EXPORT_QUERY =
+            "SELECT id, name, category, price, stock_quantity, is_active, created_at FROM products ORDER BY id"
     }
-}
\ No newline at end of file
+}
@@ -41,7 +41,11 @@ data class Student(
         else -> "Graduate"
     }
 
-    fun isHonorStudent(): Boolean = gpa >= 3.5
+    fun isHonorStudent(): Boolean = gpa >= HONOR_GPA
 
     fun getEmailDomain(): String = email.substringAfter("@", "unknown")
-}
\ No newline at end of file
+
+    companion object {
+        const val HONOR_GPA = 3.5
+    }
+}
@@ -2,32 +2,79 @@ package com.excelNinja.sample
 
 import com.excelninja.application.facade.NinjaExcel
 import com.excelninja.domain.model.ExcelWorkbook
+import com.excelninja.sample.excel.CellPredicate
+import com.excelninja.sample.excel.ColumnarExcelReader
+import com.excelninja.sample.excel.ColumnarTable
+import com.excelninja.sample.excel.ExcelMetrics
+import com.excelninja.sample.excel.StreamingExcelReader
+import com.excelninja.sample.excel.StreamingExcelWriter
+import com.excelninja.sample.excel.WorkbookCache
+import com.excelninja.sample.index.IndexedRows
+import com.excelninja.sample.jdbc.BulkImportResult
+import com.excelninja.sample.jdbc.JdbcBulkImporter
+import com.excelninja.sample.stats.GroupAggregator
+import com.excelninja.sample.stats.IncrementalGroupStatistics
 import org.slf4j.LoggerFactory
 import org.springframework.stereotype.Service
+import java.nio.file.Path
+import java.util.DoubleSummaryStatistics
+import java.util.concurrent.ConcurrentHashMap
+import java.util.function.Consumer
+import javax.sql.DataSource
 
 @Service
 class StudentService {
 
     private val logger = LoggerFactory.getLogger(StudentService::class.java)
+    private val metrics = ExcelMetrics.global()
+    private val workbookCache = WorkbookCache.global()
+    private val studentWriter = StreamingExcelWriter.builder(Student::class.java)
+        .sheetName("Student Records")
+        .build()
+    private val studentReader = StreamingExcelReader.builder(Student::class.java)
+        .intern("Major")
+        .build()
+    private val honorStudentReader = StreamingExcelReader.builder(Student::class.java)
+        .where("GPA", CellPredicate.greaterThanOrEqual(Student.HONOR_GPA))
+        .intern("Major")
+        .build()
+    private val studentImporter = JdbcBulkImporter.builder(Student::class.java)
+        .reader(studentReader)
+        .table("students")
+        .column("student_id") { it.studentId }
+        .column("name") { it.name }
+        .column("email") { it.email }
+        .column("major") { it.major }
+        .column("grade") { it.grade }
+        .column("gpa") { it.gpa }
+        .column("has_scholarship") { it.hasScholarship }
+        .build()
+    private val studentTableReader = ColumnarExcelReader.builder()
+        .dictionaryColumn("Major")
+        .doubleColumn("GPA")
+        .booleanColumn("Has Scholarship")
+        .build()
+    private val majorAggregator = GroupAggregator.of<Student, String, MajorAccumulator>(
+        { it.major },
+        { MajorAccumulator() }
+    )
+    private val studentIndexes = IndexedRows.define<Student>()
+        .hash("major") { it.major }
+        .hash("grade") { it.grade }
+        .sorted("gpa") { it.gpa }
+    private val majorStatisticsByFile =
+        ConcurrentHashMap<String, IncrementalGroupStatistics<Student, String, MajorAccumulator>>()
 
     fun saveStudentsToExcel(students: List<Student>, fileName: String) {
         try {
             val startTime = System.currentTimeMillis()
 
-            // Create output directory if it doesn't exist - more explicit approach
-            val file = java.io.File(fileName)
-            val parentDir = file.parentFile
-            if (parentDir != null && !parentDir.exists()) {
-                val created = parentDir.mkdirs()
-                if (created) {
-                    logger.info("Created directory: {}", parentDir.absolutePath)
-                } else {
-                    logger.warn("Failed to create directory: {}", parentDir.absolutePath)
-                }
-            }
+            createParentDirectory(fileName)
 
             val document = ExcelWorkbook.builder().sheet("Student Records",students).build()
-            NinjaExcel.write(document, fileName)
+            metrics.timeWrite(Student::class.java, "Student Records", fileName, students.size.toLong()) {
+                NinjaExcel.write(document, fileName)
+            }
 
             val duration = System.currentTimeMillis() - startTime
             logger.info(
@@ -45,11 +92,42 @@ class StudentService {
         }
     }
 
+    fun saveStudentsToExcel(students: Sequence<Student>, fileName: String) {
+        try {
+            val startTime = System.currentTimeMillis()
+
+            createParentDirectory(fileName)
+            val written = studentWriter.write(students.iterator(), fileName)
+
+            val duration = System.currentTimeMillis() - startTime
+            logger.info(
+                "Streamed {} students to {} (Duration: {}ms)",
+                written, fileName, duration
+            )
+        } catch (e: Exception) {
+            logger.error("Error saving students: {}", e.message)
+            throw RuntimeException("Failed to save students Excel file", e)
+        }
+    }
+
+    // Create output directory if it doesn't exist - more explicit approach
+    private fun createParentDirectory(fileName: String) {
+        val parentDir = java.io.File(fileName).parentFile
+        if (parentDir != null && !parentDir.exists()) {
+            val created = parentDir.mkdirs()
+            if (created) {
+                logger.info("Created directory: {}", parentDir.absolutePath)
+            } else {
+                logger.warn("Failed to create directory: {}", parentDir.absolutePath)
+            }
+        }
+    }
+
     fun readStudentsFromExcel(fileName: String): List<Student> {
         return try {
             val startTime = System.currentTimeMillis()
 
-            val students = NinjaExcel.read(fileName, Student::class.java)
+            val students = readStudentRows(fileName)
 
             val duration = System.currentTimeMillis() - startTime
             logger.info(
@@ -64,10 +142,105 @@ class StudentService {
         }
     }
 
+    /**
+     * Like [readStudentsFromExcel], but served from [WorkbookCache.global] while the file is unchanged, so repeated
+     * reads skip parsing. The list is unmodifiable and its students are shared with every other caller, so they
+     * must not be modified either.
+     */
+    fun readCachedStudents(fileName: String): List<Student> {
+        return try {
+            workbookCache.read(fileName, Student::class.java) { readStudentRows(fileName) }
+        } catch (e: Exception) {
+            logger.error("Error reading students: {}", e.message)
+            throw RuntimeException("Failed to read students Excel file", e)
+        }
+    }
+
+    /**
+     * Students of [fileName] with hash indexes on major and grade and a sorted index on GPA. The indexes are built
+     * once per cached workbook and rebuilt when the file changes.
+     */
+    fun indexStudents(fileName: String): IndexedRows<Student> {
+        return try {
+            workbookCache.view(fileName, Student::class.java, { readStudentRows(fileName) }, studentIndexes)
+        } catch (e: Exception) {
+            logger.error("Error reading students: {}", e.message)
+            throw RuntimeException("Failed to read students Excel file", e)
+        }
+    }
+
+    private fun readStudentRows(fileName: String): List<Student> =
+        metrics.timeRead(Student::class.java, fileName) {
+            NinjaExcel.read(fileName, Student::class.java)
+        }
+
+    /**
+     * Loads [fileName] into the `students` table with batched inserts running alongside parsing, instead of reading
+     * the whole list first and saving it row by row.
+     */
+    fun importStudents(fileName: String, dataSource: DataSource): BulkImportResult {
+        return try {
+            val result = studentImporter.importFile(fileName, dataSource)
+            logger.info("Imported {} students into students in {} ms ({} rows/s)",
+                result.rows(), result.elapsedMillis(), Math.round(result.rowsPerSecond()))
+            result
+        } catch (e: Exception) {
+            logger.error("Error importing students: {}", e.message)
+            throw RuntimeException("Failed to import students Excel file", e)
+        }
+    }
+
+    /**
+     * Reads only the major, GPA and scholarship columns into primitive arrays for [getMajorStatistics].
+     */
+    fun readStudentTable(fileName: String): ColumnarTable {
+        return try {
+            studentTableReader.read(fileName)
+        } catch (e: Exception) {
+            logger.error("Error reading students: {}", e.message)
+            throw RuntimeException("Failed to read students Excel file", e)
+        }
+    }
+
+    fun readStudentsByMajor(fileName: String, major: String): List<Student> {
+        val majorReader = StreamingExcelReader.builder(Student::class.java)
+            .where("Major", CellPredicate.equalTo(major))
+            .intern("Major")
+            .build()
+        return readMatchingStudents(majorReader, fileName)
+    }
+
+    fun readHonorStudents(fileName: String): List<Student> {
+        return readMatchingStudents(honorStudentReader, fileName)
+    }
+
+    private fun readMatchingStudents(reader: StreamingExcelReader<Student>, fileName: String): List<Student> {
+        return try {
+            val startTime = System.currentTimeMillis()
+
+            val students = reader.stream(fileName).use { it.toList() }
+
+            val duration = System.currentTimeMillis() - startTime
+            logger.info(
+                "Read {} matching students from {} (Duration: {}ms)",
+                students.size, fileName, duration
+            )
+
+            students
+        } catch (e: Exception) {
+            logger.error("Error reading students: {}", e.message)
+            throw RuntimeException("Failed to read students Excel file", e)
+        }
+    }
+
     fun getStudentsByMajor(students: List<Student>, major: String): List<Student> {
         return students.filter { it.major == major }
     }
 
+    fun getStudentsByMajor(students: IndexedRows<Student>, major: String): List<Student> {
+        return students.hashIndex<String>("major").get(major)
+    }
+
     fun getHonorStudents(students: List<Student>): List<Student> {
         return students.filter { it.isHonorStudent() }
     }
@@ -80,20 +253,87 @@ class StudentService {
         return students.filter { it.grade == grade }
     }
 
-    fun getMajorStatistics(students: List<Student>): Map<String, Map<String, Any>> {
-        return students.groupBy { it.major }.mapValues { (_, majorStudents) ->
-            val averageGPA = if (majorStudents.isNotEmpty()) {
-                majorStudents.sumOf { it.gpa } / majorStudents.size
-            } else {
-                0.0
-            }
+    fun getStudentsByGrade(students: IndexedRows<Student>, grade: Int): List<Student> {
+        return students.hashIndex<Int>("grade").get(grade)
+    }
+
+    fun getStudentsByGpaRange(students: IndexedRows<Student>, minGpa: Double, maxGpa: Double): List<Student> {
+        return students.sortedIndex<Double>("gpa").range(minGpa, maxGpa)
+    }
+
+    fun getMajorStatistics(students: List<Student>): Map<String, MajorStatistics> {
+        return majorAggregator.aggregate(students) { major, accumulator -> accumulator.toStatistics(major) }
+    }
 
-            mapOf(
-                "count" to majorStudents.size,
-                "averageGPA" to averageGPA,
-                "honorStudents" to majorStudents.count { it.isHonorStudent() },
-                "scholarshipStudents" to majorStudents.count { it.hasScholarship }
+    fun getMajorStatistics(students: ColumnarTable): Map<String, MajorStatistics> {
+        val majors = students.dictionaryColumn("Major")
+        val gpa = students.doubleColumn("GPA")
+        val counts = majors.counts()
+        val gpaSums = gpa.sumBy(majors)
+        val minGpa = gpa.minBy(majors)
+        val maxGpa = gpa.maxBy(majors)
+        val honorStudents = gpa.countAtLeastBy(majors, Student.HONOR_GPA)
+        val scholarshipStudents = students.booleanColumn("Has Scholarship").countTrueBy(majors)
+
+        return majors.dictionary.withIndex().associate { (code, major) ->
+            major to MajorStatistics(
+                major = major,
+                count = counts[code].toInt(),
+                averageGPA = gpaSums[code] / counts[code],
+                minGPA = minGpa[code],
+                maxGPA = maxGpa[code],
+                honorStudents = honorStudents[code].toInt(),
+                scholarshipStudents = scholarshipStudents[code].toInt()
             )
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Major statistics of a sheet that only grows: the first call aggregates every row, later calls map and
+     * aggregate only the rows appended since. A file that shrank or was rewritten is recomputed from the first row;
+     * call [resetMajorStatistics] after editing rows before the last one in place.
+     */
+    fun refreshMajorStatistics(fileName: String): Map<String, MajorStatistics> {
+        val statistics = majorStatisticsByFile.computeIfAbsent(fileName) {
+            IncrementalGroupStatistics.of<Student, String, MajorAccumulator>({ it.major }, { MajorAccumulator() })
+        }
+        try {
+            val appended = statistics.appendAfter(Path.of(fileName)) { seen -> studentReader.stream(fileName, seen) }
+            logger.debug("Appended {} students of {} to major statistics", appended, fileName)
+        } catch (e: Exception) {
+            logger.error("Failed to read students Excel file: {}", e.message)
+            throw RuntimeException("Failed to read students Excel file", e)
+        }
+        return statistics.snapshot { major, accumulator -> accumulator.toStatistics(major) }
+    }
+
+    fun resetMajorStatistics(fileName: String) {
+        majorStatisticsByFile.remove(fileName)
+    }
+
+    private class MajorAccumulator : Consumer<Student> {
+        private val gpa = DoubleSummaryStatistics()
+        private var honorStudents = 0
+        private var scholarshipStudents = 0
+
+        override fun accept(student: Student) {
+            gpa.accept(student.gpa)
+            if (student.isHonorStudent()) {
+                honorStudents++
+            }
+            if (student.hasScholarship) {
+                scholarshipStudents++
+            }
+        }
+
+        fun toStatistics(major: String) = MajorStatistics(
+            major = major,
+            count = gpa.count.toInt(),
+            averageGPA = gpa.average,
+            minGPA = gpa.min,
+            maxGPA = gpa.max,
+            honorStudents = honorStudents,
+            scholarshipStudents = scholarshipStudents
+        )
+    }
+}
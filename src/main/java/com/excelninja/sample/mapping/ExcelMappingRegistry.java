@@ -0,0 +1,112 @@
+package com.excelninja.sample.mapping;
+
+import com.excelninja.sample.excel.ExcelMapping;
+import com.excelninja.sample.excel.ExcelWarmUp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds every class with {@code @ExcelReadColumn} or {@code @ExcelWriteColumn} fields under the configured base
+ * packages once the context has started, builds and validates its column plan, and fails startup when a plan is
+ * invalid. With {@code excel.mapping.warm-up.enabled}, each model is then written and read back with synthetic
+ * rows so the first real export does not pay for class loading and JIT compilation.
+ */
+@Component
+public class ExcelMappingRegistry implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ExcelMappingRegistry.class);
+
+    private final List<String> basePackages;
+    private final boolean warmUp;
+    private final int warmUpRows;
+    private final Map<Class<?>, ExcelMapping<?>> mappings = new LinkedHashMap<>();
+
+    public ExcelMappingRegistry(
+            @Value("${excel.mapping.base-packages:com.excelninja.sample,com.excelNinja.sample}") List<String> basePackages,
+            @Value("${excel.mapping.warm-up.enabled:false}") boolean warmUp,
+            @Value("${excel.mapping.warm-up.rows:2000}") int warmUpRows
+    ) {
+        this.basePackages = List.copyOf(basePackages);
+        this.warmUp = warmUp;
+        this.warmUpRows = warmUpRows;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        List<String> problems = new ArrayList<>();
+        for (Class<?> type : scan()) {
+            ExcelMapping<?> mapping = ExcelMapping.of(type);
+            mapping.getProblems().forEach(problem -> problems.add(type.getName() + ": " + problem));
+            mappings.put(type, mapping);
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid Excel mappings:\n  " + String.join("\n  ", problems));
+        }
+        log.info("Registered {} Excel models in {} ms", mappings.size(), (System.nanoTime() - started) / 1_000_000);
+
+        if (warmUp) {
+            mappings.keySet().forEach(this::warmUp);
+        }
+    }
+
+    public Collection<ExcelMapping<?>> getMappings() {
+        return Collections.unmodifiableCollection(mappings.values());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Optional<ExcelMapping<T>> find(Class<T> type) {
+        return Optional.ofNullable((ExcelMapping<T>) mappings.get(type));
+    }
+
+    private List<Class<?>> scan() {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent() && beanDefinition.getMetadata().isConcrete();
+            }
+        };
+        scanner.addIncludeFilter((reader, readerFactory) -> {
+            String className = reader.getClassMetadata().getClassName();
+            return ClassUtils.isPresent(className, classLoader)
+                    && ExcelMapping.isAnnotated(ClassUtils.resolveClassName(className, classLoader));
+        });
+
+        List<Class<?>> types = new ArrayList<>();
+        for (String basePackage : basePackages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader);
+                if (!types.contains(type)) {
+                    types.add(type);
+                }
+            }
+        }
+        return types;
+    }
+
+    private void warmUp(Class<?> type) {
+        long started = System.nanoTime();
+        try {
+            long rows = ExcelWarmUp.run(type, warmUpRows);
+            log.info("Warmed up {} with {} rows in {} ms", type.getSimpleName(), rows, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Warm-up of {} failed", type.getName(), e);
+        }
+    }
+}
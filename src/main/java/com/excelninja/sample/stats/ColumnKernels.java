@@ -0,0 +1,69 @@
+package com.excelninja.sample.stats;
+
+import java.util.Optional;
+
+/**
+ * Aggregation kernels over the first {@code length} elements of a primitive column. {@link #preferred()} uses
+ * the SIMD implementation when the JVM was started with {@code --add-modules jdk.incubator.vector} and falls back
+ * to plain loops otherwise, or when {@code -Dexcel.kernels=scalar} is set.
+ * <p>
+ * Minimum and maximum of an empty range are the identity ({@code Long.MAX_VALUE}, {@code Long.MIN_VALUE},
+ * positive and negative infinity). Double sums may differ in the last bits between implementations because the
+ * SIMD kernel adds lanes in a different order.
+ */
+public interface ColumnKernels {
+
+    long sum(
+            long[] values,
+            int length
+    );
+
+    long min(
+            long[] values,
+            int length
+    );
+
+    long max(
+            long[] values,
+            int length
+    );
+
+    long countAtLeast(
+            long[] values,
+            int length,
+            long threshold
+    );
+
+    double sum(
+            double[] values,
+            int length
+    );
+
+    double min(
+            double[] values,
+            int length
+    );
+
+    double max(
+            double[] values,
+            int length
+    );
+
+    long countAtLeast(
+            double[] values,
+            int length,
+            double threshold
+    );
+
+    static ColumnKernels preferred() {
+        return KernelSelection.PREFERRED;
+    }
+
+    static ColumnKernels scalar() {
+        return ScalarColumnKernels.INSTANCE;
+    }
+
+    static Optional<ColumnKernels> vector() {
+        return Optional.ofNullable(KernelSelection.VECTOR);
+    }
+}
@@ -0,0 +1,63 @@
+package com.excelninja.sample.stats;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Consumer;
+
+/**
+ * {@link java.util.LongSummaryStatistics} for {@link BigDecimal} values: count, sum, min and max are kept
+ * as running values so no intermediate list is needed.
+ */
+public final class DecimalStatistics implements Consumer<BigDecimal> {
+
+    private long count;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal min;
+    private BigDecimal max;
+
+    @Override
+    public void accept(BigDecimal value) {
+        if (value == null) {
+            return;
+        }
+        count++;
+        sum = sum.add(value);
+        if (min == null || value.compareTo(min) < 0) {
+            min = value;
+        }
+        if (max == null || value.compareTo(max) > 0) {
+            max = value;
+        }
+    }
+
+    public void combine(DecimalStatistics other) {
+        count += other.count;
+        sum = sum.add(other.sum);
+        if (other.min != null && (min == null || other.min.compareTo(min) < 0)) {
+            min = other.min;
+        }
+        if (other.max != null && (max == null || other.max.compareTo(max) > 0)) {
+            max = other.max;
+        }
+    }
+
+    public long getCount() {return count;}
+
+    public BigDecimal getSum() {return sum;}
+
+    public BigDecimal getMin() {return min == null ? BigDecimal.ZERO : min;}
+
+    public BigDecimal getMax() {return max == null ? BigDecimal.ZERO : max;}
+
+    public BigDecimal getAverage(int scale) {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        return sum.divide(BigDecimal.valueOf(count), scale, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public String toString() {
+        return "DecimalStatistics{count=" + count + ", sum=" + sum + ", min=" + getMin() + ", max=" + getMax() + "}";
+    }
+}
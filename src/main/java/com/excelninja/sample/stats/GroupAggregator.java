@@ -0,0 +1,87 @@
+package com.excelninja.sample.stats;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Aggregates rows per key in a single pass. Each group owns one mutable accumulator that sees every row of
+ * the group exactly once; groups are returned in first-seen key order.
+ */
+public final class GroupAggregator<T, K, A extends Consumer<? super T>> {
+
+    private final Function<? super T, ? extends K> classifier;
+    private final Supplier<? extends A> accumulatorFactory;
+
+    private GroupAggregator(
+            Function<? super T, ? extends K> classifier,
+            Supplier<? extends A> accumulatorFactory
+    ) {
+        this.classifier = Objects.requireNonNull(classifier, "classifier");
+        this.accumulatorFactory = Objects.requireNonNull(accumulatorFactory, "accumulatorFactory");
+    }
+
+    public static <T, K, A extends Consumer<? super T>> GroupAggregator<T, K, A> of(
+            Function<? super T, ? extends K> classifier,
+            Supplier<? extends A> accumulatorFactory
+    ) {
+        return new GroupAggregator<>(classifier, accumulatorFactory);
+    }
+
+    public Map<K, A> aggregate(Iterable<? extends T> rows) {
+        return aggregate(rows.iterator());
+    }
+
+    public Map<K, A> aggregate(Stream<? extends T> rows) {
+        return aggregate(rows.iterator());
+    }
+
+    public Map<K, A> aggregate(Iterator<? extends T> rows) {
+        Map<K, A> groups = new LinkedHashMap<>();
+        accumulate(rows, groups);
+        return groups;
+    }
+
+    /**
+     * Feeds {@code rows} into {@code groups}, creating accumulators for new keys, and returns the rows consumed.
+     */
+    long accumulate(
+            Iterator<? extends T> rows,
+            Map<K, A> groups
+    ) {
+        long count = 0;
+        K lastKey = null;
+        A lastGroup = null;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            K key = classifier.apply(row);
+            if (lastGroup == null || !Objects.equals(key, lastKey)) {
+                lastGroup = groups.get(key);
+                if (lastGroup == null) {
+                    lastGroup = accumulatorFactory.get();
+                    groups.put(key, lastGroup);
+                }
+                lastKey = key;
+            }
+            lastGroup.accept(row);
+            count++;
+        }
+        return count;
+    }
+
+    public <R> Map<K, R> aggregate(
+            Iterable<? extends T> rows,
+            BiFunction<? super K, ? super A, ? extends R> finisher
+    ) {
+        Map<K, A> groups = aggregate(rows);
+        Map<K, R> results = new LinkedHashMap<>(Math.max(16, groups.size() * 4 / 3 + 1));
+        groups.forEach((key, group) -> results.put(key, finisher.apply(key, group)));
+        return results;
+    }
+}
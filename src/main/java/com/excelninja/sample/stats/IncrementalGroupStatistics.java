@@ -0,0 +1,152 @@
+package com.excelninja.sample.stats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Per-key accumulators that outlive a single aggregation: appended rows update only the accumulators of their
+ * groups, so keeping statistics of a growing sheet current costs O(appended rows) instead of a full recompute.
+ * Accumulators such as {@link DecimalStatistics} keep exact running totals, so the results equal a recompute
+ * over all rows.
+ * <p>
+ * Only appends are incremental. When existing rows are edited or removed, {@link #reset()} and append everything
+ * again; {@link #appendAfter(Path, LongFunction)} does so by itself when the file was truncated or rewritten.
+ * An append that fails part way resets the statistics, since the rows it already applied are unknown to
+ * the caller. All methods are synchronized, so snapshots never observe a half-applied append.
+ */
+public final class IncrementalGroupStatistics<T, K, A extends Consumer<? super T>> {
+
+    private final GroupAggregator<T, K, A> aggregator;
+    private Map<K, A> groups = new LinkedHashMap<>();
+    private long rowCount;
+    private T lastRow;
+    private FileStamp stamp;
+
+    private IncrementalGroupStatistics(GroupAggregator<T, K, A> aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    public static <T, K, A extends Consumer<? super T>> IncrementalGroupStatistics<T, K, A> of(
+            Function<? super T, ? extends K> classifier,
+            Supplier<? extends A> accumulatorFactory
+    ) {
+        return new IncrementalGroupStatistics<>(GroupAggregator.of(classifier, accumulatorFactory));
+    }
+
+    public synchronized long append(Iterable<? extends T> rows) {
+        stamp = null;
+        return append(rows.iterator());
+    }
+
+    /**
+     * Appends the rows that follow the ones already seen, e.g. {@code seen -> reader.stream(fileName, seen)} for
+     * a sheet that only grows. The stream is closed afterwards.
+     */
+    public synchronized long appendAfter(LongFunction<? extends Stream<? extends T>> rowsAfter) {
+        stamp = null;
+        return appendFrom(rowsAfter);
+    }
+
+    /**
+     * Like {@link #appendAfter(LongFunction)} for rows read from {@code file}, but safe when the file is replaced
+     * rather than appended to. The file's size and last-modified time are recorded with the row count: while they
+     * match, nothing is read. Once they change, reading starts at the last row already seen, and if that row is
+     * gone or no longer {@linkplain Object#equals equal} to the one aggregated, the file shrank or was rewritten,
+     * so the statistics are reset and recomputed from the first row.
+     */
+    public synchronized long appendAfter(
+            Path file,
+            LongFunction<? extends Stream<? extends T>> rowsAfter
+    ) {
+        FileStamp current = FileStamp.of(file);
+        if (current != null && current.equals(stamp)) {
+            return 0;
+        }
+        stamp = null;
+        long appended = rowCount == 0 ? appendFrom(rowsAfter) : appendAfterLastRow(rowsAfter);
+        stamp = current;
+        return appended;
+    }
+
+    private long appendFrom(LongFunction<? extends Stream<? extends T>> rowsAfter) {
+        try (Stream<? extends T> rows = rowsAfter.apply(rowCount)) {
+            return append(rows.iterator());
+        }
+    }
+
+    private long appendAfterLastRow(LongFunction<? extends Stream<? extends T>> rowsAfter) {
+        try (Stream<? extends T> rows = rowsAfter.apply(rowCount - 1)) {
+            Iterator<? extends T> iterator = rows.iterator();
+            if (iterator.hasNext() && Objects.equals(iterator.next(), lastRow)) {
+                return append(iterator);
+            }
+        }
+        reset();
+        return appendFrom(rowsAfter);
+    }
+
+    private long append(Iterator<? extends T> rows) {
+        try {
+            long appended = aggregator.accumulate(new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return rows.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    lastRow = rows.next();
+                    return lastRow;
+                }
+            }, groups);
+            rowCount += appended;
+            return appended;
+        } catch (RuntimeException e) {
+            reset();
+            throw e;
+        }
+    }
+
+    public synchronized long getRowCount() {return rowCount;}
+
+    public synchronized <R> Map<K, R> snapshot(BiFunction<? super K, ? super A, ? extends R> finisher) {
+        Map<K, R> results = new LinkedHashMap<>(Math.max(16, groups.size() * 4 / 3 + 1));
+        groups.forEach((key, group) -> results.put(key, finisher.apply(key, group)));
+        return results;
+    }
+
+    public synchronized void reset() {
+        groups = new LinkedHashMap<>();
+        rowCount = 0;
+        lastRow = null;
+        stamp = null;
+    }
+
+    private record FileStamp(
+            long size,
+            FileTime lastModified
+    ) {
+
+        static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attributes.size(), attributes.lastModifiedTime());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.excelninja.sample.stats;
+
+/**
+ * Loads {@link VectorColumnKernels} reflectively, so classes referring to {@link ColumnKernels} still link when
+ * the incubator module is absent.
+ */
+final class KernelSelection {
+
+    static final ColumnKernels VECTOR = loadVectorKernels();
+    static final ColumnKernels PREFERRED =
+            VECTOR != null && !"scalar".equals(System.getProperty("excel.kernels")) ? VECTOR : ScalarColumnKernels.INSTANCE;
+
+    private KernelSelection() {}
+
+    private static ColumnKernels loadVectorKernels() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (ColumnKernels) Class.forName("com.excelninja.sample.stats.VectorColumnKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.excelninja.sample.upload;
+
+import com.excelninja.sample.excel.ImportResult;
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.EmployeeExcelService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Imports workbooks sent as the raw request body rather than as a multipart part, so the upload is parsed while it
+ * arrives instead of being buffered against {@code spring.servlet.multipart.max-file-size} first.
+ */
+@RestController
+@RequestMapping("/uploads")
+public class UploadController {
+
+    /**
+     * Headcount key for rows whose Department cell is empty.
+     */
+    static final String NO_DEPARTMENT = "(none)";
+    private static final String XLSX_VALUE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private final EmployeeExcelService excelService;
+
+    public UploadController(EmployeeExcelService excelService) {
+        this.excelService = excelService;
+    }
+
+    @PostMapping(path = "/employees", consumes = {XLSX_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public EmployeeUploadSummary uploadEmployees(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "1000") int batchSize
+    ) throws IOException {
+        Map<String, Long> headcount = new TreeMap<>();
+        ImportResult result = excelService.importEmployees(request.getInputStream(), batchSize, batch ->
+                batch.forEach(employee -> headcount.merge(departmentOf(employee), 1L, Long::sum))
+        );
+        return new EmployeeUploadSummary(result, headcount);
+    }
+
+    private static String departmentOf(Employee employee) {
+        String department = employee.getDepartment();
+        return department == null || department.isBlank() ? NO_DEPARTMENT : department;
+    }
+
+    public record EmployeeUploadSummary(
+            ImportResult result,
+            Map<String, Long> headcountByDepartment
+    ) {}
+}
@@ -0,0 +1,128 @@
+package com.excelninja.sample.catalog;
+
+import com.excelNinja.sample.Product;
+import com.excelNinja.sample.ProductService;
+import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.sample.excel.StreamingExcelWriter;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("상품 카탈로그 페이지 조회 컨트롤러 테스트")
+public class ProductCatalogControllerTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/catalog_products.xlsx";
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+        StreamingExcelWriter.builder(Product.class).build().write(LongStream.rangeClosed(1, 25).mapToObj(id -> {
+            Product product = new Product();
+            product.setId(id);
+            product.setName("상품" + id);
+            product.setCategory(id % 2 == 0 ? "전자제품" : "가구");
+            product.setPrice(BigDecimal.valueOf(1_000 * id));
+            product.setStockQuantity((int) id);
+            return product;
+        }), fileName);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductCatalogController(new ProductService(), fileName)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("커서를 따라가며 다음 페이지를 읽고 마지막 페이지에는 커서가 없다")
+    void followCursors() throws Exception {
+        String first = mockMvc.perform(get("/products").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows.length()").value(10))
+                .andExpect(jsonPath("$.rows[0].id").value(1))
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(get("/products").param("limit", "10").param("cursor", nextCursor(first)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows[0].id").value(11))
+                .andExpect(jsonPath("$.rows[9].name").value("상품20"))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/products").param("limit", "10").param("cursor", nextCursor(second)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows.length()").value(5))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("잘못되었거나 파일이 바뀐 뒤의 커서와 너무 큰 페이지는 400으로 거절한다")
+    void rejectInvalidRequests() throws Exception {
+        String first = mockMvc.perform(get("/products").param("limit", "10"))
+                .andReturn().getResponse().getContentAsString();
+        Path path = Path.of(fileName);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 60_000));
+
+        mockMvc.perform(get("/products").param("cursor", nextCursor(first)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("limit", String.valueOf(ProductCatalogController.MAX_LIMIT + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("limit must not exceed 1000: 1001"));
+    }
+
+    @Test
+    @DisplayName("셀 값을 변환하지 못하는 것은 서버 쪽 오류라 400으로 응답하지 않는다")
+    void reportCorruptCellsAsServerError() {
+        StreamingExcelWriter.builder(CorruptProduct.class).build().write(Stream.of(new CorruptProduct(1L, "n/a")), fileName);
+
+        ServletException e = assertThrows(ServletException.class, () -> mockMvc.perform(get("/products")));
+
+        assertThat(e.getCause()).hasMessage("Failed to read products Excel file");
+    }
+
+    private static String nextCursor(String page) {
+        return JsonPath.read(page, "$.nextCursor");
+    }
+
+    private static class CorruptProduct {
+
+        @ExcelWriteColumn(headerName = "Product ID", order = 1)
+        private final Long id;
+
+        @ExcelWriteColumn(headerName = "Price", order = 2)
+        private final String price;
+
+        CorruptProduct(
+                Long id,
+                String price
+        ) {
+            this.id = id;
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.excelninja.sample.excel;
+
+import com.excelNinja.sample.Product;
+import com.excelNinja.sample.Student;
+import com.excelninja.sample.java.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("필드 접근자 생성 테스트")
+public class AccessorsTest {
+
+    @Test
+    @DisplayName("자바 빈의 getter/setter로 필드를 읽고 쓸 수 있다")
+    void javaBeanAccessor() throws NoSuchFieldException {
+        FieldAccessor salary = Accessors.generated(Employee.class.getDeclaredField("salary"));
+        Employee employee = new Employee();
+
+        salary.set(employee, new BigDecimal("85000.00"));
+
+        assertThat(employee.getSalary()).isEqualTo(new BigDecimal("85000.00"));
+        assertThat(salary.get(employee)).isEqualTo(new BigDecimal("85000.00"));
+    }
+
+    @Test
+    @DisplayName("코틀린 is 접두사 프로퍼티의 기본형 필드를 읽고 쓸 수 있다")
+    void kotlinBooleanPropertyAccessor() throws NoSuchFieldException {
+        FieldAccessor isActive = Accessors.generated(Product.class.getDeclaredField("isActive"));
+        FieldAccessor stock = Accessors.generated(Product.class.getDeclaredField("stockQuantity"));
+        Product product = new Product();
+
+        isActive.set(product, false);
+        stock.set(product, 7);
+
+        assertThat(product.isActive()).isFalse();
+        assertThat(isActive.get(product)).isEqualTo(false);
+        assertThat(stock.get(product)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("생성된 접근자와 리플렉션 접근자는 같은 값을 읽는다")
+    void generatedMatchesReflective() throws NoSuchFieldException {
+        Student student = new Student("CS001", "현수", "hyunsoo@university.edu", "Computer Science", 3, 3.8, true);
+
+        for (String fieldName : new String[]{"studentId", "gpa", "hasScholarship"}) {
+            FieldAccessor generated = Accessors.generated(Student.class.getDeclaredField(fieldName));
+            FieldAccessor reflective = Accessors.reflective(Student.class.getDeclaredField(fieldName));
+            assertThat(generated.get(student)).isEqualTo(reflective.get(student));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.excelninja.sample.excel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("셀 숫자 변환 테스트")
+public class CellNumbersTest {
+
+    @Test
+    @DisplayName("문자 버퍼에서 읽은 BigDecimal은 문자열 파싱과 값과 스케일이 같다")
+    void parseDecimalLikeBigDecimal() {
+        for (String text : List.of("0", "60001", "-600.25", "600.250", " 42 ", ".5", "1.", "+7", "1E3", "123456789012345678901.5")) {
+            assertThat(parseDecimal(text)).isEqualTo(new BigDecimal(text.trim()));
+        }
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 셀은 NumberFormatException을 던진다")
+    void rejectNonNumbers() {
+        assertThrows(NumberFormatException.class, () -> parseDecimal("abc"));
+        assertThrows(NumberFormatException.class, () -> parseDecimal("-"));
+    }
+
+    @Test
+    @DisplayName("정수 셀은 소수부가 0일 때만 long으로 읽힌다")
+    void parseLong() {
+        assertThat(parseLong("9223372036854775807")).isEqualTo(Long.MAX_VALUE);
+        assertThat(parseLong("-42")).isEqualTo(-42);
+        assertThat(parseLong("42.0")).isEqualTo(42);
+        assertThrows(ArithmeticException.class, () -> parseLong("42.5"));
+    }
+
+    @Test
+    @DisplayName("시리얼 날짜는 문자열 없이 LocalDate와 LocalDateTime으로 변환된다")
+    void parseSerialDates() {
+        LocalDateTime lastUpdated = LocalDateTime.of(2024, 5, 1, 9, 30, 15, 125_000_000);
+        String serial = Double.toString(ExcelDates.toSerial(lastUpdated));
+        char[] chars = serial.toCharArray();
+
+        assertThat(CellNumbers.parseSerialDateTime(chars, 0, chars.length)).isEqualTo(lastUpdated);
+        assertThat(CellNumbers.parseSerialDate(chars, 0, chars.length)).isEqualTo(LocalDate.of(2024, 5, 1));
+        assertThat(CellNumbers.parseSerialDate("45413".toCharArray(), 0, 5)).isEqualTo(LocalDate.of(2024, 5, 1));
+        assertThat(CellNumbers.parseSerialDateTime("45413.99999999999".toCharArray(), 0, 17))
+                .isEqualTo(LocalDateTime.of(2024, 5, 2, 0, 0));
+    }
+
+    @Test
+    @DisplayName("밀리초 단위 시각은 왕복 변환 후에도 그대로 유지된다")
+    void roundTripDateTimes() {
+        LocalDateTime start = LocalDateTime.of(1995, 3, 1, 0, 0);
+        for (long i = 0; i < 100_000; i++) {
+            LocalDateTime value = start.plusSeconds(i * 7_919).plusNanos(i % 1_000 * 1_000_000);
+            char[] chars = Double.toString(ExcelDates.toSerial(value)).toCharArray();
+
+            assertThat(CellNumbers.parseSerialDateTime(chars, 0, chars.length)).isEqualTo(value);
+        }
+    }
+
+    private static BigDecimal parseDecimal(String text) {
+        char[] chars = ("<v>" + text + "</v>").toCharArray();
+        return CellNumbers.parseDecimal(chars, 3, text.length());
+    }
+
+    private static long parseLong(String text) {
+        return CellNumbers.parseLong(text.toCharArray(), 0, text.length());
+    }
+}
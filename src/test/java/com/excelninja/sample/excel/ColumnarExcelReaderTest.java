@@ -0,0 +1,102 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("열 단위 엑셀 리더 테스트")
+public class ColumnarExcelReaderTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/columnar_employees.xlsx";
+    private final ColumnarExcelReader reader = ColumnarExcelReader.builder()
+            .longColumn("Employee ID")
+            .dictionaryColumn("Department")
+            .decimalColumn("Salary", 2)
+            .metrics(new ExcelMetrics(new SimpleMeterRegistry()))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+        LocalDateTime lastUpdated = LocalDateTime.of(2024, 5, 1, 9, 30);
+        StreamingExcelWriter.builder(Employee.class).build().write(LongStream.rangeClosed(1, 1_000).mapToObj(id -> new Employee(
+                id,
+                "직원" + id,
+                id % 4 == 0 ? "BRM" : "Card",
+                BigDecimal.valueOf(6_000_000 + id, 2),
+                LocalDate.of(2020, 1, 1),
+                lastUpdated
+        )), fileName);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("선택한 열을 원시 배열과 사전 코드로 읽는다")
+    void readSelectedColumns() {
+        ColumnarTable table = reader.read(fileName);
+
+        assertThat(table.getRowCount()).isEqualTo(1_000);
+        assertThat(table.getHeaders()).containsExactly("Employee ID", "Department", "Salary");
+        assertThat(table.longColumn("Employee ID").sum()).isEqualTo(500_500);
+
+        ColumnarTable.DictionaryColumn departments = table.dictionaryColumn("Department");
+        assertThat(departments.getDictionary()).containsExactly("Card", "BRM");
+        assertThat(departments.counts()).containsExactly(750, 250);
+        assertThat(departments.get(3)).isEqualTo("BRM");
+
+        ColumnarTable.DecimalColumn salaries = table.decimalColumn("Salary");
+        assertThat(salaries.get(0)).isEqualTo(new BigDecimal("60000.01"));
+        assertThat(salaries.sum()).isEqualByComparingTo("60005005.00");
+        assertThat(salaries.sumBy(departments)[1]).isEqualByComparingTo(
+                BigDecimal.valueOf(LongStream.rangeClosed(1, 1_000).filter(id -> id % 4 == 0).map(id -> 6_000_000 + id).sum(), 2)
+        );
+        assertThat(salaries.maxBy(departments)).containsExactly(new BigDecimal("60009.99"), new BigDecimal("60010.00"));
+        assertThat(salaries.countAtLeast(new BigDecimal("60009.5"))).isEqualTo(51);
+    }
+
+    @Test
+    @DisplayName("스트림에서도 같은 테이블을 읽는다")
+    void readFromStream() throws IOException {
+        ColumnarTable table = reader.read(new FileInputStream(fileName));
+
+        assertThat(table.getRowCount()).isEqualTo(1_000);
+        assertThat(table.dictionaryColumn("Department").cardinality()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("시트에 없는 헤더나 다른 타입의 열을 요청하면 예외가 발생한다")
+    void rejectUnknownColumns() {
+        ColumnarExcelReader missing = ColumnarExcelReader.builder().longColumn("Employee Number").build();
+
+        assertThrows(IllegalStateException.class, () -> missing.read(fileName));
+        assertThrows(IllegalArgumentException.class, () -> reader.read(fileName).doubleColumn("Salary"));
+    }
+
+    @Test
+    @DisplayName("열 단위 테이블은 같은 열의 객체 목록보다 훨씬 작다")
+    void estimateMemory() {
+        ColumnarTable table = reader.read(fileName);
+
+        assertThat(table.estimatedBytes()).isLessThan(1_000L * (Long.BYTES + Integer.BYTES + Long.BYTES) + 64);
+    }
+}
@@ -0,0 +1,135 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.TestEmployees;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("엑셀 메트릭 테스트")
+public class ExcelMetricsTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/metered_employees.xlsx";
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExcelMetrics metrics = new ExcelMetrics(registry);
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("쓰기는 행 수, 바이트 수, 시트별 분포와 단계별 시간을 기록한다")
+    void recordWrite() {
+        StreamingExcelWriter.builder(Employee.class)
+                .sheetName("Employee List")
+                .metrics(metrics)
+                .build()
+                .write(TestEmployees.employees(20), fileName);
+
+        assertThat(registry.get("excel.rows").tags("model", "Employee", "operation", "write").counter().count())
+                .isEqualTo(20);
+        assertThat(registry.get("excel.bytes").tags("operation", "write").counter().count())
+                .isEqualTo(new File(fileName).length());
+        assertThat(registry.get("excel.sheet.rows").tags("sheet", "Employee List").summary().totalAmount())
+                .isEqualTo(20);
+        assertThat(registry.get("excel.operation").tags("operation", "write", "outcome", "success").timer().count())
+                .isEqualTo(1);
+        for (String stage : List.of("mapping", "serialize", "zip")) {
+            assertThat(registry.get("excel.stage").tags("operation", "write", "stage", stage).timer().totalTime(TimeUnit.NANOSECONDS))
+                    .isPositive();
+        }
+    }
+
+    @Test
+    @DisplayName("읽기는 스트림을 닫을 때 파싱, 매핑, 압축 해제 시간을 기록한다")
+    void recordRead() {
+        StreamingExcelWriter.builder(Employee.class).metrics(metrics).build().write(TestEmployees.employees(15), fileName);
+
+        try (Stream<Employee> rows = StreamingExcelReader.builder(Employee.class).metrics(metrics).build().stream(fileName)) {
+            assertThat(rows.count()).isEqualTo(15);
+        }
+
+        assertThat(registry.get("excel.rows").tags("operation", "read").counter().count()).isEqualTo(15);
+        assertThat(registry.get("excel.bytes").tags("operation", "read").counter().count())
+                .isEqualTo(new File(fileName).length());
+        for (String stage : List.of("parse", "mapping", "zip")) {
+            assertThat(registry.get("excel.stage").tags("operation", "read", "stage", stage).timer().count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("시트 이름 태그는 정해진 수까지만 만들고 나머지는 other로 묶는다")
+    void capSheetTagValues() {
+        ExcelMetrics capped = new ExcelMetrics(registry, 2);
+
+        for (String sheet : List.of("Card", "BRM", "UI/UX", "Remittance", "Card")) {
+            capped.start(Employee.class, ExcelMetrics.Operation.WRITE).sheet(sheet, 10);
+        }
+
+        assertThat(registry.get("excel.sheet.rows").summaries()).extracting(summary -> summary.getId().getTag("sheet"))
+                .containsExactlyInAnyOrder("Card", "BRM", ExcelMetrics.OTHER_SHEET);
+        assertThat(registry.get("excel.sheet.rows").tags("sheet", "Card").summary().count()).isEqualTo(2);
+        assertThat(registry.get("excel.sheet.rows").tags("sheet", ExcelMetrics.OTHER_SHEET).summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("실패는 근본 원인 예외별로 집계한다")
+    void recordFailureByCause() {
+        StreamingExcelReader<Employee> reader = StreamingExcelReader.builder(Employee.class).metrics(metrics).build();
+
+        assertThrows(UncheckedIOException.class, () -> reader.stream(outputDir + "/missing.xlsx"));
+
+        assertThat(registry.get("excel.failures").tags("cause", "FileNotFoundException").counter().count()).isEqualTo(1);
+        assertThat(registry.get("excel.operation").tags("operation", "read", "outcome", "failure").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("끝까지 읽지 않았거나 소비 중 실패한 읽기는 성공으로 집계하지 않는다")
+    void recordIncompleteReadAsFailure() throws IOException {
+        StreamingExcelWriter.builder(Employee.class).metrics(metrics).build().write(TestEmployees.employees(15), fileName);
+        StreamingExcelReader<Employee> reader = StreamingExcelReader.builder(Employee.class).metrics(metrics).build();
+
+        try (Stream<Employee> rows = reader.stream(fileName)) {
+            assertThat(rows.limit(3).count()).isEqualTo(3);
+        }
+        try (InputStream in = new FileInputStream(fileName)) {
+            assertThrows(IllegalArgumentException.class, () -> reader.readBatches(in, 4, batch -> {
+                throw new IllegalArgumentException("rejected batch");
+            }));
+        }
+        assertThrows(ArithmeticException.class, () -> reader.forEach(fileName, employee -> {
+            throw new ArithmeticException("rejected row");
+        }));
+
+        assertThat(registry.get("excel.failures").tags("cause", "CancellationException").counter().count()).isEqualTo(1);
+        assertThat(registry.get("excel.failures").tags("cause", "IllegalArgumentException").counter().count()).isEqualTo(1);
+        assertThat(registry.get("excel.failures").tags("cause", "ArithmeticException").counter().count()).isEqualTo(1);
+        assertThat(registry.get("excel.operation").tags("operation", "read", "outcome", "failure").timer().count())
+                .isEqualTo(3);
+        assertThat(registry.find("excel.operation").tags("operation", "read", "outcome", "success").timer()).isNull();
+    }
+
+}
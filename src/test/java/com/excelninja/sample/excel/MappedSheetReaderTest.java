@@ -0,0 +1,179 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.TestEmployees;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("메모리 매핑 행 리더 테스트")
+public class MappedSheetReaderTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/mapped_employees.xlsx";
+    private final Path sidecars = Path.of(outputDir, "rows");
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+        write(LongStream.rangeClosed(1, 1_000).map(id -> id * 7 % 1_000 + 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = sidecars.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        sidecars.toFile().delete();
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("행 번호와 범위로 읽은 행은 전체를 스트림으로 읽은 행과 같다")
+    void getRowsByPosition() {
+        List<Employee> expected = readAll();
+        MappedSheet<Employee> sheet = reader().open(fileName);
+
+        assertThat(sheet.getRowCount()).isEqualTo(1_000);
+        assertThat(sheet.get(0)).usingRecursiveComparison().isEqualTo(expected.get(0));
+        assertThat(sheet.get(999)).usingRecursiveComparison().isEqualTo(expected.get(999));
+        assertThat(sheet.range(500, 520)).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected.subList(500, 520));
+        assertThat(sheet.range(1_000, 1_000)).isEmpty();
+        assertThrows(IndexOutOfBoundsException.class, () -> sheet.get(1_000));
+    }
+
+    @Test
+    @DisplayName("키 열의 값으로 행과 키 범위를 찾는다")
+    void findRowsByKey() {
+        MappedSheet<Employee> sheet = reader().open(fileName);
+
+        assertThat(sheet.find(701)).map(Employee::getName).hasValue("직원701");
+        assertThat(sheet.find(1_001)).isEmpty();
+        assertThat(sheet.findRange(10, 14)).extracting(Employee::getId).containsExactly(10L, 11L, 12L, 13L, 14L);
+        assertThrows(IllegalStateException.class, () -> MappedSheetReader.builder(Employee.class)
+                .directory(sidecars)
+                .build()
+                .open(fileName)
+                .find(701));
+    }
+
+    @Test
+    @DisplayName("사이드카 파일은 다시 열 때 재사용하고 워크북이 바뀌면 다시 만든다")
+    void reuseSidecarsUntilWorkbookChanges() throws Exception {
+        MappedSheet<Employee> sheet = reader().open(fileName);
+        MappedSheetReader<Employee> reader = reader();
+        reader.open(fileName);
+
+        assertThat(reader.open(fileName)).isNotSameAs(sheet);
+        assertThat(builtRows()).isEqualTo(1_000);
+
+        write(LongStream.rangeClosed(1, 10));
+        Path path = Path.of(fileName);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 60_000));
+
+        assertThat(reader.open(fileName).getRowCount()).isEqualTo(10);
+        assertThat(builtRows()).isEqualTo(1_010);
+    }
+
+    @Test
+    @DisplayName("키 열이 시트에 없거나 정수가 아니면 예외가 발생한다")
+    void rejectInvalidKeyColumns() {
+        MappedSheetReader<Employee> missing = MappedSheetReader.builder(Employee.class)
+                .keyColumn("Employee Number")
+                .directory(sidecars)
+                .build();
+        MappedSheetReader<Employee> text = MappedSheetReader.builder(Employee.class)
+                .keyColumn("Name")
+                .directory(sidecars)
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> missing.open(fileName));
+        assertThrows(IllegalStateException.class, () -> text.open(fileName));
+    }
+
+    @Test
+    @DisplayName("엑셀이 저장한 접두사 속성이 붙은 행도 찾는다")
+    void readRowsWithPrefixedAttributes() throws Exception {
+        saveLikeExcel();
+        MappedSheet<Employee> sheet = reader().open(fileName);
+
+        assertThat(sheet.getRowCount()).isEqualTo(1_000);
+        assertThat(sheet.find(701)).map(Employee::getName).hasValue("직원701");
+        assertThat(sheet.range(0, 3)).hasSize(3);
+    }
+
+    private MappedSheetReader<Employee> reader() {
+        return MappedSheetReader.builder(Employee.class)
+                .keyColumn("Employee ID")
+                .directory(sidecars)
+                .metrics(new ExcelMetrics(registry))
+                .build();
+    }
+
+    private double builtRows() {
+        return registry.get("excel.rows").tags("model", "Employee", "operation", "read").counter().count();
+    }
+
+    private List<Employee> readAll() {
+        try (Stream<Employee> rows = StreamingExcelReader.builder(Employee.class).build().stream(fileName)) {
+            return rows.toList();
+        }
+    }
+
+    /**
+     * Rewrites the worksheet the way Excel saves it, declaring extra namespaces on the root element and tagging
+     * every row with the prefixed {@code x14ac:dyDescent} attribute.
+     */
+    private void saveLikeExcel() throws IOException {
+        Path path = Path.of(fileName);
+        Path rewritten = Path.of(outputDir, "excel_saved.xlsx");
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(path));
+             ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(rewritten))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                byte[] content = in.readAllBytes();
+                if (entry.getName().equals("xl/worksheets/sheet1.xml")) {
+                    content = new String(content, StandardCharsets.UTF_8)
+                            .replace("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">",
+                                    "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                                    + "xmlns:mc=\"http://schemas.openxmlformats.org/markup-compatibility/2006\" "
+                                    + "xmlns:x14ac=\"http://schemas.microsoft.com/office/spreadsheetml/2009/9/ac\" "
+                                    + "mc:Ignorable=\"x14ac\">")
+                            .replaceAll("<row r=\"(\\d+)\">", "<row r=\"$1\" spans=\"1:6\" x14ac:dyDescent=\"0.25\">")
+                            .getBytes(StandardCharsets.UTF_8);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(content);
+                out.closeEntry();
+            }
+        }
+        Files.move(rewritten, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void write(LongStream ids) {
+        StreamingExcelWriter.builder(Employee.class).build().write(TestEmployees.employees(ids), fileName);
+    }
+}
@@ -0,0 +1,115 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.TestEmployees;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("파티션 엑셀 라이터 테스트")
+public class PartitionedExcelWriterTest {
+
+    private final String outputDir = "test_output";
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = new File(outputDir).listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("열린 라이터 수를 넘는 키가 번갈아 나와도 키별 행이 순서대로 모두 기록된다")
+    void interleavedKeysSpillToDisk() {
+        int departments = 30;
+        List<Employee> employees = LongStream.range(0, 900)
+                .mapToObj(id -> TestEmployees.employee(id, "Dept" + (id % departments)))
+                .toList();
+
+        Map<String, PartitionedExcelWriter.Partition> partitions =
+                PartitionedExcelWriter.builder(Employee.class, Employee::getDepartment)
+                        .pathTemplate(outputDir + "/{key}.xlsx")
+                        .sheetName("Employee List")
+                        .maxOpenWriters(4)
+                        .build()
+                        .write(employees.stream());
+
+        assertThat(partitions).hasSize(departments);
+        StreamingExcelReader<Employee> reader = StreamingExcelReader.builder(Employee.class).build();
+        for (int dept = 0; dept < departments; dept++) {
+            PartitionedExcelWriter.Partition partition = partitions.get("Dept" + dept);
+            assertThat(partition.rowCount()).isEqualTo(30);
+
+            List<Long> ids = reader.stream(partition.fileName()).map(Employee::getId).toList();
+            List<Long> expected = LongStream.iterate(dept, id -> id < 900, id -> id + departments).boxed().toList();
+            assertThat(ids).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("서로 다른 키가 같은 파일로 정해지거나 키가 없으면 파일을 쓰지 않고 실패한다")
+    void rejectCollidingAndNullKeys() {
+        PartitionedExcelWriter<Employee, String> writer =
+                PartitionedExcelWriter.builder(Employee.class, Employee::getDepartment)
+                        .pathTemplate(outputDir + "/{key}.xlsx")
+                        .build();
+
+        IllegalStateException collision = assertThrows(IllegalStateException.class,
+                () -> writer.write(Stream.of(
+                        TestEmployees.employee(1, "R&D"),
+                        TestEmployees.employee(2, "R D"),
+                        TestEmployees.employee(3, "R/D")
+                )));
+        assertThat(collision).hasMessageContaining("R&D").hasMessageContaining("R D");
+        assertThat(new File(outputDir, "R_D.xlsx")).doesNotExist();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.write(Stream.of(TestEmployees.employee(1, "BRM"), TestEmployees.employee(2, null))));
+        assertThat(new File(outputDir, "BRM.xlsx")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("뒤의 파티션을 쓰다 실패하면 이미 만든 파티션 파일도 지운다")
+    void deleteAssembledPartitionsOnFailure() {
+        PartitionedExcelWriter<Employee, String> writer =
+                PartitionedExcelWriter.builder(Employee.class, Employee::getDepartment)
+                        .fileNameForKey(dept -> "BRM".equals(dept)
+                                ? outputDir + "/missing/" + dept + ".xlsx"
+                                : outputDir + "/" + dept + ".xlsx")
+                        .build();
+
+        assertThrows(UncheckedIOException.class,
+                () -> writer.write(Stream.of(TestEmployees.employee(1, "Card"), TestEmployees.employee(2, "BRM"))));
+
+        assertThat(new File(outputDir, "Card.xlsx")).doesNotExist();
+        assertThat(new File(outputDir, "missing")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("키 자리표시자가 없는 경로 템플릿은 거부된다")
+    void templateNeedsKeyPlaceholder() {
+        assertThrows(IllegalArgumentException.class, () ->
+                PartitionedExcelWriter.builder(Employee.class, Employee::getDepartment).pathTemplate("out.xlsx"));
+    }
+
+}
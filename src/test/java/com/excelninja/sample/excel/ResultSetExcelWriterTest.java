@@ -0,0 +1,164 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.TestEmployees;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("결과 집합 엑셀 내보내기 테스트")
+public class ResultSetExcelWriterTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/exported_employees.xlsx";
+    private final String expectedFileName = outputDir + "/expected_employees.xlsx";
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        new File(outputDir).mkdirs();
+        dataSource.setURL("jdbc:h2:mem:result_set_export;DB_CLOSE_DELAY=-1");
+        connection = dataSource.getConnection();
+        execute("CREATE TABLE employees (id BIGINT PRIMARY KEY, name VARCHAR(50), department VARCHAR(20), "
+                + "salary DECIMAL(12, 2), hire_date DATE, last_updated TIMESTAMP)");
+        execute("INSERT INTO employees SELECT X, '직원' || X, CASE WHEN MOD(X, 2) = 0 THEN 'BRM' ELSE 'Card' END, "
+                + "CASE WHEN MOD(X, 10) = 0 THEN NULL ELSE 60000 + X END, DATEADD(DAY, X, DATE '2020-01-01'), "
+                + "TIMESTAMP '2024-05-01 09:30:00' FROM SYSTEM_RANGE(1, 2000)");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        execute("DROP TABLE employees");
+        connection.close();
+        new File(fileName).delete();
+        new File(expectedFileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("쿼리 결과를 객체로 저장한 것과 같은 시트로 내보낸다")
+    void writeQueryLikeObjects() throws SQLException {
+        ResultSetExcelWriter<Employee> writer = ResultSetExcelWriter.builder(Employee.class)
+                .sheetName("Employee List")
+                .fetchSize(100)
+                .build();
+
+        long written = writer.write(dataSource, "SELECT * FROM employees ORDER BY id", fileName);
+        StreamingExcelWriter.builder(Employee.class).sheetName("Employee List").build().write(employees(2_000), expectedFileName);
+
+        assertThat(written).isEqualTo(2_000);
+        assertThat(read(fileName)).usingRecursiveFieldByFieldElementComparator().isEqualTo(read(expectedFileName));
+        assertThat(read(fileName).get(9).getSalary()).isNull();
+        assertThat(connection.getAutoCommit()).isTrue();
+    }
+
+    @Test
+    @DisplayName("지정한 레이블의 열로 채우고 쿼리에 없는 열은 파일을 남기지 않고 실패한다")
+    void mapColumnsByLabel() throws SQLException {
+        ResultSetExcelWriter<Employee> writer = ResultSetExcelWriter.builder(Employee.class)
+                .column("Employee ID", "employee_no")
+                .build();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id AS employee_no, name, department, salary, hire_date, "
+                                                     + "last_updated FROM employees WHERE id <= 3 ORDER BY id")) {
+            assertThat(writer.write(rows, fileName)).isEqualTo(3);
+        }
+        assertThat(read(fileName)).extracting(Employee::getId).containsExactly(1L, 2L, 3L);
+
+        assertThrows(IllegalStateException.class, () -> writer.write(dataSource, "SELECT id, name FROM employees", fileName));
+        assertThat(new File(fileName)).doesNotExist();
+        assertThrows(IllegalArgumentException.class, () -> ResultSetExcelWriter.builder(Employee.class)
+                .column("Employee Number", "id")
+                .build());
+    }
+
+    @Test
+    @DisplayName("롤백이 실패해도 쿼리 예외를 가리지 않고 억제된 예외로 덧붙인다")
+    void keepQueryFailureWhenRollbackFails() {
+        SQLException rollbackFailure = new SQLException("rollback failed");
+        DataSource failingRollback = forward(DataSource.class, dataSource, method -> method.equals("getConnection")
+                ? forward(Connection.class, dataSource.getConnection(), connectionMethod -> {
+                    if (connectionMethod.equals("rollback")) {
+                        throw rollbackFailure;
+                    }
+                    return null;
+                })
+                : null);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> ResultSetExcelWriter.builder(Employee.class)
+                .build()
+                .write(failingRollback, "SELECT * FROM missing_table", fileName));
+
+        assertThat(failure.getCause()).isInstanceOf(SQLException.class).isNotSameAs(rollbackFailure);
+        assertThat(failure.getCause().getSuppressed()).containsExactly(rollbackFailure);
+    }
+
+    /**
+     * Proxy of {@code target} that answers a call with {@code override} when it returns non-null and forwards it
+     * otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T forward(
+            Class<T> type,
+            T target,
+            MethodOverride override
+    ) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object answer = override.apply(method.getName());
+            if (answer != null) {
+                return answer;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface MethodOverride {
+
+        Object apply(String method) throws SQLException;
+    }
+
+    private List<Employee> read(String file) {
+        try (Stream<Employee> rows = StreamingExcelReader.builder(Employee.class).build().stream(file)) {
+            return rows.toList();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * The rows inserted in {@link #setUp()}: every tenth salary is null and the rest have the column's scale.
+     */
+    private static Stream<Employee> employees(int count) {
+        return TestEmployees.employees(count).map(employee -> {
+            employee.setSalary(employee.getId() % 10 == 0 ? null : employee.getSalary().setScale(2));
+            return employee;
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports 5M employees from an embedded H2 database and samples the live heap, measured right after a full GC,
+ * while the export runs. The database is file-based with lazy query execution, so neither the table nor the
+ * query result is held on the heap; its page cache is capped at 16 MB. Run with {@code ./gradlew benchmarkTest}.
+ */
+@Tag("benchmark")
+@DisplayName("결과 집합 내보내기 힙 사용량 벤치마크")
+public class ResultSetExportHeapBenchmark {
+
+    private static final int ROWS = 5_000_000;
+    private static final long MAX_LIVE_HEAP_GROWTH = 64L << 20;
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/export_heap_benchmark.xlsx";
+    private final String database = outputDir + "/export_heap_benchmark";
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        new File(outputDir).mkdirs();
+        dataSource.setURL("jdbc:h2:file:./" + database + ";LAZY_QUERY_EXECUTION=TRUE;CACHE_SIZE=16384");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE employees (id BIGINT PRIMARY KEY, name VARCHAR(50), department VARCHAR(20), "
+                              + "salary DECIMAL(12, 2), hire_date DATE, last_updated TIMESTAMP)");
+            statement.execute("INSERT INTO employees SELECT X, 'Employee ' || X, CASE WHEN MOD(X, 2) = 0 THEN 'BRM' ELSE 'Card' END, "
+                              + "60000 + MOD(X, 50000), DATEADD(DAY, MOD(X, 3000), DATE '2015-01-01'), "
+                              + "TIMESTAMP '2024-05-01 09:30:00' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS DELETE FILES");
+        }
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("500만 행을 내보내는 동안 살아 있는 힙이 늘지 않는다")
+    void keepHeapFlat() {
+        ResultSetExcelWriter<Employee> writer = ResultSetExcelWriter.builder(Employee.class)
+                .sheetName("Employee List")
+                .build();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (running.get()) {
+                memory.gc();
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        long started = System.nanoTime();
+        long written;
+        try {
+            written = writer.write(dataSource, "SELECT * FROM employees ORDER BY id", fileName);
+        } finally {
+            running.set(false);
+            sampler.interrupt();
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        System.out.printf("result set export: %,d rows in %,d ms, live heap growth %,d KB, file %,d MB%n",
+                written, elapsedMillis, (peak.get() - baseline) >> 10, new File(fileName).length() >> 20);
+
+        assertThat(written).isEqualTo(ROWS);
+        assertThat(peak.get() - baseline).isLessThan(MAX_LIVE_HEAP_GROWTH);
+    }
+}
@@ -0,0 +1,131 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.TestEmployees;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Retained heap of the shared-strings table and of 1M read employees, before and after the compact table and
+ * department interning. Run with {@code ./gradlew benchmarkTest}.
+ */
+@Tag("benchmark")
+@DisplayName("공유 문자열 힙 사용량 벤치마크")
+public class SharedStringsHeapBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final String[] DEPARTMENTS = {"Card", "UI/UX", "BRM", "Remittance"};
+
+    private final String outputDir = "test_output";
+    private final String employeesFile = outputDir + "/shared_strings_benchmark.xlsx";
+    private final Path tableFile = Path.of(outputDir, "sharedStrings.xml");
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(employeesFile).delete();
+        tableFile.toFile().delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("100만 항목 공유 문자열 테이블의 유지 힙을 비교한다")
+    void compareSharedStringsTable() throws IOException {
+        writeSharedStringsTable(ROWS);
+
+        long heapTable = retainedHeap(() -> {
+            try (InputStream in = Files.newInputStream(tableFile)) {
+                SharedStrings table = SharedStrings.parse(in);
+                String[] materialized = new String[table.size()];
+                for (int i = 0; i < materialized.length; i++) {
+                    materialized[i] = new String(table.get(i));
+                }
+                return materialized;
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        System.out.printf("shared strings as String[]:       retained heap %,d MB%n", heapTable >> 20);
+
+        long mappedTable = retainedHeap(() -> {
+            try (InputStream in = Files.newInputStream(tableFile)) {
+                return SharedStrings.parse(in);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        System.out.printf("shared strings memory-mapped:     retained heap %,d MB%n", mappedTable >> 20);
+    }
+
+    @Test
+    @DisplayName("100만 직원 읽기 결과의 유지 힙을 부서 인턴 전후로 비교한다")
+    void compareInternedDepartments() {
+        StreamingExcelWriter.builder(Employee.class).windowSize(1_000).build().write(employees(ROWS), employeesFile);
+
+        long plain = retainedHeap(() -> readAll(StreamingExcelReader.builder(Employee.class).build()));
+        System.out.printf("1M employees, plain strings:      retained heap %,d MB%n", plain >> 20);
+
+        long interned = retainedHeap(() -> readAll(StreamingExcelReader.builder(Employee.class).intern("Department").build()));
+        System.out.printf("1M employees, interned department: retained heap %,d MB%n", interned >> 20);
+    }
+
+    private List<Employee> readAll(StreamingExcelReader<Employee> reader) {
+        try (Stream<Employee> rows = reader.stream(employeesFile)) {
+            return rows.toList();
+        }
+    }
+
+    private void writeSharedStringsTable(int count) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(tableFile, StandardCharsets.UTF_8)) {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+            out.write("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+            for (int i = 0; i < count; i++) {
+                out.write("<si><t>Employee ");
+                out.write(Integer.toString(i));
+                out.write("</t></si>");
+            }
+            out.write("</sst>");
+        }
+    }
+
+    private static long retainedHeap(Supplier<Object> action) {
+        long before = usedHeapAfterGc();
+        Object retained = action.get();
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(retained);
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static Stream<Employee> employees(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> TestEmployees.employee(id, DEPARTMENTS[(int) (id % DEPARTMENTS.length)]));
+    }
+}
@@ -0,0 +1,74 @@
+package com.excelninja.sample.excel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("공유 문자열 테이블 테스트")
+public class SharedStringsTest {
+
+    private static final String TABLE = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <sst xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" count="4" uniqueCount="4">
+            <si><t>Card</t></si>
+            <si><r><t>현수 </t></r><r><t>조</t></r><rPh><t>ヒョンス</t></rPh></si>
+            <si><t/></si>
+            <si><t xml:space="preserve"> BRM </t></si>
+            </sst>""";
+
+    @Test
+    @DisplayName("매핑된 테이블에서 문자열을 복원한다")
+    void decodesMappedStrings() throws IOException {
+        SharedStrings strings = parse(2);
+
+        assertThat(strings.size()).isEqualTo(4);
+        assertThat(strings.get(0)).isEqualTo("Card");
+        assertThat(strings.get(1)).isEqualTo("현수 조");
+        assertThat(strings.get(2)).isEmpty();
+        assertThat(strings.get(3)).isEqualTo(" BRM ");
+    }
+
+    @Test
+    @DisplayName("작은 테이블은 힙에 두고 한도를 넘는 테이블만 파일에 매핑한다")
+    void spillsOnlyLargeTables() throws IOException {
+        SharedStrings small = parse(2);
+        SharedStrings large = SharedStrings.parse(new ByteArrayInputStream(TABLE.getBytes(StandardCharsets.UTF_8)), 2, 8);
+
+        assertThat(small.isMapped()).isFalse();
+        assertThat(large.isMapped()).isTrue();
+        for (int i = 0; i < small.size(); i++) {
+            assertThat(large.get(i)).isEqualTo(small.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("캐시에 남아 있는 동안 같은 인덱스는 같은 인스턴스를 반환한다")
+    void cachedLookupsShareInstance() throws IOException {
+        SharedStrings strings = parse(2);
+
+        String first = strings.get(0);
+        assertThat(strings.get(0)).isSameAs(first);
+
+        strings.get(2);
+        assertThat(strings.get(0)).isEqualTo("Card").isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 인덱스는 예외가 발생한다")
+    void indexOutOfRange() throws IOException {
+        SharedStrings strings = parse(2);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> strings.get(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> SharedStrings.EMPTY.get(0));
+    }
+
+    private SharedStrings parse(int cacheSize) throws IOException {
+        return SharedStrings.parse(new ByteArrayInputStream(TABLE.getBytes(StandardCharsets.UTF_8)), cacheSize);
+    }
+}
@@ -0,0 +1,249 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.EmployeeExcelService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("스트리밍 엑셀 리더 테스트")
+public class StreamingExcelReaderTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/streaming_employees.xlsx";
+    private final StreamingExcelReader<Employee> reader = StreamingExcelReader.builder(Employee.class).build();
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+        new EmployeeExcelService().saveEmployeesToExcel(createTestEmployees(), fileName);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("엑셀 파일의 모든 행을 스트림으로 읽을 수 있다")
+    void streamAllRows() {
+        List<Employee> employees;
+        try (Stream<Employee> rows = reader.stream(fileName)) {
+            employees = rows.toList();
+        }
+
+        assertThat(employees).hasSize(3);
+        Employee first = employees.getFirst();
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(first.getName()).isEqualTo("현수");
+        assertThat(first.getDepartment()).isEqualTo("Card");
+        assertThat(first.getSalary().compareTo(new BigDecimal("85000.50"))).isEqualTo(0);
+        assertThat(first.getHireDate()).isEqualTo(LocalDate.of(2020, 3, 15));
+        assertThat(first.getLastUpdated()).isEqualTo(LocalDateTime.of(2024, 5, 1, 9, 30));
+    }
+
+    @Test
+    @DisplayName("필요한 만큼만 읽고 스트림을 닫을 수 있다")
+    void streamIsLazy() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        try (Stream<Employee> rows = reader.stream(fileName).onClose(() -> closed.set(true))) {
+            assertThat(rows.limit(1).map(Employee::getName).toList()).containsExactly("현수");
+        }
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("스트림을 끝까지 소비하면 더 이상 행이 없다")
+    void iteratorExhaustion() {
+        try (Stream<Employee> rows = reader.stream(fileName)) {
+            Iterator<Employee> iterator = rows.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+            assertThat(count).isEqualTo(3);
+            assertThat(iterator.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("앞쪽 행을 건너뛰고 이후 행만 객체로 만든다")
+    void skipLeadingRows() {
+        try (Stream<Employee> rows = reader.stream(fileName, 2)) {
+            assertThat(rows.map(Employee::getId).toList()).containsExactly(3L);
+        }
+        try (Stream<Employee> rows = reader.stream(fileName, 10)) {
+            assertThat(rows.count()).isZero();
+        }
+        assertThrows(IllegalArgumentException.class, () -> reader.stream(fileName, -1));
+    }
+
+    @Test
+    @DisplayName("지정한 열만 읽고 나머지 열은 디코딩하지 않는다")
+    void projectColumns() {
+        StreamingExcelReader<Employee> projected = StreamingExcelReader.builder(Employee.class)
+                .columns("Name", "Salary")
+                .build();
+
+        List<Employee> employees;
+        try (Stream<Employee> rows = projected.stream(fileName)) {
+            employees = rows.toList();
+        }
+
+        assertThat(employees).hasSize(3);
+        Employee first = employees.getFirst();
+        assertThat(first.getName()).isEqualTo("현수");
+        assertThat(first.getSalary().compareTo(new BigDecimal("85000.50"))).isEqualTo(0);
+        assertThat(first.getId()).isNull();
+        assertThat(first.getHireDate()).isNull();
+        assertThat(first.getLastUpdated()).isNull();
+    }
+
+    @Test
+    @DisplayName("매핑되지 않은 헤더로 투영하면 예외가 발생한다")
+    void projectUnknownColumn() {
+        assertThrows(IllegalArgumentException.class, () ->
+                StreamingExcelReader.builder(Employee.class).columns("Nickname").build());
+    }
+
+    @Test
+    @DisplayName("셀 조건을 만족하는 행만 객체로 만든다")
+    void filterRowsOnRawCells() {
+        StreamingExcelReader<Employee> filtered = StreamingExcelReader.builder(Employee.class)
+                .where("Department", CellPredicate.in("Card", "BRM"))
+                .where("Salary", CellPredicate.greaterThanOrEqual(80000))
+                .columns("Name")
+                .build();
+
+        List<String> names;
+        try (Stream<Employee> rows = filtered.stream(fileName)) {
+            names = rows.map(Employee::getName).toList();
+        }
+
+        assertThat(names).containsExactly("현수", "창희");
+    }
+
+    @Test
+    @DisplayName("시트에 없는 헤더로 필터링하면 예외가 발생한다")
+    void filterOnMissingHeader() {
+        StreamingExcelReader<Employee> filtered = StreamingExcelReader.builder(Employee.class)
+                .where("Nickname", CellPredicate.equalTo("x"))
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> filtered.stream(fileName));
+    }
+
+    @Test
+    @DisplayName("인턴 대상 열의 같은 값은 하나의 문자열 인스턴스를 공유한다")
+    void internRepeatedValues() {
+        String repeatedFile = outputDir + "/interned_employees.xlsx";
+        LocalDateTime lastUpdated = LocalDateTime.of(2024, 5, 1, 9, 30);
+        StreamingExcelWriter.builder(Employee.class).build().write(Stream.of(
+                new Employee(1L, "현수", "Card", new BigDecimal(85000), LocalDate.of(2020, 3, 15), lastUpdated),
+                new Employee(2L, "일찬", "Card", new BigDecimal(88000), LocalDate.of(2020, 9, 23), lastUpdated)
+        ), repeatedFile);
+
+        List<Employee> employees;
+        try (Stream<Employee> rows = StreamingExcelReader.builder(Employee.class).intern("Department").build().stream(repeatedFile)) {
+            employees = rows.toList();
+        } finally {
+            new File(repeatedFile).delete();
+        }
+
+        assertThat(employees.get(1).getDepartment()).isSameAs(employees.get(0).getDepartment());
+    }
+
+    @Test
+    @DisplayName("입력 스트림에서 읽은 행을 배치 단위로 전달하고 처리량을 기록한다")
+    void readBatchesFromStream() throws IOException {
+        List<List<Employee>> batches = new ArrayList<>();
+
+        ImportResult result;
+        try (InputStream in = Files.newInputStream(Path.of(fileName))) {
+            result = reader.readBatches(in, 2, batches::add);
+        }
+
+        assertThat(batches).extracting(List::size).containsExactly(2, 1);
+        assertThat(batches.get(1).getFirst().getName()).isEqualTo("창희");
+        assertThat(result.rows()).isEqualTo(3);
+        assertThat(result.batches()).isEqualTo(2);
+        assertThat(result.bytes()).isPositive().isLessThanOrEqualTo(Files.size(Path.of(fileName)));
+        assertThat(result.rowsPerSecond()).isPositive();
+    }
+
+    @Test
+    @DisplayName("공유 문자열보다 먼저 나오는 시트는 임시 파일에 보관했다가 읽는다")
+    void streamSheetBeforeSharedStrings() throws IOException {
+        ByteArrayOutputStream workbook = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(workbook)) {
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            zip.write("""
+                    <worksheet><sheetData>
+                    <row r="1"><c r="A1" t="s"><v>0</v></c><c r="B1" t="s"><v>1</v></c></row>
+                    <row r="2"><c r="A2"><v>7</v></c><c r="B2" t="s"><v>2</v></c></row>
+                    </sheetData></worksheet>""".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+            zip.write("<sst><si><t>Employee ID</t></si><si><t>Name</t></si><si><t>지수</t></si></sst>"
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<Employee> employees;
+        try (Stream<Employee> rows = reader.stream(new ByteArrayInputStream(workbook.toByteArray()))) {
+            employees = rows.toList();
+        }
+
+        assertThat(employees).hasSize(1);
+        assertThat(employees.getFirst().getId()).isEqualTo(7L);
+        assertThat(employees.getFirst().getName()).isEqualTo("지수");
+    }
+
+    @Test
+    @DisplayName("배치 크기는 양수여야 한다")
+    void batchSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reader.readBatches(new ByteArrayInputStream(new byte[0]), 0, batch -> {}));
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 파일을 스트림으로 읽으려 하면 예외가 발생한다")
+    void streamNonExistentFile() {
+        assertThrows(UncheckedIOException.class, () -> reader.stream("nonexistent.xlsx"));
+    }
+
+    private List<Employee> createTestEmployees() {
+        LocalDateTime lastUpdated = LocalDateTime.of(2024, 5, 1, 9, 30);
+        return Arrays.asList(
+                new Employee(1L, "현수", "Card", new BigDecimal("85000.50"), LocalDate.of(2020, 3, 15), lastUpdated),
+                new Employee(2L, "은미", "UI/UX", new BigDecimal(72000), LocalDate.of(2019, 7, 20), lastUpdated),
+                new Employee(3L, "창희", "BRM", new BigDecimal(80000), LocalDate.of(2021, 1, 10), lastUpdated)
+        );
+    }
+}
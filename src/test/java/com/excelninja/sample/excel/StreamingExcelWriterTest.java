@@ -0,0 +1,124 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.EmployeeExcelService;
+import com.excelninja.sample.java.TestEmployees;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("스트리밍 엑셀 라이터 테스트")
+public class StreamingExcelWriterTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/streamed_employees.xlsx";
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("윈도우 크기보다 많은 행을 스트림으로 저장할 수 있다")
+    void writeMoreRowsThanWindow() {
+        StreamingExcelWriter<Employee> writer = StreamingExcelWriter.builder(Employee.class)
+                .sheetName("Employee List")
+                .windowSize(3)
+                .build();
+
+        long written = writer.write(createEmployees(10), fileName);
+
+        assertThat(written).isEqualTo(10);
+        List<Employee> readEmployees = StreamingExcelReader.builder(Employee.class).build().stream(fileName).toList();
+        assertThat(readEmployees).hasSize(10);
+        assertThat(readEmployees.getLast().getId()).isEqualTo(10L);
+        assertThat(readEmployees.getLast().getSalary().compareTo(new BigDecimal("70010.25"))).isEqualTo(0);
+        assertThat(readEmployees.getLast().getHireDate()).isEqualTo(LocalDate.of(2020, 1, 11));
+        assertThat(readEmployees.getLast().getLastUpdated()).isEqualTo(LocalDateTime.of(2024, 5, 1, 9, 30, 15));
+    }
+
+    @Test
+    @DisplayName("스트리밍으로 저장한 파일을 NinjaExcel로 다시 읽을 수 있다")
+    void readStreamedFileWithNinjaExcel() {
+        StreamingExcelWriter.builder(Employee.class).build().write(createEmployees(5), fileName);
+
+        List<Employee> readEmployees = new EmployeeExcelService().readEmployeesFromExcel(fileName);
+
+        assertThat(readEmployees).hasSize(5);
+        assertThat(readEmployees.getFirst().getName()).isEqualTo("직원1");
+        assertThat(readEmployees.getFirst().getDepartment()).isEqualTo("Card");
+    }
+
+    @Test
+    @DisplayName("빈 스트림을 저장하면 헤더만 있는 파일이 생성된다")
+    void writeEmptyStream() {
+        long written = StreamingExcelWriter.builder(Employee.class).build().write(Stream.empty(), fileName);
+
+        assertThat(written).isZero();
+        assertThat(new File(fileName)).exists();
+        assertThat(StreamingExcelReader.builder(Employee.class).build().stream(fileName).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("출력 스트림으로 저장하면 스트림을 닫지 않고 완전한 파일을 쓴다")
+    void writeToOutputStream() throws IOException {
+        ClosedFlagOutputStream out = new ClosedFlagOutputStream();
+
+        long written = StreamingExcelWriter.builder(Employee.class).windowSize(2).build().write(createEmployees(7), out);
+
+        assertThat(written).isEqualTo(7);
+        assertThat(out.closed).isFalse();
+        Files.write(Path.of(fileName), out.toByteArray());
+        List<Employee> readEmployees = StreamingExcelReader.builder(Employee.class).build().stream(fileName).toList();
+        assertThat(readEmployees).hasSize(7);
+        assertThat(readEmployees.getLast().getName()).isEqualTo("직원7");
+    }
+
+    @Test
+    @DisplayName("윈도우 크기는 양수여야 한다")
+    void windowSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> StreamingExcelWriter.builder(Employee.class).windowSize(0));
+    }
+
+    /**
+     * Employees with fractional salaries and seconds in their timestamps, so both survive the round trip.
+     */
+    private Stream<Employee> createEmployees(int count) {
+        return TestEmployees.employees(count).map(employee -> {
+            employee.setSalary(employee.getSalary().add(new BigDecimal("10000.25")));
+            employee.setLastUpdated(employee.getLastUpdated().plusSeconds(15));
+            return employee;
+        });
+    }
+
+    private static final class ClosedFlagOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
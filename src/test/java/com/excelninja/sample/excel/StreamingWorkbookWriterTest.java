@@ -0,0 +1,126 @@
+package com.excelninja.sample.excel;
+
+import com.excelNinja.sample.Student;
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.TestEmployees;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+import java.util.zip.ZipFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("다중 시트 워크북 라이터 테스트")
+public class StreamingWorkbookWriterTest {
+
+    private final String outputDir = "test_output";
+    private final String parallelFile = outputDir + "/parallel_workbook.xlsx";
+    private final String sequentialFile = outputDir + "/sequential_workbook.xlsx";
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(parallelFile).delete();
+        new File(sequentialFile).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("시트를 병렬로 생성해도 시트 순서와 내용은 순차 생성과 같다")
+    void parallelSheetsMatchSequential() throws IOException {
+        List<Employee> card = createEmployees("Card", 1, 40);
+        List<Employee> brm = createEmployees("BRM", 41, 25);
+        List<Student> students = List.of(
+                new Student("CS001", "현수", "hyunsoo@university.edu", "Computer Science", 3, 3.8, true)
+        );
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            StreamingWorkbookWriter.builder()
+                    .executor(executor)
+                    .windowSize(7)
+                    .sheet("Card", Employee.class, card)
+                    .sheet("BRM", Employee.class, brm)
+                    .sheet("Students", Student.class, students)
+                    .build()
+                    .write(parallelFile);
+        }
+        StreamingWorkbookWriter.builder()
+                .sheet("Card", Employee.class, card)
+                .sheet("BRM", Employee.class, brm)
+                .sheet("Students", Student.class, students)
+                .build()
+                .write(sequentialFile);
+
+        for (int sheet = 1; sheet <= 3; sheet++) {
+            assertThat(readPart(parallelFile, "xl/worksheets/sheet" + sheet + ".xml"))
+                    .isEqualTo(readPart(sequentialFile, "xl/worksheets/sheet" + sheet + ".xml"));
+        }
+        assertThat(readPart(parallelFile, "xl/workbook.xml"))
+                .contains("name=\"Card\"", "name=\"BRM\"", "name=\"Students\"");
+
+        List<Employee> firstSheet = StreamingExcelReader.builder(Employee.class).build().stream(parallelFile).toList();
+        assertThat(firstSheet).hasSize(40);
+        assertThat(firstSheet).allMatch(emp -> "Card".equals(emp.getDepartment()));
+    }
+
+    @Test
+    @DisplayName("시트가 없는 워크북은 만들 수 없다")
+    void workbookNeedsSheet() {
+        assertThrows(IllegalArgumentException.class, () -> StreamingWorkbookWriter.builder().build());
+    }
+
+    @Test
+    @DisplayName("시트를 쓰다 실패하면 그 예외만 전달하고 시트 수 검사 예외를 덧붙이지 않는다")
+    void sheetFailureIsNotMaskedByPackageCheck() {
+        IllegalStateException failure = new IllegalStateException("row source failed");
+        Iterable<Employee> failing = () -> createEmployees("Card", 1, 3).stream().peek(employee -> {
+            if (employee.getId() == 3) {
+                throw failure;
+            }
+        }).iterator();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> StreamingWorkbookWriter.builder()
+                .sheet("Card", Employee.class, failing)
+                .sheet("BRM", Employee.class, createEmployees("BRM", 4, 3))
+                .build()
+                .write(new ByteArrayOutputStream()));
+
+        assertThat(thrown).isSameAs(failure);
+        assertThat(thrown.getSuppressed()).isEmpty();
+    }
+
+    private String readPart(
+            String fileName,
+            String part
+    ) throws IOException {
+        try (ZipFile zip = new ZipFile(fileName); InputStream in = zip.getInputStream(zip.getEntry(part))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private List<Employee> createEmployees(
+            String department,
+            long firstId,
+            int count
+    ) {
+        return LongStream.range(firstId, firstId + count)
+                .mapToObj(id -> TestEmployees.employee(id, department))
+                .toList();
+    }
+}
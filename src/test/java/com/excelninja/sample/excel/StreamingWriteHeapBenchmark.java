@@ -0,0 +1,92 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.EmployeeExcelService;
+import com.excelninja.sample.java.TestEmployees;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Compares peak heap of the list-based NinjaExcel write with the streaming writer for 1M employees.
+ * Run with {@code ./gradlew benchmarkTest}.
+ */
+@Tag("benchmark")
+@DisplayName("스트리밍 저장 힙 사용량 벤치마크")
+public class StreamingWriteHeapBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/heap_benchmark.xlsx";
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("100만 직원 행 저장 시 최대 힙 사용량을 비교한다")
+    void comparePeakHeap() {
+        long streamingPeak = measurePeakHeap(() -> StreamingExcelWriter.builder(Employee.class)
+                .sheetName("Employee List")
+                .windowSize(1_000)
+                .build()
+                .write(employees(ROWS), fileName));
+        System.out.printf("streaming writer (window=1000): peak heap %,d MB%n", streamingPeak >> 20);
+
+        long listPeak = measurePeakHeap(() -> {
+            List<Employee> materialized = employees(ROWS).toList();
+            new EmployeeExcelService().saveEmployeesToExcel(materialized, fileName);
+        });
+        System.out.printf("ExcelWorkbook + NinjaExcel.write:  peak heap %,d MB%n", listPeak >> 20);
+    }
+
+    private static long measurePeakHeap(Runnable action) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (running.get()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        try {
+            action.run();
+        } finally {
+            running.set(false);
+            sampler.interrupt();
+        }
+        return peak.get() - baseline;
+    }
+
+    private static Stream<Employee> employees(int count) {
+        String[] departments = {"Card", "UI/UX", "BRM", "Remittance"};
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> TestEmployees.employee(id, departments[(int) (id % departments.length)]));
+    }
+}
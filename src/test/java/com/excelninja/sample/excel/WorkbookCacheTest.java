@@ -0,0 +1,148 @@
+package com.excelninja.sample.excel;
+
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.TestEmployees;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("워크북 캐시 테스트")
+public class WorkbookCacheTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/cached_employees.xlsx";
+    private final String otherFileName = outputDir + "/cached_employees_2.xlsx";
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StreamingExcelReader<Employee> reader = StreamingExcelReader.builder(Employee.class).build();
+    private final AtomicInteger reads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+        write(fileName, 10);
+        write(otherFileName, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(fileName).delete();
+        new File(otherFileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("바뀌지 않은 파일을 다시 읽으면 파싱하지 않고 같은 행을 돌려준다")
+    void hitUnchangedFile() throws Exception {
+        WorkbookCache cache = new WorkbookCache(100, registry);
+
+        List<Employee> first = read(cache, fileName);
+        List<Employee> second = read(cache, "./" + fileName);
+
+        assertThat(second).isSameAs(first).hasSize(10);
+        assertThat(reads).hasValue(1);
+        assertThat(registry.get("excel.cache.requests").tags("model", "Employee", "result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("excel.cache.requests").tags("model", "Employee", "result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get("excel.cache.rows").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("크기나 수정 시각이 바뀐 파일은 다시 읽는다")
+    void missChangedFile() throws Exception {
+        WorkbookCache cache = new WorkbookCache(100, registry);
+        read(cache, fileName);
+
+        write(fileName, 12);
+        assertThat(read(cache, fileName)).hasSize(12);
+
+        Path path = Path.of(fileName);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 60_000));
+        read(cache, fileName);
+
+        assertThat(reads).hasValue(3);
+        assertThat(cache.getEntries()).isEqualTo(1);
+        assertThat(cache.getRows()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("행 수 한도를 넘으면 가장 오래 쓰지 않은 워크북부터 내보낸다")
+    void evictLeastRecentlyUsed() throws Exception {
+        WorkbookCache cache = new WorkbookCache(15, registry);
+
+        read(cache, fileName);
+        read(cache, otherFileName);
+        read(cache, fileName);
+
+        assertThat(reads).hasValue(3);
+        assertThat(cache.getEntries()).isEqualTo(1);
+        assertThat(registry.get("excel.cache.evictions").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("읽기 실패는 캐시하지 않고 그대로 전달한다")
+    void propagateFailures() throws Exception {
+        WorkbookCache cache = new WorkbookCache(100, registry);
+
+        assertThrows(FileNotFoundException.class, () -> cache.read("nonexistent.xlsx", Employee.class, () -> {
+            throw new FileNotFoundException("nonexistent.xlsx");
+        }));
+        read(cache, fileName);
+        cache.invalidate(fileName);
+        read(cache, fileName);
+
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("파생 뷰는 캐시된 워크북마다 한 번 만들고 파일이 바뀌면 다시 만든다")
+    void buildViewOncePerWorkbook() throws Exception {
+        WorkbookCache cache = new WorkbookCache(100, registry);
+        AtomicInteger builds = new AtomicInteger();
+        Function<List<Employee>, Integer> rowCount = rows -> {
+            builds.incrementAndGet();
+            return rows.size();
+        };
+
+        cache.view(fileName, Employee.class, () -> load(fileName), rowCount);
+        cache.view(fileName, Employee.class, () -> load(fileName), rowCount);
+        write(fileName, 12);
+
+        assertThat(cache.view(fileName, Employee.class, () -> load(fileName), rowCount)).isEqualTo(12);
+        assertThat(builds).hasValue(2);
+    }
+
+    private List<Employee> read(
+            WorkbookCache cache,
+            String file
+    ) throws Exception {
+        return cache.read(file, Employee.class, () -> load(file));
+    }
+
+    private List<Employee> load(String file) {
+        reads.incrementAndGet();
+        try (Stream<Employee> rows = reader.stream(file)) {
+            return rows.toList();
+        }
+    }
+
+    private void write(
+            String file,
+            int count
+    ) {
+        StreamingExcelWriter.builder(Employee.class).build().write(TestEmployees.employees(count), file);
+    }
+}
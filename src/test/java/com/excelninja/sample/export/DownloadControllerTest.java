@@ -0,0 +1,119 @@
+package com.excelninja.sample.export;
+
+import com.excelNinja.sample.Product;
+import com.excelninja.sample.excel.StreamingExcelReader;
+import com.excelninja.sample.java.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("스트리밍 다운로드 컨트롤러 테스트")
+public class DownloadControllerTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/downloaded.xlsx";
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        new File(outputDir).mkdirs();
+        mockMvc = MockMvcBuilders.standaloneSetup(new DownloadController(Jackson2ObjectMapperBuilder.json().build())).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("직원 JSON 배열을 엑셀 응답으로 스트리밍한다")
+    void downloadEmployees() throws Exception {
+        String body = """
+                [
+                  {"id": 1, "name": "김철수", "department": "Card", "salary": 75000.50, "hireDate": "2020-01-15", "lastUpdated": "2024-05-01T09:30:00"},
+                  {"id": 2, "name": "이영희", "department": "BRM", "salary": 82000.00, "hireDate": "2019-03-20", "lastUpdated": "2024-05-01T09:30:00"}
+                ]
+                """;
+
+        byte[] xlsx = download("/downloads/employees", body, "employees.xlsx");
+
+        Files.write(Path.of(fileName), xlsx);
+        List<Employee> employees = StreamingExcelReader.builder(Employee.class).build().stream(fileName).toList();
+        assertThat(employees).extracting(Employee::getName).containsExactly("김철수", "이영희");
+        assertThat(employees.getLast().getDepartment()).isEqualTo("BRM");
+    }
+
+    @Test
+    @DisplayName("상품 JSON 배열을 엑셀 응답으로 스트리밍한다")
+    void downloadProducts() throws Exception {
+        String body = """
+                [{"id": 7, "name": "Laptop", "category": "Electronics", "price": 1299.99, "stockQuantity": 5}]
+                """;
+
+        byte[] xlsx = download("/downloads/products", body, "products.xlsx");
+
+        Files.write(Path.of(fileName), xlsx);
+        List<Product> products = StreamingExcelReader.builder(Product.class).build().stream(fileName).toList();
+        assertThat(products).hasSize(1);
+        assertThat(products.getFirst().getName()).isEqualTo("Laptop");
+    }
+
+    @Test
+    @DisplayName("잘못된 JSON은 응답을 시작하기 전에 400으로 거절한다")
+    void rejectInvalidJson() throws Exception {
+        mockMvc.perform(post("/downloads/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("not json"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("첫 요소가 매핑되지 않는 JSON도 응답을 시작하기 전에 400으로 거절한다")
+    void rejectMalformedFirstElement() throws Exception {
+        mockMvc.perform(post("/downloads/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": 1, \"salary\": \"x\"}, {\"id\": 2}]"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    private byte[] download(
+            String path,
+            String body,
+            String expectedFileName
+    ) throws Exception {
+        MvcResult started = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportController.XLSX))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"" + expectedFileName + "\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+}
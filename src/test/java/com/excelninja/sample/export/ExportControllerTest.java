@@ -0,0 +1,133 @@
+package com.excelninja.sample.export;
+
+import com.excelninja.sample.excel.StreamingExcelReader;
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.EmployeeExcelService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("내보내기 컨트롤러 테스트")
+public class ExportControllerTest {
+
+    private final String outputDir = "test_output/exports";
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ExportJobService exportJobService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        exportJobService = new ExportJobService(1, 1, Duration.ofHours(1), outputDir);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new ExportController(exportJobService, new EmployeeExcelService(), objectMapper)
+        ).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportJobService.destroy();
+        new File(outputDir).delete();
+        new File("test_output").delete();
+    }
+
+    @Test
+    @DisplayName("요청 본문을 임시 파일로 받아 두고 작업이 실행될 때 읽는다")
+    void exportsSpooledBody() throws Exception {
+        String body = """
+                [
+                  {"id": 1, "name": "김철수", "department": "Card", "salary": 75000.50, "hireDate": "2020-01-15", "lastUpdated": "2024-05-01T09:30:00"},
+                  {"id": 2, "name": "이영희", "department": "BRM", "salary": 82000.00, "hireDate": "2019-03-20", "lastUpdated": "2024-05-01T09:30:00"}
+                ]
+                """;
+
+        MvcResult result = mockMvc.perform(post("/exports/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String id = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+        ExportJob job = exportJobService.find(id).orElseThrow();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> job.getStatus().isFinished());
+
+        assertThat(job.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        try (Stream<Employee> rows = StreamingExcelReader.builder(Employee.class).build().stream(job.getFile().toString())) {
+            assertThat(rows.map(Employee::getName).toList()).containsExactly("김철수", "이영희");
+        }
+        assertThat(new File(outputDir).list((dir, name) -> name.endsWith(".request"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 본문을 읽지 않고 429로 거절한다")
+    void rejectsWithoutReadingBody() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        exportJobService.submit("employees", file -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        exportJobService.submit("employees", file -> {});
+        byte[] body = "not even json".getBytes(StandardCharsets.UTF_8);
+
+        try {
+            MvcResult result = mockMvc.perform(post("/exports/employees")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().exists("Retry-After"))
+                    .andReturn();
+
+            assertThat(result.getRequest().getInputStream().readAllBytes()).isEqualTo(body);
+            assertThat(new File(outputDir).list((dir, name) -> name.endsWith(".request"))).isEmpty();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("배열이 아닌 본문은 요청이 아니라 작업을 실패시킨다")
+    void failsJobForInvalidBody() throws Exception {
+        MvcResult result = mockMvc.perform(post("/exports/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": 1, \"salary\": \"x\"}]"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String id = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+        ExportJob job = exportJobService.find(id).orElseThrow();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> job.getStatus().isFinished());
+
+        assertThat(job.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+        assertThat(job.getFile()).doesNotExist();
+        assertThat(new File(outputDir).list((dir, name) -> name.endsWith(".request"))).isEmpty();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.excelninja.sample.export;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("내보내기 작업 큐 테스트")
+public class ExportJobServiceTest {
+
+    private final String outputDir = "test_output/exports";
+    private ExportJobService exportJobService;
+
+    @BeforeEach
+    void setUp() {
+        exportJobService = new ExportJobService(1, 1, Duration.ofHours(1), outputDir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportJobService.destroy();
+        new File(outputDir).delete();
+        new File("test_output").delete();
+    }
+
+    @Test
+    @DisplayName("작업은 백그라운드에서 실행되고 완료되면 파일을 가리킨다")
+    void completesInBackground() {
+        ExportJob job = exportJobService.submit("employees", file -> write(file.toFile(), "done"));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> job.getStatus() == ExportJobStatus.COMPLETED);
+
+        assertThat(job.getFile()).exists();
+        assertThat(exportJobService.find(job.getId())).contains(job);
+        assertThat(exportJobService.delete(job.getId())).isTrue();
+        assertThat(job.getFile()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("작업자와 대기열이 가득 차면 새 작업을 거절한다")
+    void rejectsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        ExportJob running = exportJobService.submit("employees", file -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        ExportJob queued = exportJobService.submit("employees", file -> write(file.toFile(), "queued"));
+
+        assertThrows(ExportRejectedException.class, () -> exportJobService.submit("employees", file -> {}));
+        assertThat(queued.getStatus()).isEqualTo(ExportJobStatus.QUEUED);
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> queued.getStatus() == ExportJobStatus.COMPLETED);
+        assertThat(running.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("실패한 작업은 오류 메시지와 함께 FAILED 상태가 된다")
+    void recordsFailure() {
+        ExportJob job = exportJobService.submit("employees", file -> {
+            throw new IllegalStateException("boom");
+        });
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> job.getStatus().isFinished());
+
+        assertThat(job.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("boom");
+    }
+
+    @Test
+    @DisplayName("실행 중인 작업은 삭제할 수 없다")
+    void rejectsDeletingActiveJob() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        ExportJob job = exportJobService.submit("employees", file -> {
+            started.countDown();
+            awaitQuietly(release);
+            write(file.toFile(), "done");
+        });
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThrows(ExportJobActiveException.class, () -> exportJobService.delete(job.getId()));
+        assertThat(exportJobService.find(job.getId())).contains(job);
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> job.getStatus() == ExportJobStatus.COMPLETED);
+        assertThat(exportJobService.delete(job.getId())).isTrue();
+        assertThat(job.getFile()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 작업은 새 작업이 없어도 파일과 함께 정리된다")
+    void prunesExpiredJobsWithoutNewSubmissions() {
+        ExportJobService shortLived = new ExportJobService(1, 1, Duration.ofMillis(100), outputDir);
+        try {
+            ExportJob job = shortLived.submit("employees", file -> write(file.toFile(), "done"));
+
+            await().atMost(5, TimeUnit.SECONDS).until(() -> shortLived.find(job.getId()).isEmpty());
+
+            assertThat(job.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+            assertThat(job.getFile()).doesNotExist();
+        } finally {
+            shortLived.destroy();
+        }
+    }
+
+    private static void write(
+            File file,
+            String content
+    ) {
+        try {
+            Files.writeString(file.toPath(), content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.excelninja.sample.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("인덱스 테스트")
+public class IndexedRowsTest {
+
+    private final List<Item> items = List.of(
+            new Item("A", "Electronics", new BigDecimal("1200.00")),
+            new Item("B", "Books", new BigDecimal("15.5")),
+            new Item("C", "Electronics", new BigDecimal("15.50")),
+            new Item("D", null, new BigDecimal("80")),
+            new Item("E", "Books", null)
+    );
+    private final IndexedRows<Item> indexed = IndexedRows.<Item>define()
+            .hash("category", Item::category)
+            .sorted("price", Item::price)
+            .apply(items);
+
+    @Test
+    @DisplayName("해시 인덱스는 키가 같은 행을 원래 순서대로 돌려준다")
+    void hashLookup() {
+        HashIndex<Item, String> categories = indexed.hashIndex("category");
+
+        assertThat(categories.get("Electronics")).extracting(Item::name).containsExactly("A", "C");
+        assertThat(categories.get("Toys")).isEmpty();
+        assertThat(categories.keys()).containsExactlyInAnyOrder("Electronics", "Books");
+    }
+
+    @Test
+    @DisplayName("정렬 인덱스는 양 끝을 포함한 범위를 키 순서로 돌려준다")
+    void rangeQuery() {
+        SortedIndex<Item, BigDecimal> prices = indexed.sortedIndex("price");
+
+        assertThat(prices.range(new BigDecimal("15.5"), new BigDecimal("80"))).extracting(Item::name).containsExactly("B", "C", "D");
+        assertThat(prices.atLeast(new BigDecimal("80.00"))).extracting(Item::name).containsExactly("D", "A");
+        assertThat(prices.atMost(new BigDecimal("10"))).isEmpty();
+        assertThat(prices.range(new BigDecimal("100"), new BigDecimal("50"))).isEmpty();
+        assertThat(prices.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("구축 시간과 메모리 사용량을 알려주고, 없는 인덱스는 거부한다")
+    void footprint() {
+        assertThat(indexed.getBuildTime()).isPositive();
+        assertThat(indexed.estimatedBytes()).isPositive();
+        assertThat(indexed.getRows()).isSameAs(items);
+        assertThrows(IllegalArgumentException.class, () -> indexed.sortedIndex("category"));
+        assertThrows(IllegalArgumentException.class, () -> indexed.hashIndex("name"));
+    }
+
+    private record Item(
+            String name,
+            String category,
+            BigDecimal price
+    ) {}
+}
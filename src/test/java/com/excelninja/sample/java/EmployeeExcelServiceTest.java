@@ -1,5 +1,8 @@
 package com.excelninja.sample.java;
 
+import com.excelninja.sample.excel.ColumnarTable;
+import com.excelninja.sample.excel.PartitionedExcelWriter;
+import com.excelninja.sample.index.IndexedRows;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +14,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -61,6 +66,52 @@ public class EmployeeExcelServiceTest {
         assertThat(readEmployees.getFirst().getSalary().compareTo(new BigDecimal(85000))).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("캐시를 거친 읽기는 같은 목록을 공유하고 일반 읽기는 매번 새 목록을 돌려준다")
+    void readCachedEmployees() {
+        String fileName = outputDir + "/" + testFileName;
+        employeeExcelService.saveEmployeesToExcel(createTestEmployees(), fileName);
+
+        List<Employee> cached = employeeExcelService.readCachedEmployees(fileName);
+        List<Employee> fresh = employeeExcelService.readEmployeesFromExcel(fileName);
+
+        assertThat(employeeExcelService.readCachedEmployees(fileName)).isSameAs(cached);
+        assertThrows(UnsupportedOperationException.class, () -> cached.add(cached.getFirst()));
+        fresh.getFirst().setName("변경됨");
+        assertThat(employeeExcelService.readEmployeesFromExcel(fileName)).isNotSameAs(fresh)
+                .extracting(Employee::getName).doesNotContain("변경됨");
+        assertThat(cached).extracting(Employee::getName).doesNotContain("변경됨");
+    }
+
+    @Test
+    @DisplayName("엑셀 파일에서 직원을 한 행씩 스트림으로 읽을 수 있다")
+    void streamEmployeesFromExcel() {
+        List<Employee> originalEmployees = createTestEmployees();
+        String fileName = outputDir + "/" + testFileName;
+
+        employeeExcelService.saveEmployeesToExcel(originalEmployees, fileName);
+
+        try (Stream<Employee> employees = employeeExcelService.streamEmployeesFromExcel(fileName)) {
+            List<String> cardEmployees = employees
+                    .filter(emp -> "Card".equals(emp.getDepartment()))
+                    .map(Employee::getName)
+                    .toList();
+            assertThat(cardEmployees).containsExactly("현수", "일찬", "종현");
+        }
+    }
+
+    @Test
+    @DisplayName("급여 열만 읽어 고액 연봉자를 찾을 수 있다")
+    void readHighSalaryEmployees() {
+        String fileName = outputDir + "/" + testFileName;
+        employeeExcelService.saveEmployeesToExcel(createTestEmployees(), fileName);
+
+        List<EmployeeSalary> highSalaryEmployees = employeeExcelService.readHighSalaryEmployees(fileName, new BigDecimal(85000));
+
+        assertThat(highSalaryEmployees).extracting(EmployeeSalary::getName).containsExactly("현수", "완주", "일찬");
+        assertThat(highSalaryEmployees.getFirst().getDepartment()).isEqualTo("Card");
+    }
+
     @Test
     @DisplayName("부서별로 직원을 필터링하여 저장할 수 있다")
     void saveEmployeesByDepartment() {
@@ -80,6 +131,22 @@ public class EmployeeExcelServiceTest {
         assertThat(cardEmployees).allMatch(emp -> "Card".equals(emp.getDepartment()));
     }
 
+    @Test
+    @DisplayName("엑셀 파일에서 부서 조건에 맞는 행만 읽어 저장할 수 있다")
+    void saveEmployeesByDepartmentFromExcel() {
+        String originalFileName = outputDir + "/" + testFileName;
+        String departmentFileName = outputDir + "/brm_employees.xlsx";
+        String missingFileName = outputDir + "/missing_employees.xlsx";
+        employeeExcelService.saveEmployeesToExcel(createTestEmployees(), originalFileName);
+
+        employeeExcelService.saveEmployeesByDepartmentFromExcel(originalFileName, "BRM", departmentFileName);
+        employeeExcelService.saveEmployeesByDepartmentFromExcel(originalFileName, "NonExistent", missingFileName);
+
+        List<Employee> brmEmployees = employeeExcelService.readEmployeesFromExcel(departmentFileName);
+        assertThat(brmEmployees).extracting(Employee::getName).containsExactly("창희", "완주");
+        assertThat(new File(missingFileName)).doesNotExist();
+    }
+
     @Test
     @DisplayName("존재하지 않는 부서로 필터링하면 파일이 생성되지 않는다")
     void saveEmployeesByNonExistentDepartment() {
@@ -91,6 +158,131 @@ public class EmployeeExcelServiceTest {
         assertThat(new File(departmentFileName)).doesNotExist();
     }
 
+    @Test
+    @DisplayName("한 번의 순회로 부서별 파일을 나누어 저장할 수 있다")
+    void savePartitionedByDepartment() {
+        List<Employee> employees = createTestEmployees();
+
+        Map<String, PartitionedExcelWriter.Partition> partitions = employeeExcelService.savePartitioned(
+                employees.stream(), Employee::getDepartment, outputDir + "/{key}_team.xlsx");
+
+        assertThat(partitions.keySet()).containsExactly("Card", "UI/UX", "BRM", "Remittance");
+        assertThat(partitions.get("UI/UX").fileName()).isEqualTo(outputDir + "/UI_UX_team.xlsx");
+
+        List<Employee> cardEmployees = employeeExcelService.readEmployeesFromExcel(partitions.get("Card").fileName());
+        assertThat(cardEmployees).extracting(Employee::getName).containsExactly("현수", "일찬", "종현");
+        assertThat(partitions.get("BRM").rowCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("한 번의 순회로 요청한 급여 등급만 등급별 파일로 저장한다")
+    void saveEmployeesBySalaryGrade() {
+        List<Employee> employees = createTestEmployees();
+        String seniorFile = outputDir + "/senior_employees.xlsx";
+        String midFile = outputDir + "/mid_level_employees.xlsx";
+
+        Map<String, PartitionedExcelWriter.Partition> partitions = employeeExcelService.saveEmployeesBySalaryGrade(
+                employees.stream(), Map.of("Senior", seniorFile, "Mid", midFile));
+
+        assertThat(partitions.keySet()).containsExactly("Mid");
+        assertThat(partitions.get("Mid").rowCount()).isEqualTo(6);
+        assertThat(employeeExcelService.readEmployeesFromExcel(midFile))
+                .extracting(Employee::getName)
+                .containsExactly("현수", "은미", "창희", "완주", "일찬", "종현");
+        assertThat(new File(seniorFile)).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("부서별 급여 통계를 계산할 수 있다")
+    void getDepartmentStatistics() {
+        List<Employee> employees = createTestEmployees();
+
+        Map<String, DepartmentStatistics> stats = employeeExcelService.getDepartmentStatistics(employees);
+
+        assertThat(stats.keySet()).containsExactly("Card", "UI/UX", "BRM", "Remittance");
+        DepartmentStatistics card = stats.get("Card");
+        assertThat(card.count()).isEqualTo(3);
+        assertThat(card.totalSalary()).isEqualByComparingTo("243000");
+        assertThat(card.averageSalary()).isEqualByComparingTo("81000.00");
+        assertThat(card.minSalary()).isEqualByComparingTo("70000");
+        assertThat(card.maxSalary()).isEqualByComparingTo("88000");
+        assertThat(card.seniorCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("열 단위 테이블로 읽어도 부서별 통계와 총 인건비가 같다")
+    void getDepartmentStatisticsFromTable() {
+        List<Employee> employees = createTestEmployees();
+        String fileName = outputDir + "/" + testFileName;
+        employeeExcelService.saveEmployeesToExcel(employees, fileName);
+
+        ColumnarTable table = employeeExcelService.readEmployeeTable(fileName);
+        Map<String, DepartmentStatistics> stats = employeeExcelService.getDepartmentStatistics(table);
+
+        assertThat(table.getRowCount()).isEqualTo(7);
+        assertThat(stats.keySet()).containsExactly("Card", "UI/UX", "BRM", "Remittance");
+        DepartmentStatistics card = stats.get("Card");
+        assertThat(card.count()).isEqualTo(3);
+        assertThat(card.totalSalary()).isEqualByComparingTo("243000");
+        assertThat(card.averageSalary()).isEqualByComparingTo("81000.00");
+        assertThat(card.minSalary()).isEqualByComparingTo("70000");
+        assertThat(card.maxSalary()).isEqualByComparingTo("88000");
+        assertThat(employeeExcelService.getCompanyTotalSalaryExpense(table))
+                .isEqualByComparingTo(employeeExcelService.getCompanyTotalSalaryExpense(employees));
+    }
+
+    @Test
+    @DisplayName("인덱스로 찾은 부서와 고액 연봉자는 전체를 훑은 결과와 같다")
+    void queryIndexedEmployees() {
+        List<Employee> employees = createTestEmployees();
+        String fileName = outputDir + "/" + testFileName;
+        employeeExcelService.saveEmployeesToExcel(employees, fileName);
+
+        IndexedRows<Employee> indexed = employeeExcelService.indexEmployees(fileName);
+
+        assertThat(employeeExcelService.indexEmployees(fileName)).isSameAs(indexed);
+        assertThat(employeeExcelService.getEmployeesByDepartment(indexed, "Card"))
+                .extracting(Employee::getName)
+                .containsExactly("현수", "일찬", "종현");
+        assertThat(employeeExcelService.getHighSalaryEmployees(indexed, new BigDecimal(85000)))
+                .extracting(Employee::getName)
+                .containsExactlyInAnyOrderElementsOf(employeeExcelService.getHighSalaryEmployees(employees, new BigDecimal(85000))
+                        .stream().map(Employee::getName).toList());
+        assertThat(indexed.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("직원 ID로 해당 행만 읽어 직원을 찾을 수 있다")
+    void findEmployee() {
+        List<Employee> employees = createTestEmployees();
+        String fileName = outputDir + "/" + testFileName;
+        employeeExcelService.saveEmployeesToExcel(employees, fileName);
+
+        assertThat(employeeExcelService.findEmployee(fileName, 6L))
+                .map(Employee::getName)
+                .hasValue("일찬");
+        assertThat(employeeExcelService.findEmployee(fileName, 8L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("파일에 행이 추가되면 추가된 행만 반영하고, 파일이 줄어들면 처음부터 다시 집계한다")
+    void refreshDepartmentStatistics() {
+        List<Employee> employees = createTestEmployees();
+        String fileName = outputDir + "/" + testFileName;
+        employeeExcelService.saveEmployeesToExcel(employees.subList(0, 4), fileName);
+
+        Map<String, DepartmentStatistics> initial = employeeExcelService.refreshDepartmentStatistics(fileName);
+        employeeExcelService.saveEmployeesToExcel(employees, fileName);
+        Map<String, DepartmentStatistics> refreshed = employeeExcelService.refreshDepartmentStatistics(fileName);
+
+        assertThat(initial.get("Card").count()).isEqualTo(1);
+        assertThat(refreshed).isEqualTo(employeeExcelService.getDepartmentStatistics(employees));
+
+        employeeExcelService.saveEmployeesToExcel(employees.subList(0, 2), fileName);
+        assertThat(employeeExcelService.refreshDepartmentStatistics(fileName))
+                .isEqualTo(employeeExcelService.getDepartmentStatistics(employees.subList(0, 2)));
+    }
+
     @Test
     @DisplayName("존재하지 않는 파일을 읽으려 하면 예외가 발생한다")
     void readNonExistentFile() {
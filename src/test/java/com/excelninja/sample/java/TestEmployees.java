@@ -0,0 +1,47 @@
+package com.excelninja.sample.java;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic employees shared by the tests. Employee {@code id} is named 직원{id}, works in BRM when the id is even
+ * and Card otherwise, earns 60,000 + id and was hired {@code id} days after 2020-01-01.
+ */
+public final class TestEmployees {
+
+    public static final LocalDateTime LAST_UPDATED = LocalDateTime.of(2024, 5, 1, 9, 30);
+
+    private TestEmployees() {}
+
+    /**
+     * Employees 1 to {@code count}.
+     */
+    public static Stream<Employee> employees(int count) {
+        return employees(LongStream.rangeClosed(1, count));
+    }
+
+    public static Stream<Employee> employees(LongStream ids) {
+        return ids.mapToObj(TestEmployees::employee);
+    }
+
+    public static Employee employee(long id) {
+        return employee(id, id % 2 == 0 ? "BRM" : "Card");
+    }
+
+    public static Employee employee(
+            long id,
+            String department
+    ) {
+        return new Employee(
+                id,
+                "직원" + id,
+                department,
+                BigDecimal.valueOf(60_000 + id),
+                LocalDate.of(2020, 1, 1).plusDays(id),
+                LAST_UPDATED
+        );
+    }
+}
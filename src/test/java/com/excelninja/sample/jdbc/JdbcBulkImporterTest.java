@@ -0,0 +1,125 @@
+package com.excelninja.sample.jdbc;
+
+import com.excelninja.sample.excel.StreamingExcelWriter;
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.TestEmployees;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("JDBC 일괄 적재 파이프라인 테스트")
+public class JdbcBulkImporterTest {
+
+    private final String outputDir = "test_output";
+    private final String fileName = outputDir + "/imported_employees.xlsx";
+    private final String url = "jdbc:h2:mem:bulk_import;DB_CLOSE_DELAY=-1";
+    private final JdbcBulkImporter<Employee> importer = JdbcBulkImporter.builder(Employee.class)
+            .table("employees")
+            .column("id", Employee::getId)
+            .column("name", Employee::getName)
+            .column("department", Employee::getDepartment)
+            .column("salary", Employee::getSalary)
+            .column("hire_date", Employee::getHireDate)
+            .batchSize(500)
+            .queueCapacity(2)
+            .build();
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        new File(outputDir).mkdirs();
+        connection = DriverManager.getConnection(url);
+        execute("CREATE TABLE employees (id BIGINT PRIMARY KEY, name VARCHAR(50), department VARCHAR(20), "
+                + "salary DECIMAL(12, 2), hire_date DATE)");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        execute("DROP TABLE employees");
+        connection.close();
+        new File(fileName).delete();
+        new File(outputDir).delete();
+    }
+
+    @Test
+    @DisplayName("엑셀의 모든 행을 배치로 적재하고 단계별 처리량을 보고한다")
+    void importAllRows() throws SQLException {
+        write(LongStream.rangeClosed(1, 10_000));
+
+        BulkImportResult result = importer.importFile(fileName, dataSource());
+
+        assertThat(importer.getSql()).isEqualTo("INSERT INTO employees (id, name, department, salary, hire_date) VALUES (?, ?, ?, ?, ?)");
+        assertThat(result.rows()).isEqualTo(10_000);
+        assertThat(result.batches()).isEqualTo(20);
+        assertThat(result.stages()).extracting(BulkImportResult.StageResult::stage).containsExactly("parse", "convert", "insert");
+        assertThat(result.stages()).allSatisfy(stage -> assertThat(stage.rowsPerSecond()).isPositive());
+        assertThat(query("SELECT COUNT(*) FROM employees")).isEqualTo(10_000);
+        assertThat(query("SELECT SUM(salary) FROM employees")).isEqualTo(60_000L * 10_000 + 50_005_000);
+        assertThat(query("SELECT COUNT(*) FROM employees WHERE hire_date = DATE '2020-01-11' AND name = '직원10'")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("삽입이 실패하면 파싱을 멈추고 이미 커밋된 배치만 남긴다")
+    void stopOnInsertFailure() throws SQLException {
+        write(LongStream.concat(LongStream.rangeClosed(1, 1_200), LongStream.rangeClosed(1, 3_000)));
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> importer.importFile(fileName, dataSource()));
+
+        assertThat(failure).hasCauseInstanceOf(SQLException.class);
+        assertThat(query("SELECT COUNT(*) FROM employees")).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("읽기 중 실패하면 대기 중인 배치를 적재한 뒤 예외를 전달한다")
+    void propagateParseFailure() throws SQLException {
+        Stream<Employee> rows = Stream.concat(
+                LongStream.rangeClosed(1, 1_000).mapToObj(this::employee),
+                Stream.generate(() -> {
+                    throw new IllegalStateException("Failed to parse worksheet");
+                })
+        );
+
+        assertThrows(IllegalStateException.class, () -> importer.importRows(rows, dataSource()));
+
+        assertThat(query("SELECT COUNT(*) FROM employees")).isEqualTo(1_000);
+    }
+
+    private DataSource dataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        return dataSource;
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long query(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void write(LongStream ids) {
+        StreamingExcelWriter.builder(Employee.class).build().write(TestEmployees.employees(ids), fileName);
+    }
+}
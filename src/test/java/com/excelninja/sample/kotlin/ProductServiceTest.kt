@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.assertThrows
 import org.assertj.core.api.Assertions.*
+import org.h2.jdbcx.JdbcDataSource
 import java.io.File
 import java.math.BigDecimal
 import java.time.LocalDateTime
@@ -58,6 +59,19 @@ class ProductServiceTest {
         assertThat(readProducts[0].stockQuantity).isEqualTo(15)
     }
 
+    @Test
+    @DisplayName("상품 시퀀스를 스트리밍으로 저장할 수 있다")
+    fun saveProductSequenceToExcel() {
+        val fileName = "$outputDir/$testFileName"
+
+        productService.saveProductsToExcel(createTestProducts().asSequence(), fileName)
+        val readProducts = productService.readProductsFromExcel(fileName)
+
+        assertThat(readProducts).hasSize(5)
+        assertThat(readProducts[1].name).isEqualTo("iPhone 15 Pro")
+        assertThat(readProducts[1].stockQuantity).isEqualTo(5)
+    }
+
     @Test
     @DisplayName("재고 부족 상품을 필터링할 수 있다")
     fun getLowStockProducts() {
@@ -68,6 +82,17 @@ class ProductServiceTest {
         assertThat(lowStockProducts).hasSize(2)
     }
 
+    @Test
+    @DisplayName("엑셀 파일에서 재고 부족 상품만 읽을 수 있다")
+    fun readLowStockProducts() {
+        val fileName = "$outputDir/$testFileName"
+        productService.saveProductsToExcel(createTestProducts(), fileName)
+
+        val lowStockProducts = productService.readLowStockProducts(fileName)
+
+        assertThat(lowStockProducts.map { it.name }).containsExactly("iPhone 15 Pro", "Magic Mouse")
+    }
+
     @Test
     @DisplayName("상품 통계를 계산할 수 있다")
     fun getProductStatistics() {
@@ -83,6 +108,93 @@ class ProductServiceTest {
         assertThat(stats["lowStockCount"]).isEqualTo(2)
     }
 
+    @Test
+    @DisplayName("카테고리별 통계를 한 번의 순회로 계산할 수 있다")
+    fun getCategoryStatistics() {
+        val products = createTestProducts() + Product(
+            id = 6L,
+            name = "MacBook Air M3",
+            category = "Laptop",
+            price = BigDecimal(1299.0),
+            stockQuantity = 3,
+            isActive = true,
+            createdAt = LocalDateTime.of(2024, 4, 1, 10, 0, 0)
+        )
+
+        val categoryStats = productService.getCategoryStatistics(products)
+
+        assertThat(categoryStats).hasSize(5)
+        val laptopStats = categoryStats["Laptop"]!!
+        assertThat(laptopStats.count).isEqualTo(2)
+        assertThat(laptopStats.totalValue).isEqualByComparingTo(BigDecimal(2499 * 15 + 1299 * 3))
+        assertThat(laptopStats.averagePrice).isEqualByComparingTo(BigDecimal("1899.00"))
+        assertThat(laptopStats.minPrice).isEqualByComparingTo(BigDecimal(1299))
+        assertThat(laptopStats.maxPrice).isEqualByComparingTo(BigDecimal(2499))
+        assertThat(laptopStats.totalStock).isEqualTo(18)
+        assertThat(laptopStats.lowStockCount).isEqualTo(1)
+    }
+
+    @Test
+    @DisplayName("엑셀의 상품을 데이터베이스에 일괄 적재할 수 있다")
+    fun importProducts() {
+        val fileName = "$outputDir/$testFileName"
+        productService.saveProductsToExcel(createTestProducts(), fileName)
+        val dataSource = JdbcDataSource().apply { setURL("jdbc:h2:mem:products;DB_CLOSE_DELAY=-1") }
+
+        dataSource.connection.use { connection ->
+            connection.createStatement().use {
+                it.execute(
+                    "CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(100), category VARCHAR(50), " +
+                        "price DECIMAL(12, 2), stock_quantity INT, is_active BOOLEAN, created_at TIMESTAMP)"
+                )
+            }
+            try {
+                val result = productService.importProducts(fileName, dataSource)
+
+                assertThat(result.rows()).isEqualTo(5)
+                connection.createStatement().use { statement ->
+                    statement.executeQuery("SELECT name, stock_quantity FROM products WHERE id = 1").use {
+                        assertThat(it.next()).isTrue()
+                        assertThat(it.getString("name")).isEqualTo("MacBook Pro M3")
+                        assertThat(it.getInt("stock_quantity")).isEqualTo(15)
+                    }
+                }
+            } finally {
+                connection.createStatement().use { it.execute("DROP TABLE products") }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("데이터베이스의 상품을 엑셀 파일로 내보낼 수 있다")
+    fun exportProducts() {
+        val importedFileName = "$outputDir/$testFileName"
+        val fileName = "$outputDir/exported_products.xlsx"
+        productService.saveProductsToExcel(createTestProducts(), importedFileName)
+        val dataSource = JdbcDataSource().apply { setURL("jdbc:h2:mem:exported_products;DB_CLOSE_DELAY=-1") }
+
+        dataSource.connection.use { connection ->
+            connection.createStatement().use {
+                it.execute(
+                    "CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(100), category VARCHAR(50), " +
+                        "price DECIMAL(12, 2), stock_quantity INT, is_active BOOLEAN, created_at TIMESTAMP)"
+                )
+            }
+            try {
+                productService.importProducts(importedFileName, dataSource)
+
+                assertThat(productService.exportProducts(dataSource, fileName)).isEqualTo(5)
+                val exported = productService.readProductsFromExcel(fileName)
+                assertThat(exported.map { it.name }).containsExactlyElementsOf(createTestProducts().map { it.name })
+                assertThat(exported[1].stockQuantity).isEqualTo(5)
+                assertThat(exported[3].price).isEqualByComparingTo(BigDecimal(79))
+            } finally {
+                connection.createStatement().use { it.execute("DROP TABLE products") }
+                File(fileName).delete()
+            }
+        }
+    }
+
     @Test
     @DisplayName("존재하지 않는 파일을 읽으려 하면 예외가 발생한다")
     fun readNonExistentFile() {
@@ -57,6 +57,19 @@ class StudentServiceTest {
         assertThat(readStudents[0].major).isEqualTo("Computer Science")
     }
 
+    @Test
+    @DisplayName("학생 시퀀스를 스트리밍으로 저장할 수 있다")
+    fun saveStudentSequenceToExcel() {
+        val fileName = "$outputDir/$testFileName"
+
+        studentService.saveStudentsToExcel(createTestStudents().asSequence(), fileName)
+        val readStudents = studentService.readStudentsFromExcel(fileName)
+
+        assertThat(readStudents).hasSize(5)
+        assertThat(readStudents[3].major).isEqualTo("Biology")
+        assertThat(readStudents[3].gpa).isEqualTo(3.6)
+    }
+
     @Test
     @DisplayName("전공별로 학생을 필터링할 수 있다")
     fun getStudentsByMajor() {
@@ -78,6 +91,19 @@ class StudentServiceTest {
         assertThat(honorStudents).allMatch { it.gpa >= 3.5 }
     }
 
+    @Test
+    @DisplayName("엑셀 파일에서 조건에 맞는 학생만 읽을 수 있다")
+    fun readMatchingStudentsFromExcel() {
+        val fileName = "$outputDir/$testFileName"
+        studentService.saveStudentsToExcel(createTestStudents(), fileName)
+
+        val csStudents = studentService.readStudentsByMajor(fileName, "Computer Science")
+        val honorStudents = studentService.readHonorStudents(fileName)
+
+        assertThat(csStudents.map { it.studentId }).containsExactly("CS001", "CS003")
+        assertThat(honorStudents.map { it.studentId }).containsExactly("CS001", "CS003", "BIO004")
+    }
+
     @Test
     @DisplayName("장학생 목록을 조회할 수 있다")
     fun getScholarshipStudents() {
@@ -100,6 +126,24 @@ class StudentServiceTest {
         assertThat(juniors).allMatch { it.grade == 3 }
     }
 
+    @Test
+    @DisplayName("인덱스로 전공, 학년, 학점 범위를 조회해도 결과가 같다")
+    fun queryIndexedStudents() {
+        val students = createTestStudents()
+        val fileName = "$outputDir/$testFileName"
+        studentService.saveStudentsToExcel(students, fileName)
+
+        val indexed = studentService.indexStudents(fileName)
+
+        assertThat(studentService.indexStudents(fileName)).isSameAs(indexed)
+        assertThat(studentService.getStudentsByMajor(indexed, "Computer Science").map { it.studentId })
+            .containsExactlyElementsOf(studentService.getStudentsByMajor(students, "Computer Science").map { it.studentId })
+        assertThat(studentService.getStudentsByGrade(indexed, 3)).hasSize(2)
+        assertThat(studentService.getStudentsByGpaRange(indexed, Student.HONOR_GPA, 4.5))
+            .hasSameSizeAs(studentService.getHonorStudents(students))
+            .isSortedAccordingTo(compareBy<Student> { it.gpa })
+    }
+
     @Test
     @DisplayName("전공별 통계를 계산할 수 있다")
     fun getMajorStatistics() {
@@ -111,10 +155,27 @@ class StudentServiceTest {
         assertThat(majorStats["Computer Science"]).isNotNull
         
         val csStats = majorStats["Computer Science"]!!
-        assertThat(csStats["count"]).isEqualTo(2)
-        assertThat(csStats["averageGPA"] as Double).isCloseTo(3.85, within(0.0001))
-        assertThat(csStats["honorStudents"]).isEqualTo(2)
-        assertThat(csStats["scholarshipStudents"]).isEqualTo(2)
+        assertThat(csStats.count).isEqualTo(2)
+        assertThat(csStats.averageGPA).isCloseTo(3.85, within(0.0001))
+        assertThat(csStats.honorStudents).isEqualTo(2)
+        assertThat(csStats.scholarshipStudents).isEqualTo(2)
+    }
+
+    @Test
+    @DisplayName("열 단위 테이블로 읽어도 전공별 통계가 같다")
+    fun getMajorStatisticsFromTable() {
+        val students = createTestStudents()
+        val fileName = "$outputDir/$testFileName"
+        studentService.saveStudentsToExcel(students, fileName)
+
+        val majorStats = studentService.getMajorStatistics(studentService.readStudentTable(fileName))
+
+        assertThat(majorStats.keys).containsExactlyElementsOf(studentService.getMajorStatistics(students).keys)
+        val csStats = majorStats["Computer Science"]!!
+        assertThat(csStats.count).isEqualTo(2)
+        assertThat(csStats.averageGPA).isCloseTo(3.85, within(0.0001))
+        assertThat(csStats.honorStudents).isEqualTo(2)
+        assertThat(csStats.scholarshipStudents).isEqualTo(2)
     }
 
     @Test
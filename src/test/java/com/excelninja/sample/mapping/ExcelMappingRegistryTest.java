@@ -0,0 +1,65 @@
+package com.excelninja.sample.mapping;
+
+import com.excelNinja.sample.Product;
+import com.excelNinja.sample.Student;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.sample.excel.ExcelMapping;
+import com.excelninja.sample.excel.ExcelWarmUp;
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.EmployeeSalary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("엑셀 매핑 레지스트리 테스트")
+public class ExcelMappingRegistryTest {
+
+    @Test
+    @DisplayName("기동 시 애노테이션이 붙은 모델을 찾아 매핑을 등록한다")
+    void registerAnnotatedModels() {
+        ExcelMappingRegistry registry = new ExcelMappingRegistry(List.of("com.excelninja.sample.java", "com.excelNinja.sample"), false, 0);
+
+        registry.afterSingletonsInstantiated();
+
+        assertThat(registry.getMappings())
+                .extracting(ExcelMapping::getType)
+                .containsExactlyInAnyOrder(Employee.class, EmployeeSalary.class, Product.class, Student.class);
+        assertThat(registry.find(Employee.class)).hasValueSatisfying(mapping ->
+                assertThat(mapping.getWriteColumns()).hasSize(6)
+        );
+    }
+
+    @Test
+    @DisplayName("중복된 헤더와 순서는 매핑 문제로 보고된다")
+    void reportDuplicateHeadersAndOrders() {
+        class DuplicateColumns {
+
+            @ExcelReadColumn(headerName = "Name")
+            @ExcelWriteColumn(headerName = "Name", order = 1)
+            private String name;
+
+            @ExcelReadColumn(headerName = "Name")
+            @ExcelWriteColumn(headerName = "Nickname", order = 1)
+            private String nickname;
+        }
+
+        assertThat(ExcelMapping.of(DuplicateColumns.class).getProblems())
+                .contains(
+                        "read header 'Name' is mapped by both name and nickname",
+                        "write order 1 is shared by name and nickname"
+                );
+        assertThat(ExcelMapping.of(Employee.class).getProblems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("웜업은 합성 행을 스트리밍 경로와 NinjaExcel 경로로 각각 쓰고 다시 읽는다")
+    void warmUpWritesAndReadsSyntheticRows() {
+        assertThat(ExcelWarmUp.run(Employee.class, 50)).isEqualTo(200);
+        assertThat(ExcelWarmUp.run(EmployeeSalary.class, 50)).isEqualTo(100);
+        assertThat(ExcelWarmUp.run(Student.class, 50)).isEqualTo(200);
+    }
+}
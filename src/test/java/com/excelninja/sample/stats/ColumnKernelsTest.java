@@ -0,0 +1,60 @@
+package com.excelninja.sample.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("열 집계 커널 테스트")
+public class ColumnKernelsTest {
+
+    private final ColumnKernels scalar = ColumnKernels.scalar();
+
+    @Test
+    @DisplayName("스칼라 커널은 앞쪽 length개 요소만 집계한다")
+    void scalarKernelsAggregatePrefix() {
+        long[] stock = {5, 12, 0, 30, 9, 100};
+        double[] gpa = {3.9, 2.8, 3.5, 4.0, 99.0};
+
+        assertThat(scalar.sum(stock, 5)).isEqualTo(56);
+        assertThat(scalar.min(stock, 5)).isZero();
+        assertThat(scalar.max(stock, 5)).isEqualTo(30);
+        assertThat(scalar.countAtLeast(stock, 5, 10)).isEqualTo(2);
+        assertThat(scalar.sum(gpa, 4)).isCloseTo(14.2, within(1e-9));
+        assertThat(scalar.min(gpa, 4)).isEqualTo(2.8);
+        assertThat(scalar.max(gpa, 4)).isEqualTo(4.0);
+        assertThat(scalar.countAtLeast(gpa, 4, 3.5)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("빈 범위의 최솟값과 최댓값은 항등원이다")
+    void emptyRangeIsIdentity() {
+        assertThat(scalar.min(new long[0], 0)).isEqualTo(Long.MAX_VALUE);
+        assertThat(scalar.max(new double[4], 0)).isEqualTo(Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    @DisplayName("벡터 커널은 벡터 폭으로 나누어떨어지지 않는 길이에서도 스칼라 커널과 같은 결과를 낸다")
+    void vectorKernelsMatchScalar() {
+        ColumnKernels vector = ColumnKernels.vector().orElse(null);
+        assumeTrue(vector != null, "jdk.incubator.vector module is not loaded");
+
+        Random random = new Random(42);
+        long[] longs = random.longs(1_003, -1_000_000, 1_000_000).toArray();
+        double[] doubles = random.doubles(1_003, 0, 4.5).toArray();
+        for (int length : new int[]{0, 1, 3, 7, 8, 9, 64, 1_000, 1_003}) {
+            assertThat(vector.sum(longs, length)).isEqualTo(scalar.sum(longs, length));
+            assertThat(vector.min(longs, length)).isEqualTo(scalar.min(longs, length));
+            assertThat(vector.max(longs, length)).isEqualTo(scalar.max(longs, length));
+            assertThat(vector.countAtLeast(longs, length, 0)).isEqualTo(scalar.countAtLeast(longs, length, 0));
+            assertThat(vector.sum(doubles, length)).isCloseTo(scalar.sum(doubles, length), within(1e-9));
+            assertThat(vector.min(doubles, length)).isEqualTo(scalar.min(doubles, length));
+            assertThat(vector.max(doubles, length)).isEqualTo(scalar.max(doubles, length));
+            assertThat(vector.countAtLeast(doubles, length, 3.5)).isEqualTo(scalar.countAtLeast(doubles, length, 3.5));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.excelninja.sample.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("그룹 집계기 테스트")
+public class GroupAggregatorTest {
+
+    @Test
+    @DisplayName("키마다 누산기 하나가 모든 행을 한 번씩 받는다")
+    void aggregatesEachRowOnce() {
+        List<String[]> rows = List.of(
+                new String[]{"A", "10.50"},
+                new String[]{"B", "3"},
+                new String[]{"A", "4.25"},
+                new String[]{"A", "7"}
+        );
+
+        Map<String, Totals> groups = GroupAggregator.<String[], String, Totals>of(row -> row[0], Totals::new)
+                .aggregate(rows);
+
+        assertThat(groups.keySet()).containsExactly("A", "B");
+        DecimalStatistics a = groups.get("A").amounts;
+        assertThat(a.getCount()).isEqualTo(3);
+        assertThat(a.getSum()).isEqualByComparingTo("21.75");
+        assertThat(a.getAverage(2)).isEqualByComparingTo("7.25");
+        assertThat(a.getMin()).isEqualByComparingTo("4.25");
+        assertThat(a.getMax()).isEqualByComparingTo("10.50");
+    }
+
+    @Test
+    @DisplayName("값이 없는 통계는 0을 반환한다")
+    void emptyStatistics() {
+        DecimalStatistics empty = new DecimalStatistics();
+
+        assertThat(empty.getAverage(2)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(empty.getMin()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(empty.getMax()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private static final class Totals implements Consumer<String[]> {
+
+        private final DecimalStatistics amounts = new DecimalStatistics();
+
+        @Override
+        public void accept(String[] row) {
+            amounts.accept(new BigDecimal(row[1]));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.excelninja.sample.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("증분 그룹 통계 테스트")
+public class IncrementalGroupStatisticsTest {
+
+    private final List<String[]> rows = List.of(
+            new String[]{"A", "10.50"},
+            new String[]{"B", "3"},
+            new String[]{"A", "4.25"},
+            new String[]{"C", "0.10"},
+            new String[]{"A", "7"}
+    );
+
+    @Test
+    @DisplayName("나누어 추가한 결과는 한 번에 집계한 결과와 같다")
+    void appendMatchesFullAggregation() {
+        IncrementalGroupStatistics<String[], String, Totals> statistics = IncrementalGroupStatistics.of(row -> row[0], Totals::new);
+
+        statistics.append(rows.subList(0, 2));
+        statistics.append(rows.subList(2, rows.size()));
+
+        Map<String, Totals> full = GroupAggregator.<String[], String, Totals>of(row -> row[0], Totals::new).aggregate(rows);
+        assertThat(statistics.getRowCount()).isEqualTo(5);
+        assertThat(statistics.snapshot((key, totals) -> totals.amounts.toString()))
+                .containsExactly(
+                        Map.entry("A", full.get("A").amounts.toString()),
+                        Map.entry("B", full.get("B").amounts.toString()),
+                        Map.entry("C", full.get("C").amounts.toString())
+                );
+    }
+
+    @Test
+    @DisplayName("이미 본 행 수를 넘겨 새로 추가된 행만 받는다")
+    void appendAfterSeenRows() {
+        IncrementalGroupStatistics<String[], String, Totals> statistics = IncrementalGroupStatistics.of(row -> row[0], Totals::new);
+        List<Long> offsets = new ArrayList<>();
+
+        statistics.appendAfter(seen -> rows.subList(0, 3).stream().skip(seen));
+        long appended = statistics.appendAfter(seen -> {
+            offsets.add(seen);
+            return rows.stream().skip(seen);
+        });
+
+        assertThat(offsets).containsExactly(3L);
+        assertThat(appended).isEqualTo(2);
+        assertThat(statistics.snapshot((key, totals) -> totals.amounts.getSum()).get("A")).isEqualByComparingTo("21.75");
+    }
+
+    @Test
+    @DisplayName("추가 도중 실패하면 통계를 비운다")
+    void resetOnFailure() {
+        IncrementalGroupStatistics<String[], String, Totals> statistics = IncrementalGroupStatistics.of(row -> row[0], Totals::new);
+        statistics.append(rows);
+
+        assertThrows(NumberFormatException.class, () -> statistics.appendAfter(seen -> Stream.of(
+                new String[]{"A", "1"},
+                new String[]{"A", "not a number"}
+        )));
+
+        assertThat(statistics.getRowCount()).isZero();
+        assertThat(statistics.snapshot((key, totals) -> totals)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("파일이 그대로면 읽지 않고, 줄어들거나 다시 쓰이면 처음부터 다시 집계한다")
+    void recomputeWhenFileRewritten() throws IOException {
+        Path file = Files.createTempFile("incremental-", ".csv");
+        try {
+            IncrementalGroupStatistics<String, String, Counter> statistics = IncrementalGroupStatistics.of(line -> line, Counter::new);
+            List<Long> offsets = new ArrayList<>();
+            LongFunction<Stream<String>> rowsAfter = seen -> {
+                offsets.add(seen);
+                return lines(file).skip(seen);
+            };
+
+            write(file, 1, "A", "B", "A");
+            assertThat(statistics.appendAfter(file, rowsAfter)).isEqualTo(3);
+            assertThat(statistics.appendAfter(file, rowsAfter)).isZero();
+
+            write(file, 2, "A", "B", "A", "C");
+            assertThat(statistics.appendAfter(file, rowsAfter)).isEqualTo(1);
+            assertThat(offsets).containsExactly(0L, 2L);
+
+            write(file, 3, "B", "B");
+            assertThat(statistics.appendAfter(file, rowsAfter)).isEqualTo(2);
+            assertThat(statistics.getRowCount()).isEqualTo(2);
+            assertThat(statistics.snapshot((key, counter) -> counter.count)).containsExactly(Map.entry("B", 2L));
+
+            write(file, 4, "C", "A");
+            statistics.appendAfter(file, rowsAfter);
+            assertThat(statistics.snapshot((key, counter) -> counter.count)).containsExactly(
+                    Map.entry("C", 1L),
+                    Map.entry("A", 1L)
+            );
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void write(
+            Path file,
+            long version,
+            String... lines
+    ) throws IOException {
+        Files.write(file, List.of(lines));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(version * 1000));
+    }
+
+    private static Stream<String> lines(Path file) {
+        try {
+            return Files.lines(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Counter implements Consumer<String> {
+
+        private long count;
+
+        @Override
+        public void accept(String line) {
+            count++;
+        }
+    }
+
+    private static final class Totals implements Consumer<String[]> {
+
+        private final DecimalStatistics amounts = new DecimalStatistics();
+
+        @Override
+        public void accept(String[] row) {
+            amounts.accept(new BigDecimal(row[1]));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.excelninja.sample.upload;
+
+import com.excelninja.sample.excel.StreamingExcelWriter;
+import com.excelninja.sample.java.Employee;
+import com.excelninja.sample.java.EmployeeExcelService;
+import com.excelninja.sample.java.TestEmployees;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("스트리밍 업로드 컨트롤러 테스트")
+public class UploadControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new UploadController(new EmployeeExcelService())).build();
+    }
+
+    @Test
+    @DisplayName("요청 본문의 엑셀을 배치로 읽어 부서별 인원과 처리량을 반환한다")
+    void uploadEmployees() throws Exception {
+        byte[] workbook = createWorkbook(25);
+
+        mockMvc.perform(post("/uploads/employees")
+                        .param("batchSize", "10")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(workbook))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.rows").value(25))
+                .andExpect(jsonPath("$.result.batches").value(3))
+                .andExpect(jsonPath("$.result.bytesPerSecond").isNumber())
+                .andExpect(jsonPath("$.headcountByDepartment.BRM").value(12))
+                .andExpect(jsonPath("$.headcountByDepartment.Card").value(13));
+    }
+
+    @Test
+    @DisplayName("부서가 비어 있는 행은 별도 키로 센다")
+    void countBlankDepartments() throws Exception {
+        byte[] workbook = createWorkbook(10, id -> id % 5 == 0 ? null : "Card");
+
+        mockMvc.perform(post("/uploads/employees")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(workbook))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.rows").value(10))
+                .andExpect(jsonPath("$.headcountByDepartment.Card").value(8))
+                .andExpect(jsonPath("$.headcountByDepartment['" + UploadController.NO_DEPARTMENT + "']").value(2));
+    }
+
+    private byte[] createWorkbook(int count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingExcelWriter.builder(Employee.class).build().write(TestEmployees.employees(count), out);
+        return out.toByteArray();
+    }
+
+    private byte[] createWorkbook(
+            int count,
+            LongFunction<String> department
+    ) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingExcelWriter.builder(Employee.class).build()
+                .write(LongStream.rangeClosed(1, count).mapToObj(id -> TestEmployees.employee(id, department.apply(id))), out);
+        return out.toByteArray();
+    }
+}
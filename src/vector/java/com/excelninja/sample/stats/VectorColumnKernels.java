@@ -0,0 +1,160 @@
+package com.excelninja.sample.stats;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ColumnKernels} on {@code jdk.incubator.vector} at the platform's preferred vector width. Each kernel
+ * accumulates whole vectors in lane-wise registers, reduces the lanes once, and finishes the tail that does not
+ * fill a vector with scalar code. Only instantiated by {@link KernelSelection} when the module is present; the
+ * {@code vector} source set is the only one compiled against it.
+ */
+final class VectorColumnKernels implements ColumnKernels {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorColumnKernels() {}
+
+    @Override
+    public long sum(
+            long[] values,
+            int length
+    ) {
+        LongVector sums = LongVector.zero(LONGS);
+        int i = 0;
+        for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+            sums = sums.add(LongVector.fromArray(LONGS, values, i));
+        }
+        long sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long min(
+            long[] values,
+            int length
+    ) {
+        LongVector mins = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = 0;
+        for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+            mins = mins.min(LongVector.fromArray(LONGS, values, i));
+        }
+        long min = mins.reduceLanes(VectorOperators.MIN);
+        for (; i < length; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public long max(
+            long[] values,
+            int length
+    ) {
+        LongVector maxes = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = 0;
+        for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+            maxes = maxes.max(LongVector.fromArray(LONGS, values, i));
+        }
+        long max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long countAtLeast(
+            long[] values,
+            int length,
+            long threshold
+    ) {
+        long count = 0;
+        int i = 0;
+        for (int bound = LONGS.loopBound(length); i < bound; i += LONGS.length()) {
+            count += LongVector.fromArray(LONGS, values, i).compare(VectorOperators.GE, threshold).trueCount();
+        }
+        for (; i < length; i++) {
+            if (values[i] >= threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double sum(
+            double[] values,
+            int length
+    ) {
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            sums = sums.add(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double min(
+            double[] values,
+            int length
+    ) {
+        DoubleVector mins = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            mins = mins.min(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        double min = mins.reduceLanes(VectorOperators.MIN);
+        for (; i < length; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double max(
+            double[] values,
+            int length
+    ) {
+        DoubleVector maxes = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            maxes = maxes.max(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        double max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long countAtLeast(
+            double[] values,
+            int length,
+            double threshold
+    ) {
+        long count = 0;
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            count += DoubleVector.fromArray(DOUBLES, values, i).compare(VectorOperators.GE, threshold).trueCount();
+        }
+        for (; i < length; i++) {
+            if (values[i] >= threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+}